@@ -0,0 +1,41 @@
+package io.github.yusufakcay_dev.inventory_service.config;
+
+import io.github.yusufakcay_dev.inventory_service.service.RequestDeadline;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Starts the request's deadline from the caller's X-Request-Budget-Ms header
+ * (milliseconds the caller will still wait) as the request arrives, and
+ * exposes it to the service layer through RequestDeadline for the duration
+ * of the request.
+ */
+@Slf4j
+@Component
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(RequestDeadline.HEADER);
+        if (header != null) {
+            try {
+                RequestDeadline.start(Long.parseLong(header.trim()));
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring malformed {} header: {}", RequestDeadline.HEADER, header);
+            }
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+}
@@ -65,6 +65,8 @@ public class InventoryService {
             throw new IllegalArgumentException("SKU cannot be null or empty");
         }
 
+        RequestDeadline.checkNotExpired("inventory read");
+
         Inventory inventory = repository.findBySku(sku)
                 .orElseThrow(
                         () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Inventory not found for SKU: " + sku));
@@ -81,19 +83,26 @@ public class InventoryService {
             throw new IllegalArgumentException("Quantity must be greater than 0");
         }
 
+        RequestDeadline.checkNotExpired("reservation");
+
         RLock lock = redissonClient.getLock(LOCK_PREFIX + sku);
 
         try {
-            // Try to acquire lock with timeout (fail fast)
-            boolean isLocked = lock.tryLock(LOCK_WAIT_TIME, LOCK_LEASE_TIME, TimeUnit.SECONDS);
+            // Try to acquire lock with timeout (fail fast), never waiting past the caller's deadline
+            long waitMillis = RequestDeadline.boundedWaitMillis(TimeUnit.SECONDS.toMillis(LOCK_WAIT_TIME));
+            boolean isLocked = lock.tryLock(waitMillis, TimeUnit.SECONDS.toMillis(LOCK_LEASE_TIME),
+                    TimeUnit.MILLISECONDS);
 
             if (!isLocked) {
+                RequestDeadline.checkNotExpired("reservation");
                 log.warn("Failed to acquire lock for SKU: {} - concurrent operation in progress", sku);
                 throw new ResponseStatusException(HttpStatus.CONFLICT,
                         "Another operation is in progress for this product. Please try again.");
             }
 
             log.debug("Acquired distributed lock for SKU: {}", sku);
+            // The caller may have given up while this request waited for the lock
+            RequestDeadline.checkNotExpired("reservation");
 
             Inventory inventory = repository.findBySku(sku)
                     .orElseThrow(
@@ -0,0 +1,67 @@
+package io.github.yusufakcay_dev.inventory_service.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deadline of the current request, set by RequestDeadlineFilter from the
+ * caller's X-Request-Budget-Ms header when the request arrives. The deadline
+ * is kept on this host's monotonic clock, so clock skew between hosts and
+ * wall-clock adjustments do not affect it.
+ *
+ * Callers give up at their deadline, so work still queued past it is wasted.
+ * Reads and reservations check it before doing work and bound their lock
+ * wait by it. Release and confirm ignore it: they are compensations and
+ * must complete even if the caller has stopped waiting.
+ */
+public final class RequestDeadline {
+
+    public static final String HEADER = "X-Request-Budget-Ms";
+
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    /**
+     * Starts the deadline budgetMillis from now.
+     */
+    public static void start(long budgetMillis) {
+        DEADLINE.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis));
+    }
+
+    public static void clear() {
+        DEADLINE.remove();
+    }
+
+    /**
+     * Milliseconds left before the deadline, or Long.MAX_VALUE without one.
+     */
+    public static long remainingMillis() {
+        Long deadline = DEADLINE.get();
+        return deadline == null ? Long.MAX_VALUE : TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+    }
+
+    public static boolean isExpired() {
+        return remainingMillis() <= 0;
+    }
+
+    /**
+     * Caps a wait so it never outlasts the caller's deadline.
+     */
+    public static long boundedWaitMillis(long maxWaitMillis) {
+        return Math.max(0, Math.min(maxWaitMillis, remainingMillis()));
+    }
+
+    /**
+     * Aborts the current operation with 504 once the deadline has passed.
+     */
+    public static void checkNotExpired(String operation) {
+        if (isExpired()) {
+            throw new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT,
+                    "Deadline exceeded before " + operation + " could run");
+        }
+    }
+}
@@ -3,6 +3,7 @@ package io.github.yusufakcay_dev.inventory_service.service;
 import io.github.yusufakcay_dev.inventory_service.dto.InventoryResponse;
 import io.github.yusufakcay_dev.inventory_service.entity.Inventory;
 import io.github.yusufakcay_dev.inventory_service.repository.InventoryRepository;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,6 +12,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.redisson.api.RLock;
 import org.redisson.api.RedissonClient;
+import org.springframework.http.HttpStatus;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -46,6 +48,11 @@ class InventoryServiceTest {
         lenient().when(rLock.isHeldByCurrentThread()).thenReturn(true);
     }
 
+    @AfterEach
+    void clearDeadline() {
+        RequestDeadline.clear();
+    }
+
     @Test
     void testInitializeInventorySuccess() {
         String sku = "TEST-SKU-001";
@@ -209,4 +216,42 @@ class InventoryServiceTest {
         assertEquals(35, response.getReservedQuantity());
         assertEquals(65, response.getAvailableQuantity());
     }
+
+    @Test
+    void testReserveInventoryDeadlineExpiredBeforeLock() {
+        RequestDeadline.start(-1);
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> service.reserveInventory("TEST-SKU-006", 5));
+
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT, ex.getStatusCode());
+        verifyNoInteractions(redissonClient, repository);
+    }
+
+    @Test
+    void testReserveInventoryLockWaitBoundedByDeadline() throws InterruptedException {
+        RequestDeadline.start(500);
+        when(rLock.tryLock(anyLong(), anyLong(), any(TimeUnit.class))).thenReturn(false);
+
+        assertThrows(ResponseStatusException.class, () -> service.reserveInventory("TEST-SKU-007", 5));
+
+        verify(rLock).tryLock(longThat(wait -> wait > 0 && wait <= 500), anyLong(), eq(TimeUnit.MILLISECONDS));
+        verify(repository, never()).findBySku(anyString());
+    }
+
+    @Test
+    void testReleaseIgnoresExpiredDeadline() {
+        RequestDeadline.start(-1);
+        Inventory inventory = Inventory.builder()
+                .id(8L)
+                .sku("TEST-SKU-008")
+                .quantity(100)
+                .reservedQuantity(10)
+                .availableQuantity(90)
+                .build();
+        when(repository.findBySku("TEST-SKU-008")).thenReturn(Optional.of(inventory));
+        when(repository.save(any(Inventory.class))).thenReturn(inventory);
+
+        assertNotNull(service.releaseReservedInventory("TEST-SKU-008", 5));
+    }
 }
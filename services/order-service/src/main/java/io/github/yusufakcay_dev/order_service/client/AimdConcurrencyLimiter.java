@@ -0,0 +1,85 @@
+package io.github.yusufakcay_dev.order_service.client;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adaptive concurrency limit for calls to one downstream service (AIMD).
+ *
+ * The limit grows by one for each call that completes under the latency
+ * threshold while the limit is actually in use, and is cut by the backoff
+ * ratio whenever a call is slow or fails. Sheddable calls beyond the limit
+ * are rejected immediately instead of queueing behind a slow dependency.
+ */
+public class AimdConcurrencyLimiter {
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+
+    private double limit;
+    private int inFlight;
+
+    public AimdConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+            long latencyThresholdMs) {
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThresholdMs);
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Takes a slot. Sheddable calls are refused when the limit is reached;
+     * other calls are always admitted but still count as in flight.
+     */
+    public synchronized boolean tryAcquire(boolean sheddable) {
+        if (sheddable && inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    public synchronized void onSuccess(long latencyNanos) {
+        inFlight--;
+        if (latencyNanos > latencyThresholdNanos) {
+            backOff();
+        } else if (inFlight * 2 >= (int) limit) {
+            // Only grow while the limit is being used, otherwise it drifts to max
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+
+    public synchronized void onFailure() {
+        inFlight--;
+        backOff();
+    }
+
+    private void backOff() {
+        limit = Math.max(minLimit, limit * backoffRatio);
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Thrown when a sheddable call is rejected by the limiter.
+     */
+    public static class ConcurrencyLimitExceededException extends RuntimeException {
+        public ConcurrencyLimitExceededException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package io.github.yusufakcay_dev.order_service.client;
+
+import feign.Capability;
+import feign.Client;
+import feign.MethodMetadata;
+import feign.Request;
+import feign.Response;
+import io.github.yusufakcay_dev.order_service.client.AimdConcurrencyLimiter.ConcurrencyLimitExceededException;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Feign capability that puts each client's HTTP calls behind its
+ * AimdConcurrencyLimiter. Calls run inside the circuit breaker and on the
+ * bulkhead's worker threads, so the limiter only sees calls that were admitted
+ * and dequeued there; its max limit is capped at the bulkhead's thread count
+ * (see ConcurrencyLimitConfig).
+ *
+ * 5xx responses and I/O errors count as failures for the limit; 4xx
+ * responses are the caller's problem and count as successes.
+ */
+public class ConcurrencyLimitingCapability implements Capability {
+
+    private final Map<String, AimdConcurrencyLimiter> limiters;
+    private final MeterRegistry meterRegistry;
+
+    public ConcurrencyLimitingCapability(Map<String, AimdConcurrencyLimiter> limiters, MeterRegistry meterRegistry) {
+        this.limiters = limiters;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Client enrich(Client client) {
+        return (request, options) -> execute(client, request, options);
+    }
+
+    private Response execute(Client delegate, Request request, Request.Options options) throws IOException {
+        AimdConcurrencyLimiter limiter = limiters.get(request.requestTemplate().feignTarget().name());
+        if (limiter == null) {
+            return delegate.execute(request, options);
+        }
+
+        if (!limiter.tryAcquire(isSheddable(request))) {
+            meterRegistry.counter("client.calls.rejected", "client", limiter.getName(), "reason", "limiter")
+                    .increment();
+            throw new ConcurrencyLimitExceededException(
+                    limiter.getName() + " concurrency limit reached (" + limiter.getLimit() + ")");
+        }
+
+        long start = System.nanoTime();
+        try {
+            Response response = delegate.execute(request, options);
+            if (response.status() >= 500) {
+                limiter.onFailure();
+            } else {
+                limiter.onSuccess(System.nanoTime() - start);
+            }
+            return response;
+        } catch (IOException | RuntimeException e) {
+            limiter.onFailure();
+            throw e;
+        }
+    }
+
+    private static boolean isSheddable(Request request) {
+        MethodMetadata metadata = request.requestTemplate().methodMetadata();
+        return metadata != null && metadata.method() != null && metadata.method().isAnnotationPresent(Sheddable.class);
+    }
+}
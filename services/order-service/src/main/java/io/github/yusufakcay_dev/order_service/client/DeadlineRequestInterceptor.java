@@ -0,0 +1,33 @@
+package io.github.yusufakcay_dev.order_service.client;
+
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stamps every inventory-service request with an X-Request-Budget-Ms header:
+ * the milliseconds this side is still willing to wait. inventory-service
+ * turns it into a deadline on its own clock when the request arrives and
+ * aborts reads and reservations that are still queued, e.g. waiting for the
+ * SKU lock, once it has passed. Sending a duration rather than a point in
+ * time keeps clock skew between hosts out of the check. The budget matches
+ * the inventory-service read timeout.
+ */
+@Component
+public class DeadlineRequestInterceptor implements RequestInterceptor {
+
+    public static final String BUDGET_HEADER = "X-Request-Budget-Ms";
+
+    private static final String INVENTORY_SERVICE = "inventory-service";
+
+    @Value("${order.inventory.deadline-ms:2000}")
+    private long deadlineMs;
+
+    @Override
+    public void apply(RequestTemplate template) {
+        if (template.feignTarget() != null && INVENTORY_SERVICE.equals(template.feignTarget().name())) {
+            template.header(BUDGET_HEADER, String.valueOf(deadlineMs));
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package io.github.yusufakcay_dev.order_service.client;
+
+import io.github.yusufakcay_dev.order_service.dto.InventoryResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hedged, retried inventory reads for read-only lookups such as the stock
+ * pre-check.
+ *
+ * A read that has not answered within the observed p95 latency gets a second
+ * request and the first successful reply wins; a read that fails before then
+ * is retried once right away. Extra requests draw from a budget refilled at
+ * max-extra-ratio per read, so hedging adds at most that fraction of load
+ * even when inventory-service is slow across the board. Reserve, release and
+ * confirm are never hedged: they take the SKU lock and are not idempotent.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HedgedInventoryReader {
+
+    private final InventoryServiceClient inventoryServiceClient;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${order.inventory.hedge.threads:32}")
+    private int threads;
+
+    @Value("${order.inventory.hedge.initial-delay-ms:100}")
+    private long initialDelayMs;
+
+    @Value("${order.inventory.hedge.min-delay-ms:10}")
+    private long minDelayMs;
+
+    @Value("${order.inventory.hedge.max-delay-ms:1000}")
+    private long maxDelayMs;
+
+    @Value("${order.inventory.hedge.min-samples:100}")
+    private long minSamples;
+
+    @Value("${order.inventory.hedge.max-extra-ratio:0.1}")
+    private double maxExtraRatio;
+
+    @Value("${order.inventory.hedge.max-budget:10}")
+    private double maxBudget;
+
+    private record Reply(InventoryResponse response, boolean extra) {
+    }
+
+    private ThreadPoolExecutor executor;
+    private double budget;
+
+    private Timer attemptTimer;
+    private Counter hedgeCounter;
+    private Counter retryCounter;
+    private Counter hedgeWonCounter;
+    private Counter budgetExhaustedCounter;
+
+    @PostConstruct
+    void start() {
+        // No queue: a saturated pool means the read runs on the caller without hedging
+        executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                new CustomizableThreadFactory("inventory-read-"));
+        executor.allowCoreThreadTimeOut(true);
+        budget = maxBudget;
+        registerMetrics();
+    }
+
+    void registerMetrics() {
+        attemptTimer = Timer.builder("inventory.read.attempt")
+                .description("Latency of successful inventory read attempts; its p95 is the hedge delay")
+                .publishPercentiles(0.95)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        hedgeCounter = Counter.builder("inventory.read.extra").tag("reason", "hedge")
+                .description("Extra inventory read requests")
+                .register(meterRegistry);
+        retryCounter = Counter.builder("inventory.read.extra").tag("reason", "retry")
+                .description("Extra inventory read requests")
+                .register(meterRegistry);
+        hedgeWonCounter = Counter.builder("inventory.read.hedge.won")
+                .description("Reads answered by the extra request rather than the first")
+                .register(meterRegistry);
+        budgetExhaustedCounter = Counter.builder("inventory.read.budget.exhausted")
+                .description("Slow or failed reads not hedged because the extra-request budget was empty")
+                .register(meterRegistry);
+        Gauge.builder("inventory.read.hedge.delay", this, HedgedInventoryReader::hedgeDelayMillis)
+                .description("Current hedge delay")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    public InventoryResponse getInventory(String sku) {
+        depositBudget();
+
+        CompletableFuture<InventoryResponse> first;
+        try {
+            first = attempt(sku);
+        } catch (RejectedExecutionException e) {
+            return inventoryServiceClient.getInventory(sku);
+        }
+
+        try {
+            return first.get(hedgeDelayMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return sendExtra(sku, first, hedgeCounter);
+        } catch (ExecutionException e) {
+            return sendExtra(sku, first, retryCounter);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            first.cancel(true);
+            throw new IllegalStateException("Interrupted while reading inventory for SKU: " + sku, e);
+        }
+    }
+
+    private InventoryResponse sendExtra(String sku, CompletableFuture<InventoryResponse> first, Counter reason) {
+        if (!withdrawBudget()) {
+            budgetExhaustedCounter.increment();
+            return join(first);
+        }
+
+        CompletableFuture<InventoryResponse> extra;
+        try {
+            extra = attempt(sku);
+        } catch (RejectedExecutionException e) {
+            return join(first);
+        }
+        reason.increment();
+        log.debug("Sent extra inventory read for SKU: {} ({})", sku, reason.getId().getTag("reason"));
+
+        CompletableFuture<Reply> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        first.whenComplete((response, error) -> complete(winner, new Reply(response, false), error, failures));
+        extra.whenComplete((response, error) -> complete(winner, new Reply(response, true), error, failures));
+        Reply reply = join(winner);
+        if (reply.extra()) {
+            hedgeWonCounter.increment();
+        }
+        return reply.response();
+    }
+
+    private void complete(CompletableFuture<Reply> winner, Reply reply, Throwable error, AtomicInteger failures) {
+        if (error == null) {
+            winner.complete(reply);
+        } else if (failures.incrementAndGet() == 2) {
+            winner.completeExceptionally(error);
+        }
+    }
+
+    private CompletableFuture<InventoryResponse> attempt(String sku) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            InventoryResponse response = inventoryServiceClient.getInventory(sku);
+            attemptTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return response;
+        }, executor);
+    }
+
+    /**
+     * p95 of recent successful attempts, clamped; a fixed delay until enough
+     * samples exist.
+     */
+    long hedgeDelayMillis() {
+        if (attemptTimer.count() < minSamples) {
+            return initialDelayMs;
+        }
+        for (ValueAtPercentile percentile : attemptTimer.takeSnapshot().percentileValues()) {
+            if (percentile.percentile() == 0.95) {
+                long p95 = (long) percentile.value(TimeUnit.MILLISECONDS);
+                return Math.max(minDelayMs, Math.min(maxDelayMs, p95));
+            }
+        }
+        return initialDelayMs;
+    }
+
+    private synchronized void depositBudget() {
+        budget = Math.min(maxBudget, budget + maxExtraRatio);
+    }
+
+    private synchronized boolean withdrawBudget() {
+        if (budget < 1.0) {
+            return false;
+        }
+        budget -= 1.0;
+        return true;
+    }
+
+    private <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
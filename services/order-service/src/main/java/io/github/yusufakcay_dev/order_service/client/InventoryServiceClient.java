@@ -2,6 +2,7 @@ package io.github.yusufakcay_dev.order_service.client;
 
 import io.github.yusufakcay_dev.order_service.dto.InventoryResponse;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -9,6 +10,14 @@ import org.springframework.web.bind.annotation.RequestParam;
 @FeignClient(name = "inventory-service", url = "${inventory-service.url}", fallback = InventoryServiceFallback.class)
 public interface InventoryServiceClient {
 
+    /**
+     * Read-only stock lookup. Use HedgedInventoryReader rather than calling
+     * this directly so slow replies are hedged.
+     */
+    @GetMapping("/api/inventories/{sku}")
+    InventoryResponse getInventory(@PathVariable("sku") String sku);
+
+    @Sheddable
     @PostMapping("/api/inventories/{sku}/reserve")
     InventoryResponse reserve(@PathVariable("sku") String sku, @RequestParam("quantity") Integer quantity);
 
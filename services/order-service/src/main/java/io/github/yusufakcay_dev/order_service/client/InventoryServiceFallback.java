@@ -13,6 +13,13 @@ import org.springframework.stereotype.Component;
 @Component
 public class InventoryServiceFallback implements InventoryServiceClient {
 
+    @Override
+    public InventoryResponse getInventory(String sku) {
+        log.error("CIRCUIT BREAKER OPEN: Failed to read inventory for SKU: {}. Inventory service unavailable.", sku);
+        throw new InventoryServiceUnavailableException(
+                "Inventory service is currently unavailable. Please try again later.");
+    }
+
     @Override
     public InventoryResponse reserve(String sku, Integer quantity) {
         log.error("CIRCUIT BREAKER OPEN: Failed to reserve {} units for SKU: {}. Inventory service unavailable.",
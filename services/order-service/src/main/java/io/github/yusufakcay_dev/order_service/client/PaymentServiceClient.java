@@ -9,6 +9,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 @FeignClient(name = "payment-service", url = "${payment-service.url}")
 public interface PaymentServiceClient {
 
+    @Sheddable
     @PostMapping("/internal/payments/create-link")
     PaymentResponse createPaymentLink(@RequestBody PaymentRequest request);
 }
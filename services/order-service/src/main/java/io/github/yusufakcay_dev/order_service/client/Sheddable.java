@@ -0,0 +1,16 @@
+package io.github.yusufakcay_dev.order_service.client;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a Feign client method that starts new work and may be rejected by
+ * the client's concurrency limiter under load. Unmarked methods (e.g.
+ * inventory release/confirm compensations) are always admitted.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Sheddable {
+}
@@ -0,0 +1,88 @@
+package io.github.yusufakcay_dev.order_service.config;
+
+import io.github.yusufakcay_dev.order_service.client.AimdConcurrencyLimiter;
+import io.github.yusufakcay_dev.order_service.client.ConcurrencyLimitingCapability;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Adaptive (AIMD) concurrency limits for the Feign clients, applied through
+ * ConcurrencyLimitingCapability. Latency thresholds sit well below the
+ * Resilience4j time limits so the limit shrinks before calls start timing out.
+ *
+ * The limiter wraps the HTTP client, which runs on the client's thread pool
+ * bulkhead (Resilience4jConfig). Calls wait in the bulkhead queue before the
+ * limiter sees them, and at most max-threads of them are ever in flight, so
+ * each max-limit is capped at its bulkhead's max-threads. Once the limit drops
+ * below that, sheddable calls are rejected as soon as they reach a worker
+ * thread, which drains the queue quickly instead of letting it back up.
+ */
+@Configuration
+@ConditionalOnProperty(name = "order.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    @Value("${order.concurrency-limit.inventory-service.initial-limit:20}")
+    private int inventoryInitialLimit;
+
+    @Value("${order.concurrency-limit.inventory-service.max-limit:20}")
+    private int inventoryMaxLimit;
+
+    @Value("${order.bulkhead.inventory-service.max-threads:20}")
+    private int inventoryBulkheadThreads;
+
+    @Value("${order.concurrency-limit.inventory-service.latency-threshold-ms:500}")
+    private long inventoryLatencyThresholdMs;
+
+    @Value("${order.concurrency-limit.payment-service.initial-limit:10}")
+    private int paymentInitialLimit;
+
+    @Value("${order.concurrency-limit.payment-service.max-limit:10}")
+    private int paymentMaxLimit;
+
+    @Value("${order.bulkhead.payment-service.max-threads:10}")
+    private int paymentBulkheadThreads;
+
+    @Value("${order.concurrency-limit.payment-service.latency-threshold-ms:2000}")
+    private long paymentLatencyThresholdMs;
+
+    @Value("${order.concurrency-limit.min-limit:2}")
+    private int minLimit;
+
+    @Value("${order.concurrency-limit.backoff-ratio:0.9}")
+    private double backoffRatio;
+
+    @Bean
+    public ConcurrencyLimitingCapability concurrencyLimitingCapability(MeterRegistry meterRegistry) {
+        List<AimdConcurrencyLimiter> limiters = List.of(
+                new AimdConcurrencyLimiter("inventory-service", inventoryInitialLimit, minLimit,
+                        Math.min(inventoryMaxLimit, inventoryBulkheadThreads),
+                        backoffRatio, inventoryLatencyThresholdMs),
+                new AimdConcurrencyLimiter("payment-service", paymentInitialLimit, minLimit,
+                        Math.min(paymentMaxLimit, paymentBulkheadThreads),
+                        backoffRatio, paymentLatencyThresholdMs));
+
+        for (AimdConcurrencyLimiter limiter : limiters) {
+            Gauge.builder("client.concurrency.limit", limiter, AimdConcurrencyLimiter::getLimit)
+                    .description("Current adaptive concurrency limit")
+                    .tag("client", limiter.getName())
+                    .register(meterRegistry);
+            Gauge.builder("client.concurrency.in-flight", limiter, AimdConcurrencyLimiter::getInFlight)
+                    .description("Calls currently in flight")
+                    .tag("client", limiter.getName())
+                    .register(meterRegistry);
+        }
+
+        Map<String, AimdConcurrencyLimiter> byName = limiters.stream()
+                .collect(Collectors.toMap(AimdConcurrencyLimiter::getName, Function.identity()));
+        return new ConcurrencyLimitingCapability(byName, meterRegistry);
+    }
+}
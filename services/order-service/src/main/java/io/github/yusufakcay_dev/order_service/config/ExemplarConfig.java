@@ -0,0 +1,37 @@
+package io.github.yusufakcay_dev.order_service.config;
+
+import io.prometheus.metrics.tracer.agent.OpenTelemetryAgentSpanContext;
+import io.prometheus.metrics.tracer.common.SpanContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+/**
+ * Exemplars for the Prometheus registry.
+ *
+ * Traces come from the OpenTelemetry Java agent rather than Micrometer
+ * Tracing, so the registry is handed a SpanContext that reads the agent's
+ * current span. Histogram buckets then carry the trace id of a sampled
+ * request, which Grafana links to Tempo. Without the agent (local runs,
+ * tests) no SpanContext is registered and metrics are exported as before.
+ */
+@Configuration
+@Conditional(ExemplarConfig.OpenTelemetryAgentAttached.class)
+public class ExemplarConfig {
+
+    @Bean
+    public SpanContext openTelemetryAgentSpanContext() {
+        return new OpenTelemetryAgentSpanContext();
+    }
+
+    static class OpenTelemetryAgentAttached implements Condition {
+
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            return OpenTelemetryAgentSpanContext.isAvailable();
+        }
+    }
+}
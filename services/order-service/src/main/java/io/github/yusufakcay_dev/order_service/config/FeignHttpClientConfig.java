@@ -0,0 +1,124 @@
+package io.github.yusufakcay_dev.order_service.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.io.SocketConfig;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.openfeign.support.FeignHttpClientProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Connection pool for the Feign clients (Apache HttpClient 5).
+ *
+ * Replaces the pool that OpenFeign would auto-configure so each target gets
+ * its own limit: a slow payment-service cannot take the connections that
+ * inventory calls need. The rest of the spring.cloud.openfeign.httpclient
+ * settings still apply. Per-client connect/read timeouts are set under
+ * spring.cloud.openfeign.client.config.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.cloud.openfeign.httpclient.hc5.enabled", havingValue = "true", matchIfMissing = true)
+public class FeignHttpClientConfig {
+
+    @Value("${inventory-service.url}")
+    private String inventoryServiceUrl;
+
+    @Value("${payment-service.url}")
+    private String paymentServiceUrl;
+
+    @Value("${order.http-client.inventory-max-connections:100}")
+    private int inventoryMaxConnections;
+
+    @Value("${order.http-client.payment-max-connections:20}")
+    private int paymentMaxConnections;
+
+    @Value("${order.http-client.validate-after-inactivity-ms:2000}")
+    private long validateAfterInactivityMs;
+
+    @Bean
+    public PoolingHttpClientConnectionManager feignConnectionManager(FeignHttpClientProperties properties) {
+        FeignHttpClientProperties.Hc5Properties hc5 = properties.getHc5();
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxConnections())
+                .setMaxConnPerRoute(properties.getMaxConnectionsPerRoute())
+                .setPoolConcurrencyPolicy(PoolConcurrencyPolicy.valueOf(hc5.getPoolConcurrencyPolicy().name()))
+                .setConnPoolPolicy(PoolReusePolicy.valueOf(hc5.getPoolReusePolicy().name()))
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setTimeToLive(TimeValue.of(properties.getTimeToLive(), properties.getTimeToLiveUnit()))
+                        .setValidateAfterInactivity(TimeValue.ofMilliseconds(validateAfterInactivityMs))
+                        .build())
+                .setDefaultSocketConfig(SocketConfig.custom()
+                        .setSoTimeout(Timeout.of(hc5.getSocketTimeout(), hc5.getSocketTimeoutUnit()))
+                        .setTcpNoDelay(true)
+                        .build())
+                .build();
+
+        targets().forEach((target, route) -> connectionManager.setMaxPerRoute(route,
+                "inventory-service".equals(target) ? inventoryMaxConnections : paymentMaxConnections));
+        return connectionManager;
+    }
+
+    /**
+     * Pool-wide httpcomponents.httpclient.pool.* metrics plus per-target
+     * feign.pool.* gauges.
+     */
+    @Bean
+    public MeterBinder feignConnectionPoolMetrics(PoolingHttpClientConnectionManager feignConnectionManager) {
+        return registry -> {
+            new PoolingHttpClientConnectionManagerMetricsBinder(feignConnectionManager, "feign").bindTo(registry);
+            targets().forEach((target, route) -> {
+                registerRouteGauge(registry, feignConnectionManager, route, target, "leased", PoolStats::getLeased);
+                registerRouteGauge(registry, feignConnectionManager, route, target, "available", PoolStats::getAvailable);
+                registerRouteGauge(registry, feignConnectionManager, route, target, "pending", PoolStats::getPending);
+                Gauge.builder("feign.pool.max", feignConnectionManager, manager -> manager.getMaxPerRoute(route))
+                        .description("Connection limit for the target")
+                        .tag("target", target)
+                        .register(registry);
+            });
+        };
+    }
+
+    private void registerRouteGauge(MeterRegistry registry,
+            PoolingHttpClientConnectionManager connectionManager, HttpRoute route, String target, String state,
+            ToIntFunction<PoolStats> value) {
+        Gauge.builder("feign.pool.connections", connectionManager,
+                manager -> value.applyAsInt(manager.getStats(route)))
+                .description("Pooled connections to the target by state")
+                .tag("target", target)
+                .tag("state", state)
+                .register(registry);
+    }
+
+    private Map<String, HttpRoute> targets() {
+        Map<String, HttpRoute> targets = new LinkedHashMap<>();
+        targets.put("inventory-service", route(inventoryServiceUrl));
+        targets.put("payment-service", route(paymentServiceUrl));
+        return targets;
+    }
+
+    static HttpRoute route(String url) {
+        URI uri = URI.create(url);
+        boolean secure = "https".equalsIgnoreCase(uri.getScheme());
+        int port = uri.getPort() != -1 ? uri.getPort() : secure ? 443 : 80;
+        return new HttpRoute(new HttpHost(uri.getScheme(), uri.getHost(), port), null, secure);
+    }
+}
@@ -1,7 +1,10 @@
 package io.github.yusufakcay_dev.order_service.config;
 
+import io.github.yusufakcay_dev.order_service.event.OrderLifecycleEvent;
 import io.github.yusufakcay_dev.order_service.event.PaymentResultEvent;
+import io.github.yusufakcay_dev.order_service.event.ProductStockStatusEvent;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -10,6 +13,9 @@ import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.support.serializer.DeserializationException;
 import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 
@@ -28,6 +34,18 @@ import java.util.Map;
  * BUG FIX: Changed default type from PaymentResponse to PaymentResultEvent
  * to match the @KafkaListener expecting PaymentResultEvent in
  * PaymentResultConsumer
+ *
+ * The batch factory backs PaymentResultBatchConsumer (enabled with
+ * order.payment-results.batch.enabled). @RetryableTopic does not support
+ * batch listeners, so failed batch records are forwarded by hand to the
+ * retry/DLT topics that the record listener already owns.
+ *
+ * The order-events factory backs OrderReadModelProjector, which consumes the
+ * service's own lifecycle events in a separate consumer group.
+ *
+ * The stock-status factory backs StockStatusConsumer. Every instance needs
+ * every event for its own snapshot, so each one joins a fresh consumer group
+ * (see the listener) and starts from the latest offset.
  */
 @Configuration
 @EnableKafka
@@ -39,8 +57,75 @@ public class KafkaConsumerConfig {
     @Value("${spring.kafka.consumer.group-id:order-service-group}")
     private String groupId;
 
+    @Value("${order.payment-results.batch.max-poll-records:500}")
+    private int batchMaxPollRecords;
+
+    @Value("${order.read-model.group-id:order-read-model}")
+    private String readModelGroupId;
+
     @Bean
     public ConsumerFactory<String, PaymentResultEvent> consumerFactory() {
+        return new DefaultKafkaConsumerFactory<>(consumerProps(PaymentResultEvent.class));
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, PaymentResultEvent> kafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, PaymentResultEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory());
+        factory.setConcurrency(1);
+        return factory;
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, PaymentResultEvent> batchKafkaListenerContainerFactory() {
+        Map<String, Object> props = consumerProps(PaymentResultEvent.class);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, batchMaxPollRecords);
+
+        ConcurrentKafkaListenerContainerFactory<String, PaymentResultEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(props));
+        factory.setConcurrency(1);
+        factory.setBatchListener(true);
+        return factory;
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, OrderLifecycleEvent> orderEventsKafkaListenerContainerFactory() {
+        Map<String, Object> props = consumerProps(OrderLifecycleEvent.class);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, readModelGroupId);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, batchMaxPollRecords);
+
+        ConcurrentKafkaListenerContainerFactory<String, OrderLifecycleEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(props));
+        factory.setConcurrency(1);
+        factory.setBatchListener(true);
+        return factory;
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, ProductStockStatusEvent> stockStatusKafkaListenerContainerFactory() {
+        Map<String, Object> props = consumerProps(ProductStockStatusEvent.class);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+
+        ConcurrentKafkaListenerContainerFactory<String, ProductStockStatusEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(props));
+        factory.setConcurrency(1);
+        return factory;
+    }
+
+    /**
+     * Publishes failed batch records to the first retry topic, or straight to
+     * the DLT for records that could not be deserialized (same routing the
+     * record listener gets from @RetryableTopic).
+     */
+    @Bean
+    public DeadLetterPublishingRecoverer paymentResultRetryRecoverer(KafkaTemplate<String, Object> kafkaTemplate) {
+        return new DeadLetterPublishingRecoverer(kafkaTemplate,
+                (record, ex) -> new TopicPartition(ex instanceof DeserializationException
+                        ? record.topic() + "-dlt"
+                        : record.topic() + "-retry-0", -1));
+    }
+
+    private Map<String, Object> consumerProps(Class<?> valueType) {
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
@@ -57,18 +142,10 @@ public class KafkaConsumerConfig {
         props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class);
 
         // JsonDeserializer configuration - FIXED: Changed to PaymentResultEvent
-        props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, PaymentResultEvent.class.getName());
+        props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, valueType.getName());
         props.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
         props.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
 
-        return new DefaultKafkaConsumerFactory<>(props);
-    }
-
-    @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, PaymentResultEvent> kafkaListenerContainerFactory() {
-        ConcurrentKafkaListenerContainerFactory<String, PaymentResultEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
-        factory.setConsumerFactory(consumerFactory());
-        factory.setConcurrency(1);
-        return factory;
+        return props;
     }
 }
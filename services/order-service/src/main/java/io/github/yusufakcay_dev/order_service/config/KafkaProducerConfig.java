@@ -0,0 +1,78 @@
+package io.github.yusufakcay_dev.order_service.config;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Kafka Producer Configuration
+ *
+ * The primary template serializes objects to JSON and is used by the retry
+ * topic / DLT infrastructure. The outbox template sends payloads that were
+ * already serialized when the outbox row was written, and is tuned for
+ * throughput so one relay run can go out in a few producer requests.
+ */
+@Configuration
+public class KafkaProducerConfig {
+
+    @Value("${spring.kafka.bootstrap-servers}")
+    private String bootstrapServers;
+
+    @Value("${outbox.relay.linger-ms:20}")
+    private int outboxLingerMs;
+
+    @Value("${outbox.relay.producer-batch-bytes:131072}")
+    private int outboxBatchBytes;
+
+    @Bean
+    @Primary
+    public ProducerFactory<String, Object> producerFactory() {
+        Map<String, Object> configProps = baseProducerProps();
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        return new DefaultKafkaProducerFactory<>(configProps);
+    }
+
+    @Bean
+    @Primary
+    public KafkaTemplate<String, Object> kafkaTemplate() {
+        return new KafkaTemplate<>(producerFactory());
+    }
+
+    @Bean
+    public ProducerFactory<String, String> outboxProducerFactory() {
+        Map<String, Object> configProps = baseProducerProps();
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, outboxLingerMs);
+        configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, outboxBatchBytes);
+        configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4");
+        return new DefaultKafkaProducerFactory<>(configProps);
+    }
+
+    @Bean
+    public KafkaTemplate<String, String> outboxKafkaTemplate() {
+        return new KafkaTemplate<>(outboxProducerFactory());
+    }
+
+    private Map<String, Object> baseProducerProps() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configProps.put(ProducerConfig.RETRIES_CONFIG, 5);
+        configProps.put(ProducerConfig.RETRY_BACKOFF_MS_CONFIG, 100);
+        configProps.put(ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG, 15000);
+        configProps.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, 60000);
+        return configProps;
+    }
+}
@@ -1,10 +1,18 @@
 package io.github.yusufakcay_dev.order_service.config;
 
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadConfig;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
 import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.yusufakcay_dev.order_service.client.AimdConcurrencyLimiter.ConcurrencyLimitExceededException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JCircuitBreakerFactory;
 import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JConfigBuilder;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4jBulkheadConfigurationBuilder;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4jBulkheadProvider;
 import org.springframework.cloud.client.circuitbreaker.Customizer;
+import org.springframework.cloud.openfeign.CircuitBreakerNameResolver;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -13,6 +21,32 @@ import java.time.Duration;
 @Configuration
 public class Resilience4jConfig {
 
+    private static final String INVENTORY_SERVICE = "inventory-service";
+    private static final String PAYMENT_SERVICE = "payment-service";
+
+    @Value("${order.bulkhead.inventory-service.max-threads:20}")
+    private int inventoryBulkheadThreads;
+
+    @Value("${order.bulkhead.inventory-service.queue-capacity:20}")
+    private int inventoryBulkheadQueue;
+
+    @Value("${order.bulkhead.payment-service.max-threads:10}")
+    private int paymentBulkheadThreads;
+
+    @Value("${order.bulkhead.payment-service.queue-capacity:10}")
+    private int paymentBulkheadQueue;
+
+    /**
+     * One circuit breaker, time limiter and bulkhead per Feign client, named
+     * after the client ("inventory-service", "payment-service"), instead of
+     * one per method. This is what the per-client settings below and in
+     * application.yml are keyed by.
+     */
+    @Bean
+    public CircuitBreakerNameResolver circuitBreakerNameResolver() {
+        return (feignClientName, target, method) -> feignClientName;
+    }
+
     /**
      * Global Circuit Breaker Configuration
      * Applies to all Feign clients by default
@@ -29,6 +63,8 @@ public class Resilience4jConfig {
                         .failureRateThreshold(50)
                         // Consider these exceptions as failures
                         .recordExceptions(Exception.class)
+                        // Load shed by our own limiter says nothing about the remote's health
+                        .ignoreExceptions(ConcurrencyLimitExceededException.class)
                         // Use sliding window of last 10 calls
                         .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
                         .slidingWindowSize(10)
@@ -59,10 +95,47 @@ public class Resilience4jConfig {
                         .slidingWindowSize(5)
                         .permittedNumberOfCallsInHalfOpenState(2)
                         .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                        .ignoreExceptions(ConcurrencyLimitExceededException.class)
                         .build())
                 .timeLimiterConfig(TimeLimiterConfig.custom()
                         .timeoutDuration(Duration.ofSeconds(3))
                         .build()),
-                "inventory-service");
+                INVENTORY_SERVICE);
+    }
+
+    /**
+     * Per-client thread pool bulkheads. Each client's calls run on its own
+     * bounded pool (which the time limiter needs anyway), so a slow inventory
+     * service can tie up at most its own threads and queue; further calls are
+     * rejected straight away instead of blocking request threads.
+     */
+    @Bean
+    public Customizer<Resilience4jBulkheadProvider> clientBulkheadConfig(MeterRegistry meterRegistry) {
+        return provider -> {
+            provider.configure(builder -> builder
+                    .bulkheadConfig(BulkheadConfig.custom()
+                            .maxConcurrentCalls(inventoryBulkheadThreads)
+                            .build())
+                    .threadPoolBulkheadConfig(threadPool(inventoryBulkheadThreads, inventoryBulkheadQueue)),
+                    INVENTORY_SERVICE);
+            provider.configure(builder -> builder
+                    .bulkheadConfig(BulkheadConfig.custom()
+                            .maxConcurrentCalls(paymentBulkheadThreads)
+                            .build())
+                    .threadPoolBulkheadConfig(threadPool(paymentBulkheadThreads, paymentBulkheadQueue)),
+                    PAYMENT_SERVICE);
+            provider.addThreadPoolBulkheadCustomizer(bulkhead -> bulkhead.getEventPublisher()
+                    .onCallRejected(event -> meterRegistry.counter("client.calls.rejected",
+                            "client", event.getBulkheadName(), "reason", "bulkhead").increment()),
+                    INVENTORY_SERVICE, PAYMENT_SERVICE);
+        };
+    }
+
+    private static ThreadPoolBulkheadConfig threadPool(int threads, int queueCapacity) {
+        return ThreadPoolBulkheadConfig.custom()
+                .coreThreadPoolSize(threads)
+                .maxThreadPoolSize(threads)
+                .queueCapacity(queueCapacity)
+                .build();
     }
 }
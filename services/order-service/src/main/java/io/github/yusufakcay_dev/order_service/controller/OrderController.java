@@ -1,6 +1,8 @@
 package io.github.yusufakcay_dev.order_service.controller;
 
 import io.github.yusufakcay_dev.order_service.dto.CreateOrderRequest;
+import io.github.yusufakcay_dev.order_service.dto.DailyOrderSummaryResponse;
+import io.github.yusufakcay_dev.order_service.dto.OrderHistoryResponse;
 import io.github.yusufakcay_dev.order_service.dto.OrderResponse;
 import io.github.yusufakcay_dev.order_service.service.OrderService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -8,10 +10,12 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.UUID;
 
 @Slf4j
@@ -38,4 +42,23 @@ public class OrderController {
         OrderResponse response = orderService.getOrder(orderId);
         return ResponseEntity.ok(response);
     }
+
+    @GetMapping
+    @Operation(summary = "List a user's orders", description = "Returns order summaries newest first, paginated with an opaque cursor")
+    public ResponseEntity<OrderHistoryResponse> getOrderHistory(
+            @RequestParam Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("Received order history request for user: {}", userId);
+        OrderHistoryResponse response = orderService.getOrderHistory(userId, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/daily-summary")
+    @Operation(summary = "Daily order summary", description = "Order counts by status and paid revenue for one day, from the read model")
+    public ResponseEntity<DailyOrderSummaryResponse> getDailySummary(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        log.info("Received daily summary request for: {}", date);
+        return ResponseEntity.ok(orderService.getDailySummary(date));
+    }
 }
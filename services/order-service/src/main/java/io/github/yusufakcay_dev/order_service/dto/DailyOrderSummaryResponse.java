@@ -0,0 +1,22 @@
+package io.github.yusufakcay_dev.order_service.dto;
+
+import io.github.yusufakcay_dev.order_service.entity.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyOrderSummaryResponse {
+    private LocalDate date;
+    private long totalOrders;
+    private Map<OrderStatus, Long> ordersByStatus;
+    private BigDecimal paidAmount;
+}
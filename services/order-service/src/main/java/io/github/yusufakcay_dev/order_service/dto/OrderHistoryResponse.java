@@ -0,0 +1,18 @@
+package io.github.yusufakcay_dev.order_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderHistoryResponse {
+    private List<OrderSummaryResponse> orders;
+    private String nextCursor; // null on the last page
+    private boolean hasMore;
+}
@@ -0,0 +1,22 @@
+package io.github.yusufakcay_dev.order_service.dto;
+
+import io.github.yusufakcay_dev.order_service.entity.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderSummaryResponse {
+    private UUID id;
+    private OrderStatus status;
+    private BigDecimal amount;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,29 @@
+package io.github.yusufakcay_dev.order_service.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Full-state snapshot of an order, published to order-events (through the
+ * outbox) whenever the order is created or changes status, and when an
+ * asynchronously created payment link is attached.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderLifecycleEvent {
+    private UUID orderId;
+    private Long userId;
+    private String status; // PENDING, PAID, FAILED or CANCELLED
+    private BigDecimal amount;
+    private String paymentUrl;
+    private LocalDateTime createdAt;
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,19 @@
+package io.github.yusufakcay_dev.order_service.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Published by inventory-service to product-stock-status-topic when a SKU's
+ * available quantity reaches zero or becomes positive again.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductStockStatusEvent {
+    private String sku;
+    private Boolean inStock;
+}
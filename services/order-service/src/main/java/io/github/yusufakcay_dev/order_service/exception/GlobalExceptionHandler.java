@@ -1,6 +1,7 @@
 package io.github.yusufakcay_dev.order_service.exception;
 
 import io.github.yusufakcay_dev.order_service.client.InventoryServiceFallback.InventoryServiceUnavailableException;
+import io.github.yusufakcay_dev.order_service.service.StockAvailabilityService.InsufficientStockException;
 import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -69,6 +70,26 @@ public class GlobalExceptionHandler {
                 .body(problemDetail);
     }
 
+    /**
+     * Handle orders rejected by the stock pre-check (409 Conflict)
+     */
+    @ExceptionHandler(InsufficientStockException.class)
+    public ResponseEntity<ProblemDetail> handleInsufficientStock(
+            InsufficientStockException ex, WebRequest request) {
+
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.CONFLICT,
+                ex.getMessage());
+
+        problemDetail.setTitle("Insufficient Stock");
+        problemDetail.setType(URI.create("https://api.retail-engine.com/errors/insufficient-stock"));
+        problemDetail.setProperty("timestamp", Instant.now());
+        problemDetail.setProperty("skus", ex.getSkus());
+
+        log.warn("Order rejected by stock pre-check: {}", ex.getSkus());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(problemDetail);
+    }
+
     /**
      * Handle validation errors (400 Bad Request)
      */
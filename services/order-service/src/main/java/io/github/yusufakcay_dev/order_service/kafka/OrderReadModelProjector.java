@@ -0,0 +1,114 @@
+package io.github.yusufakcay_dev.order_service.kafka;
+
+import io.github.yusufakcay_dev.order_service.event.OrderLifecycleEvent;
+import io.github.yusufakcay_dev.order_service.service.OrderReadModelService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Projects order-events into the Redis read model (OrderReadModelService).
+ *
+ * Runs in its own consumer group so it can lag, be rebuilt or be moved to a
+ * separate deployment without touching the write path. With
+ * order.read-model.rebuild-on-startup=true every partition is rewound to the
+ * beginning the first time it is assigned; because events are full snapshots
+ * and applying them is idempotent, replaying over an existing model is safe.
+ * A full rebuild needs order-events retention to cover the order history.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "order.read-model.enabled", havingValue = "true")
+public class OrderReadModelProjector implements ConsumerSeekAware {
+
+    private final OrderReadModelService orderReadModelService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${order.read-model.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    private final Set<TopicPartition> rewound = ConcurrentHashMap.newKeySet();
+    private final AtomicLong lagMs = new AtomicLong();
+
+    private Counter appliedCounter;
+    private Counter staleCounter;
+
+    @PostConstruct
+    void registerMetrics() {
+        appliedCounter = Counter.builder("order.read-model.events").tag("result", "applied")
+                .description("Order events projected into the read model")
+                .register(meterRegistry);
+        staleCounter = Counter.builder("order.read-model.events").tag("result", "stale")
+                .description("Order events projected into the read model")
+                .register(meterRegistry);
+        Gauge.builder("order.read-model.lag", lagMs, AtomicLong::get)
+                .description("Age of the newest order event in the last projected batch")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        if (!rebuildOnStartup) {
+            return;
+        }
+        List<TopicPartition> toRewind = new ArrayList<>();
+        for (TopicPartition partition : assignments.keySet()) {
+            if (rewound.add(partition)) {
+                toRewind.add(partition);
+            }
+        }
+        if (!toRewind.isEmpty()) {
+            log.info("Rebuilding order read model from the beginning of {}", toRewind);
+            callback.seekToBeginning(toRewind);
+        }
+    }
+
+    @KafkaListener(id = "order-read-model-projector", topics = "order-events", containerFactory = "orderEventsKafkaListenerContainerFactory")
+    public void project(List<ConsumerRecord<String, OrderLifecycleEvent>> records) {
+        List<OrderLifecycleEvent> events = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, OrderLifecycleEvent> record : records) {
+            if (record.value() == null) {
+                log.error("Skipping undeserializable order event at {}-{}@{}",
+                        record.topic(), record.partition(), record.offset());
+                continue;
+            }
+            events.add(record.value());
+        }
+        if (events.isEmpty()) {
+            return;
+        }
+
+        int applied = orderReadModelService.apply(events);
+        appliedCounter.increment(applied);
+        staleCounter.increment(events.size() - applied);
+
+        events.stream()
+                .map(OrderLifecycleEvent::getOccurredAt)
+                .filter(occurredAt -> occurredAt != null)
+                .max(LocalDateTime::compareTo)
+                .ifPresent(newest -> lagMs.set(Duration.between(newest, LocalDateTime.now()).toMillis()));
+
+        log.debug("Projected {} order events ({} applied)", events.size(), applied);
+    }
+}
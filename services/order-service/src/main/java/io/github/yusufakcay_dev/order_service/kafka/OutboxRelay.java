@@ -0,0 +1,143 @@
+package io.github.yusufakcay_dev.order_service.kafka;
+
+import io.github.yusufakcay_dev.order_service.entity.OutboxEvent;
+import io.github.yusufakcay_dev.order_service.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes outbox rows to Kafka in batches.
+ *
+ * Each run locks up to batch-size pending rows (SKIP LOCKED, so replicas can
+ * relay concurrently), hands them all to the producer without waiting, then
+ * waits once for the acknowledgements. The producer's linger/batch settings
+ * coalesce the sends into a few requests. Only acknowledged rows are marked
+ * published; the rest stay pending and are retried on the next run, which
+ * gives at-least-once delivery.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, String> outboxKafkaTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${outbox.relay.batch-size:500}")
+    private int batchSize;
+
+    @Value("${outbox.relay.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @Value("${outbox.retention-hours:24}")
+    private long retentionHours;
+
+    private final AtomicLong pendingEvents = new AtomicLong();
+    private final AtomicLong oldestPendingAgeMs = new AtomicLong();
+
+    private Counter publishedCounter;
+    private Counter failedCounter;
+    private Timer batchTimer;
+
+    @PostConstruct
+    void registerMetrics() {
+        publishedCounter = Counter.builder("outbox.events.published")
+                .description("Outbox events acknowledged by Kafka")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("outbox.events.failed")
+                .description("Outbox event sends that failed and will be retried")
+                .register(meterRegistry);
+        batchTimer = Timer.builder("outbox.relay.batch")
+                .description("Time to publish one outbox batch")
+                .register(meterRegistry);
+        Gauge.builder("outbox.events.pending", pendingEvents, AtomicLong::get)
+                .description("Outbox events not yet published")
+                .register(meterRegistry);
+        Gauge.builder("outbox.lag", oldestPendingAgeMs, AtomicLong::get)
+                .description("Age of the oldest unpublished outbox event")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:500}")
+    @Transactional
+    public void relay() {
+        List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(batchSize);
+        if (!batch.isEmpty()) {
+            batchTimer.record(() -> publishBatch(batch));
+        }
+        refreshLag();
+    }
+
+    private void publishBatch(List<OutboxEvent> batch) {
+        List<CompletableFuture<SendResult<String, String>>> futures = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            futures.add(outboxKafkaTemplate.send(event.getTopic(), event.getMessageKey(), event.getPayload()));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        List<UUID> published = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent event = batch.get(i);
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                futures.get(i).get(remaining, TimeUnit.NANOSECONDS);
+                published.add(event.getId());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Outbox relay interrupted, {} events left pending", batch.size() - published.size());
+                break;
+            } catch (Exception e) {
+                log.error("Failed to publish outbox event {} ({}) to topic {}. Will retry.",
+                        event.getId(), event.getEventType(), event.getTopic(), e);
+            }
+        }
+
+        if (!published.isEmpty()) {
+            outboxEventRepository.markPublished(published, LocalDateTime.now());
+        }
+        publishedCounter.increment(published.size());
+        failedCounter.increment(batch.size() - published.size());
+        log.debug("Outbox relay published {}/{} events", published.size(), batch.size());
+    }
+
+    private void refreshLag() {
+        pendingEvents.set(outboxEventRepository.countByPublishedAtIsNull());
+        oldestPendingAgeMs.set(outboxEventRepository.findOldestPendingCreatedAt()
+                .map(createdAt -> Duration.between(createdAt, LocalDateTime.now()).toMillis())
+                .orElse(0L));
+    }
+
+    /**
+     * Runs hourly to drop published rows past the retention window
+     */
+    @Scheduled(fixedRate = 3600000)
+    @Transactional
+    public void purgePublished() {
+        int deleted = outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minusHours(retentionHours));
+        if (deleted > 0) {
+            log.info("Purged {} published outbox events", deleted);
+        }
+    }
+}
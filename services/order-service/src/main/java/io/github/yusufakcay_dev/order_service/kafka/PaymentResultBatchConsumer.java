@@ -0,0 +1,135 @@
+package io.github.yusufakcay_dev.order_service.kafka;
+
+import io.github.yusufakcay_dev.order_service.event.PaymentResultEvent;
+import io.github.yusufakcay_dev.order_service.service.IdempotencyService;
+import io.github.yusufakcay_dev.order_service.service.OrderService;
+import io.github.yusufakcay_dev.order_service.service.OrderService.PaymentBatchResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.log.LogAccessor;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Batch alternative to PaymentResultConsumer for the payment-results topic.
+ *
+ * One poll is deduplicated with a single pipelined SET NX, applied to the
+ * orders in one transaction and settled against inventory with one call per
+ * SKU. Records that fail are forwarded to the retry topic (or the DLT for
+ * poison records), where the record listener's retry endpoints pick them up.
+ * Those endpoints are started here because the record listener itself stays
+ * stopped in batch mode.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "order.payment-results.batch.enabled", havingValue = "true")
+public class PaymentResultBatchConsumer {
+
+    private static final LogAccessor LOG_ACCESSOR = new LogAccessor(PaymentResultBatchConsumer.class);
+
+    private final OrderService orderService;
+    private final IdempotencyService idempotencyService;
+    private final DeadLetterPublishingRecoverer paymentResultRetryRecoverer;
+    private final KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRetryListeners() {
+        for (String id : kafkaListenerEndpointRegistry.getListenerContainerIds()) {
+            if (id.startsWith(PaymentResultConsumer.LISTENER_ID + "-")) {
+                MessageListenerContainer container = kafkaListenerEndpointRegistry.getListenerContainer(id);
+                if (container != null && !container.isRunning()) {
+                    container.start();
+                    log.info("Started retry listener container: {}", id);
+                }
+            }
+        }
+    }
+
+    @KafkaListener(id = "payment-results-batch-listener", topics = "payment-results", groupId = "order-service-group", containerFactory = "batchKafkaListenerContainerFactory")
+    public void handlePaymentResults(List<ConsumerRecord<String, PaymentResultEvent>> records) {
+        log.info("Received batch of {} payment result events", records.size());
+
+        List<ConsumerRecord<String, PaymentResultEvent>> valid = new ArrayList<>(records.size());
+        List<String> keys = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, PaymentResultEvent> record : records) {
+            if (record.value() == null) {
+                forwardPoisonRecord(record);
+                continue;
+            }
+            valid.add(record);
+            keys.add(idempotencyService.getOrderPaidKey(record.value().getOrderId().toString()));
+        }
+
+        // Idempotency check for the whole poll in one Redis round trip
+        List<Boolean> firsts = idempotencyService.isFirstProcessing(keys);
+        Map<PaymentResultEvent, ConsumerRecord<String, PaymentResultEvent>> fresh = new IdentityHashMap<>();
+        for (int i = 0; i < valid.size(); i++) {
+            if (firsts.get(i)) {
+                fresh.put(valid.get(i).value(), valid.get(i));
+            }
+        }
+        if (fresh.isEmpty()) {
+            log.warn("All {} payment result events in batch were duplicates. Skipping.", valid.size());
+            return;
+        }
+
+        List<PaymentResultEvent> events = valid.stream()
+                .map(ConsumerRecord::value)
+                .filter(fresh::containsKey)
+                .toList();
+
+        PaymentBatchResult result;
+        try {
+            result = orderService.applyPaymentResults(events);
+        } catch (Exception e) {
+            log.error("Failed to apply batch of {} payment results. Forwarding to retry topic.", events.size(), e);
+            forwardToRetry(events, fresh, e);
+            return;
+        }
+
+        if (!result.getMissing().isEmpty()) {
+            forwardToRetry(result.getMissing(), fresh, null);
+        }
+
+        orderService.settleInventory(result);
+    }
+
+    private void forwardToRetry(List<PaymentResultEvent> failed,
+            Map<PaymentResultEvent, ConsumerRecord<String, PaymentResultEvent>> records, Exception cause) {
+        // Release the idempotency keys so the retry listener does not treat them as duplicates
+        idempotencyService.removeKeys(failed.stream()
+                .map(event -> idempotencyService.getOrderPaidKey(event.getOrderId().toString()))
+                .toList());
+
+        for (PaymentResultEvent event : failed) {
+            Exception exception = cause != null ? cause
+                    : new RuntimeException("Order not found: " + event.getOrderId());
+            paymentResultRetryRecoverer.accept(records.get(event), exception);
+        }
+        log.warn("Forwarded {} payment result events to retry topic", failed.size());
+    }
+
+    private void forwardPoisonRecord(ConsumerRecord<String, PaymentResultEvent> record) {
+        DeserializationException exception = SerializationUtils.getExceptionFromHeader(record,
+                SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER, LOG_ACCESSOR);
+        log.error("Undeserializable payment result at {}-{}@{}. Sending to DLT.",
+                record.topic(), record.partition(), record.offset());
+        paymentResultRetryRecoverer.accept(record, exception != null ? exception
+                : new DeserializationException("Null payment result value", null, false, null));
+    }
+}
@@ -19,12 +19,17 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class PaymentResultConsumer {
 
+    /**
+     * Retry and DLT endpoints get this id plus a suffix (-retry-0, ..., -dlt).
+     */
+    public static final String LISTENER_ID = "payment-results-listener";
+
     private final OrderService orderService;
     private final IdempotencyService idempotencyService;
 
     @RetryableTopic(attempts = "4", backoff = @Backoff(delay = 1000, multiplier = 2.0, maxDelay = 5000), autoCreateTopics = "true", include = {
             Exception.class }, topicSuffixingStrategy = TopicSuffixingStrategy.SUFFIX_WITH_INDEX_VALUE)
-    @KafkaListener(topics = "payment-results", groupId = "order-service-group")
+    @KafkaListener(id = LISTENER_ID, topics = "payment-results", groupId = "order-service-group", autoStartup = "#{!${order.payment-results.batch.enabled:false}}")
     public void handlePaymentResult(PaymentResultEvent event) {
         log.info("Received payment result event: {}", event);
         // Idempotency check using Redis
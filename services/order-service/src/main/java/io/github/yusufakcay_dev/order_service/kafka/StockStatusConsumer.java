@@ -0,0 +1,40 @@
+package io.github.yusufakcay_dev.order_service.kafka;
+
+import io.github.yusufakcay_dev.order_service.event.ProductStockStatusEvent;
+import io.github.yusufakcay_dev.order_service.service.StockAvailabilityService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds inventory-service's sold-out / back-in-stock transitions into the
+ * stock pre-check snapshot. The group id is per instance so every replica
+ * sees every event, and stable (order.instance-id, the host name by default)
+ * so a restart resumes its own group instead of leaving one behind. The
+ * record timestamp is used so a delayed event does not look fresher than it
+ * is.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "order.stock-precheck.enabled", havingValue = "true", matchIfMissing = true)
+public class StockStatusConsumer {
+
+    private final StockAvailabilityService stockAvailabilityService;
+
+    @KafkaListener(topics = "product-stock-status-topic",
+            groupId = "${order.stock-precheck.group-id-prefix:order-stock-status}-${order.instance-id:${HOSTNAME:order-service}}",
+            containerFactory = "stockStatusKafkaListenerContainerFactory")
+    public void consume(ConsumerRecord<String, ProductStockStatusEvent> record) {
+        ProductStockStatusEvent event = record.value();
+        if (event == null || event.getSku() == null || event.getInStock() == null) {
+            log.warn("Ignoring malformed stock status event at offset {}", record.offset());
+            return;
+        }
+        log.debug("Stock status for SKU: {} - inStock: {}", event.getSku(), event.getInStock());
+        stockAvailabilityService.onStockStatus(event.getSku(), event.getInStock(), record.timestamp());
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.yusufakcay_dev.order_service.repository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Cold storage for closed orders: orders_archive, range-partitioned by
+ * created_at with one partition per month.
+ *
+ * The table is not a JPA entity because Hibernate's schema update cannot
+ * create partitioned tables; this repository owns its DDL instead. The
+ * parent table is created at startup even with archiving disabled, because
+ * order lookups fall back to it.
+ * Each row keeps the searchable columns plus the full order (with items)
+ * as gzip-compressed JSON.
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class OrderArchiveRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record ArchiveRow(UUID id, Long userId, String status, BigDecimal amount,
+            LocalDateTime createdAt, byte[] payload) {
+    }
+
+    @PostConstruct
+    public void createTableIfMissing() {
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS orders_archive (
+                    id UUID NOT NULL,
+                    user_id BIGINT NOT NULL,
+                    status VARCHAR(32) NOT NULL,
+                    amount NUMERIC(38, 2) NOT NULL,
+                    created_at TIMESTAMP(6) NOT NULL,
+                    archived_at TIMESTAMP(6) NOT NULL DEFAULT now(),
+                    payload BYTEA NOT NULL,
+                    PRIMARY KEY (id, created_at)
+                ) PARTITION BY RANGE (created_at)""");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_orders_archive_user "
+                + "ON orders_archive (user_id, created_at DESC)");
+    }
+
+    /**
+     * Creates the partition for the given month if it does not exist yet.
+     * Must not run inside a transaction: on Postgres a failed CREATE aborts
+     * the surrounding transaction, and the DDL locks orders_archive until
+     * commit.
+     */
+    public void ensurePartition(YearMonth month) {
+        String sql = String.format(
+                "CREATE TABLE IF NOT EXISTS %s PARTITION OF orders_archive FOR VALUES FROM ('%s') TO ('%s')",
+                partitionName(month), month.atDay(1), month.plusMonths(1).atDay(1));
+        try {
+            jdbcTemplate.execute(sql);
+        } catch (Exception e) {
+            // Another replica may have created it concurrently; only this statement failed
+            log.warn("Could not create archive partition {}: {}", partitionName(month), e.getMessage());
+        }
+    }
+
+    public void insertBatch(List<ArchiveRow> rows) {
+        jdbcTemplate.batchUpdate("INSERT INTO orders_archive (id, user_id, status, amount, created_at, payload) "
+                + "VALUES (?, ?, ?, ?, ?, ?) ON CONFLICT DO NOTHING",
+                rows, rows.size(), (ps, row) -> {
+                    ps.setObject(1, row.id());
+                    ps.setLong(2, row.userId());
+                    ps.setString(3, row.status());
+                    ps.setBigDecimal(4, row.amount());
+                    ps.setTimestamp(5, Timestamp.valueOf(row.createdAt()));
+                    ps.setBytes(6, row.payload());
+                });
+    }
+
+    /**
+     * Compressed payload of an archived order. Scans the id index of every
+     * partition, which is fine for the occasional lookup of an old order.
+     */
+    public Optional<byte[]> findPayloadById(UUID id) {
+        return jdbcTemplate.queryForList("SELECT payload FROM orders_archive WHERE id = ?", byte[].class, id)
+                .stream().findFirst();
+    }
+
+    static String partitionName(YearMonth month) {
+        return String.format("orders_archive_p%04d_%02d", month.getYear(), month.getMonthValue());
+    }
+}
@@ -1,13 +1,76 @@
 package io.github.yusufakcay_dev.order_service.repository;
 
+import io.github.yusufakcay_dev.order_service.dto.OrderSummaryResponse;
 import io.github.yusufakcay_dev.order_service.entity.Order;
+import io.github.yusufakcay_dev.order_service.entity.OrderStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, UUID> {
+    // Every order read path loads the items in the same query: the response
+    // mapping and the payment handlers always touch them.
+
+    @EntityGraph(attributePaths = "items")
     Optional<Order> findByPaymentId(String paymentId);
+
+    @EntityGraph(attributePaths = "items")
+    Optional<Order> findWithItemsById(UUID id);
+
+    @EntityGraph(attributePaths = "items")
+    List<Order> findWithItemsByIdIn(Collection<UUID> ids);
+
+    // Order history keyset pagination. Both queries are served by
+    // idx_orders_user_history (user_id, created_at DESC, id DESC, status, amount)
+    // as an index-only scan, and cost the same on any page.
+
+    @Query("SELECT new io.github.yusufakcay_dev.order_service.dto.OrderSummaryResponse(o.id, o.status, o.amount, o.createdAt) "
+            + "FROM Order o WHERE o.userId = :userId ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderSummaryResponse> findHistoryFirstPage(@Param("userId") Long userId, Limit limit);
+
+    @Query("SELECT new io.github.yusufakcay_dev.order_service.dto.OrderSummaryResponse(o.id, o.status, o.amount, o.createdAt) "
+            + "FROM Order o WHERE o.userId = :userId AND (o.createdAt, o.id) < (:createdAt, :id) "
+            + "ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderSummaryResponse> findHistoryAfter(@Param("userId") Long userId,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id, Limit limit);
+
+    /**
+     * Locks PENDING orders created before the cutoff. Served by the partial
+     * index idx_orders_pending_created (created by PendingOrderExpiryScheduler),
+     * which only holds PENDING rows and so stays small.
+     */
+    @Query(value = "SELECT id FROM orders WHERE status = 'PENDING' AND created_at < :cutoff " +
+            "ORDER BY created_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<UUID> lockExpiredPendingIds(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    // Archival (see OrderArchiveService). Rows are locked SKIP LOCKED so
+    // archiver replicas never pick the same orders.
+
+    @Query(value = "SELECT id FROM orders WHERE status IN (:statuses) AND created_at < :cutoff " +
+            "ORDER BY created_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<UUID> lockArchivableIds(@Param("statuses") Collection<String> statuses,
+            @Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Query("SELECT MIN(o.createdAt) FROM Order o WHERE o.status IN :statuses AND o.createdAt < :cutoff")
+    LocalDateTime findOldestCreatedAt(@Param("statuses") Collection<OrderStatus> statuses,
+            @Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("DELETE FROM OrderItem i WHERE i.order.id IN :orderIds")
+    int deleteItemsByOrderIdIn(@Param("orderIds") Collection<UUID> orderIds);
+
+    @Modifying
+    @Query("DELETE FROM Order o WHERE o.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<UUID> ids);
 }
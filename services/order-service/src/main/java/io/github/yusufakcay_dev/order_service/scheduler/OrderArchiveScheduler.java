@@ -0,0 +1,98 @@
+package io.github.yusufakcay_dev.order_service.scheduler;
+
+import io.github.yusufakcay_dev.order_service.repository.OrderArchiveRepository;
+import io.github.yusufakcay_dev.order_service.service.OrderArchiveService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+/**
+ * Nightly archival of closed orders (PAID/FAILED/CANCELLED) older than
+ * order.archive.after-days. Keeps orders/order_items limited to recent data
+ * so status scans and indexes stay small.
+ *
+ * Each batch runs in its own transaction, so a run can be interrupted at
+ * any point and simply continues on the next schedule.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "order.archive.enabled", havingValue = "true")
+public class OrderArchiveScheduler {
+
+    private final OrderArchiveService orderArchiveService;
+    private final OrderArchiveRepository orderArchiveRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${order.archive.after-days:90}")
+    private int afterDays;
+
+    @Value("${order.archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${order.archive.max-batches-per-run:200}")
+    private int maxBatchesPerRun;
+
+    private Counter archivedCounter;
+    private Timer runTimer;
+
+    @PostConstruct
+    void registerMetrics() {
+        archivedCounter = Counter.builder("orders.archived")
+                .description("Orders moved to orders_archive")
+                .register(meterRegistry);
+        runTimer = Timer.builder("orders.archive.run")
+                .description("Duration of an archival run")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void prepareArchive() {
+        // The parent table is created by OrderArchiveRepository on startup
+        orderArchiveRepository.ensurePartition(YearMonth.now().minusMonths(1));
+        orderArchiveRepository.ensurePartition(YearMonth.now());
+    }
+
+    @Scheduled(cron = "${order.archive.cron:0 30 3 * * *}")
+    public void archiveClosedOrders() {
+        runTimer.record(() -> {
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(afterDays);
+            try {
+                orderArchiveService.preparePartitions(cutoff);
+            } catch (Exception e) {
+                log.error("Could not prepare archive partitions, will retry on next run", e);
+                return;
+            }
+            int total = 0;
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                int archived;
+                try {
+                    archived = orderArchiveService.archiveBatch(cutoff, batchSize);
+                } catch (Exception e) {
+                    log.error("Order archival batch failed, will retry on next run", e);
+                    break;
+                }
+                total += archived;
+                archivedCounter.increment(archived);
+                if (archived < batchSize) {
+                    break;
+                }
+            }
+            if (total > 0) {
+                log.info("Archival run moved {} orders older than {} days", total, afterDays);
+            }
+        });
+    }
+}
@@ -0,0 +1,97 @@
+package io.github.yusufakcay_dev.order_service.scheduler;
+
+import io.github.yusufakcay_dev.order_service.service.OrderService;
+import io.github.yusufakcay_dev.order_service.service.OrderService.ExpiredOrders;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cancels orders stuck in PENDING past order.expiry.pending-minutes and
+ * releases their reserved inventory.
+ *
+ * payment-service already fails payments after 5 minutes, which normally
+ * resolves the order. This sweep covers orders that never got a payment,
+ * e.g. when createPaymentLink timed out after the order was saved. The
+ * deadline should stay well above the payment expiry so a late payment
+ * result still wins.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "order.expiry.enabled", havingValue = "true", matchIfMissing = true)
+public class PendingOrderExpiryScheduler {
+
+    private final OrderService orderService;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${order.expiry.pending-minutes:30}")
+    private long pendingMinutes;
+
+    @Value("${order.expiry.batch-size:200}")
+    private int batchSize;
+
+    @Value("${order.expiry.max-batches-per-run:50}")
+    private int maxBatchesPerRun;
+
+    private Counter expiredCounter;
+
+    @PostConstruct
+    void registerMetrics() {
+        expiredCounter = Counter.builder("orders.expired")
+                .description("PENDING orders cancelled by the expiry sweep")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Hibernate cannot declare partial indexes, so the sweep's index is
+     * created here.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void createPendingIndex() {
+        try {
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_orders_pending_created "
+                    + "ON orders (status, created_at) WHERE status = 'PENDING'");
+        } catch (Exception e) {
+            log.warn("Could not create idx_orders_pending_created: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${order.expiry.interval-ms:60000}")
+    public void expirePendingOrders() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(pendingMinutes);
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            ExpiredOrders expired;
+            try {
+                expired = orderService.expirePendingOrders(cutoff, batchSize);
+            } catch (Exception e) {
+                log.error("PENDING order expiry batch failed, will retry on next run", e);
+                return;
+            }
+            if (expired.getOrderIds().isEmpty()) {
+                return;
+            }
+
+            // Committed: release the reservations, one call per SKU
+            orderService.releaseInventory(expired.getReleaseBySku());
+            expiredCounter.increment(expired.getOrderIds().size());
+            log.info("Expired {} PENDING orders: {}", expired.getOrderIds().size(), expired.getOrderIds());
+
+            if (expired.getOrderIds().size() < batchSize) {
+                return;
+            }
+        }
+    }
+}
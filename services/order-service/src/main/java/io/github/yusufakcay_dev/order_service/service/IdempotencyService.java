@@ -2,10 +2,18 @@ package io.github.yusufakcay_dev.order_service.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -15,6 +23,7 @@ public class IdempotencyService {
     private final StringRedisTemplate redisTemplate;
 
     private static final Duration DEFAULT_TTL = Duration.ofHours(24);
+    private static final byte[] PROCESSED = "processed".getBytes(StandardCharsets.UTF_8);
 
     /**
      * Check if an event has already been processed using Redis setIfAbsent.
@@ -47,6 +56,41 @@ public class IdempotencyService {
         }
     }
 
+    /**
+     * Batch variant of isFirstProcessing. Sends one SET NX per key in a single
+     * pipelined round trip and returns, per key position, whether this call set
+     * the key. A key repeated within the list is only "first" once.
+     */
+    public List<Boolean> isFirstProcessing(List<String> keys) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        try {
+            Expiration expiration = Expiration.from(DEFAULT_TTL);
+            List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (String key : keys) {
+                    connection.stringCommands().set(key.getBytes(StandardCharsets.UTF_8), PROCESSED, expiration,
+                            RedisStringCommands.SetOption.ifAbsent());
+                }
+                return null;
+            });
+
+            List<Boolean> firsts = new ArrayList<>(keys.size());
+            for (int i = 0; i < keys.size(); i++) {
+                boolean isFirst = Boolean.TRUE.equals(results.get(i));
+                if (!isFirst) {
+                    log.warn("Duplicate event detected for key: {}", keys.get(i));
+                }
+                firsts.add(isFirst);
+            }
+            return firsts;
+        } catch (Exception e) {
+            log.error("Redis batch idempotency check failed for {} keys. Proceeding with caution.", keys.size(), e);
+            // Fail open, same as the single-key check
+            return new ArrayList<>(Collections.nCopies(keys.size(), Boolean.TRUE));
+        }
+    }
+
     /**
      * Generate idempotency key for order paid events.
      */
@@ -65,4 +109,20 @@ public class IdempotencyService {
             log.error("Failed to remove idempotency key: {}", key, e);
         }
     }
+
+    /**
+     * Remove several idempotency keys with one DEL, e.g. so failed batch records
+     * can be reprocessed from the retry topic.
+     */
+    public void removeKeys(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        try {
+            redisTemplate.delete(keys);
+            log.debug("Removed {} idempotency keys", keys.size());
+        } catch (Exception e) {
+            log.error("Failed to remove idempotency keys: {}", keys, e);
+        }
+    }
 }
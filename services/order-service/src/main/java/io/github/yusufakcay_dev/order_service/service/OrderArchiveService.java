@@ -0,0 +1,153 @@
+package io.github.yusufakcay_dev.order_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.yusufakcay_dev.order_service.dto.OrderItemResponse;
+import io.github.yusufakcay_dev.order_service.dto.OrderResponse;
+import io.github.yusufakcay_dev.order_service.entity.Order;
+import io.github.yusufakcay_dev.order_service.entity.OrderStatus;
+import io.github.yusufakcay_dev.order_service.repository.OrderArchiveRepository;
+import io.github.yusufakcay_dev.order_service.repository.OrderArchiveRepository.ArchiveRow;
+import io.github.yusufakcay_dev.order_service.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Moves closed orders out of the hot orders/order_items tables into the
+ * partitioned orders_archive table.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderArchiveService {
+
+    static final List<String> CLOSED_STATUSES = List.of(
+            OrderStatus.PAID.name(), OrderStatus.FAILED.name(), OrderStatus.CANCELLED.name());
+
+    private final OrderRepository orderRepository;
+    private final OrderArchiveRepository orderArchiveRepository;
+    private final ObjectMapper objectMapper;
+
+    /** Archived form of an order, stored gzip-compressed in orders_archive.payload. */
+    record ArchivedOrder(UUID id, Long userId, BigDecimal amount, String status, String paymentId,
+            String customerEmail, LocalDateTime createdAt, LocalDateTime updatedAt, List<ArchivedItem> items) {
+    }
+
+    record ArchivedItem(String sku, Integer quantity) {
+    }
+
+    /**
+     * Creates the archive partitions that orders archivable at the cutoff can
+     * land in, from the oldest such order's month through the cutoff's. Call
+     * before the batches and outside any transaction, see
+     * OrderArchiveRepository.ensurePartition.
+     */
+    public void preparePartitions(LocalDateTime cutoff) {
+        LocalDateTime oldest = orderRepository.findOldestCreatedAt(
+                CLOSED_STATUSES.stream().map(OrderStatus::valueOf).toList(), cutoff);
+        if (oldest == null) {
+            return;
+        }
+        for (YearMonth month = YearMonth.from(oldest); !month.isAfter(YearMonth.from(cutoff));
+                month = month.plusMonths(1)) {
+            orderArchiveRepository.ensurePartition(month);
+        }
+    }
+
+    /**
+     * Archives one batch of closed orders created before the cutoff: copies
+     * them to orders_archive and deletes them from the hot tables in the same
+     * transaction. Expects preparePartitions to have run for the cutoff.
+     *
+     * @return number of orders archived; less than limit means nothing is left
+     */
+    @Transactional
+    public int archiveBatch(LocalDateTime cutoff, int limit) {
+        List<UUID> ids = orderRepository.lockArchivableIds(CLOSED_STATUSES, cutoff, limit);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        List<Order> orders = orderRepository.findWithItemsByIdIn(ids);
+        List<ArchiveRow> rows = orders.stream().map(this::toArchiveRow).toList();
+
+        orderArchiveRepository.insertBatch(rows);
+
+        orderRepository.deleteItemsByOrderIdIn(ids);
+        orderRepository.deleteByIdIn(ids);
+
+        log.info("Archived {} orders created before {}", ids.size(), cutoff);
+        return ids.size();
+    }
+
+    /**
+     * An archived order in the shape GET /api/orders/{id} returns. Order
+     * history does not include archived orders.
+     */
+    public Optional<OrderResponse> findArchived(UUID id) {
+        return orderArchiveRepository.findPayloadById(id).map(this::decompress).map(archived ->
+                OrderResponse.builder()
+                        .id(archived.id())
+                        .userId(archived.userId())
+                        .amount(archived.amount())
+                        .status(OrderStatus.valueOf(archived.status()))
+                        .customerEmail(archived.customerEmail())
+                        .items(archived.items().stream()
+                                .map(item -> OrderItemResponse.builder()
+                                        .sku(item.sku())
+                                        .quantity(item.quantity())
+                                        .build())
+                                .toList())
+                        .createdAt(archived.createdAt())
+                        .build());
+    }
+
+    private ArchiveRow toArchiveRow(Order order) {
+        ArchivedOrder archived = new ArchivedOrder(
+                order.getId(),
+                order.getUserId(),
+                order.getAmount(),
+                order.getStatus().name(),
+                order.getPaymentId(),
+                order.getCustomerEmail(),
+                order.getCreatedAt(),
+                order.getUpdatedAt(),
+                order.getItems().stream()
+                        .map(item -> new ArchivedItem(item.getSku(), item.getQuantity()))
+                        .toList());
+
+        return new ArchiveRow(order.getId(), order.getUserId(), order.getStatus().name(), order.getAmount(),
+                order.getCreatedAt(), compress(archived));
+    }
+
+    private byte[] compress(ArchivedOrder archived) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(gzip, archived);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialize order for archive: " + archived.id(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private ArchivedOrder decompress(byte[] payload) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+            return objectMapper.readValue(gzip, ArchivedOrder.class);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read archived order", e);
+        }
+    }
+}
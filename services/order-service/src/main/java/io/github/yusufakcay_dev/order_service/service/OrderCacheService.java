@@ -0,0 +1,156 @@
+package io.github.yusufakcay_dev.order_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.yusufakcay_dev.order_service.dto.OrderResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Redis read-through cache for OrderResponse, used by GET /api/orders/{id}
+ * which clients poll while waiting for PAID/FAILED.
+ *
+ * Entries live for a short TTL and are overwritten on every status change
+ * (write-through after commit), so pollers see transitions immediately.
+ * Loaded values are only written if the key is still absent: a load that
+ * read the database before a commit and finishes after that commit's
+ * write-through must not replace the fresher value. Concurrent misses for
+ * the same order on this instance share a single loader call. Redis errors
+ * fall through to the database.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderCacheService {
+
+    private static final String KEY_PREFIX = "order:response:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${order.cache.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    private final ConcurrentMap<UUID, CompletableFuture<OrderResponse>> inFlightLoads = new ConcurrentHashMap<>();
+
+    private Counter hitCounter;
+    private Counter missCounter;
+    private Counter coalescedCounter;
+
+    @PostConstruct
+    void registerMetrics() {
+        hitCounter = Counter.builder("order.cache.requests").tag("result", "hit")
+                .description("Order cache lookups").register(meterRegistry);
+        missCounter = Counter.builder("order.cache.requests").tag("result", "miss")
+                .description("Order cache lookups").register(meterRegistry);
+        coalescedCounter = Counter.builder("order.cache.loads.coalesced")
+                .description("Cache misses served by another request's in-flight load")
+                .register(meterRegistry);
+        Gauge.builder("order.cache.hit.ratio", this, OrderCacheService::hitRatio)
+                .description("Order cache hit ratio since startup")
+                .register(meterRegistry);
+    }
+
+    public OrderResponse get(UUID orderId, Supplier<OrderResponse> loader) {
+        OrderResponse cached = read(orderId);
+        if (cached != null) {
+            hitCounter.increment();
+            return cached;
+        }
+        missCounter.increment();
+
+        CompletableFuture<OrderResponse> load = new CompletableFuture<>();
+        CompletableFuture<OrderResponse> inFlight = inFlightLoads.putIfAbsent(orderId, load);
+        if (inFlight != null) {
+            coalescedCounter.increment();
+            return await(inFlight);
+        }
+
+        try {
+            OrderResponse loaded = loader.get();
+            write(loaded, true);
+            load.complete(loaded);
+            return loaded;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightLoads.remove(orderId, load);
+        }
+    }
+
+    /**
+     * Write-through for a changed order. Inside a transaction the write is
+     * deferred until commit so a rollback never leaves a phantom status cached.
+     */
+    public void put(OrderResponse response) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    write(response, false);
+                }
+            });
+        } else {
+            write(response, false);
+        }
+    }
+
+    private OrderResponse read(UUID orderId) {
+        try {
+            String json = redisTemplate.opsForValue().get(KEY_PREFIX + orderId);
+            return json != null ? objectMapper.readValue(json, OrderResponse.class) : null;
+        } catch (Exception e) {
+            log.error("Order cache read failed for order: {}. Falling back to database.", orderId, e);
+            return null;
+        }
+    }
+
+    private void write(OrderResponse response, boolean onlyIfAbsent) {
+        try {
+            String key = KEY_PREFIX + response.getId();
+            String json = objectMapper.writeValueAsString(response);
+            if (onlyIfAbsent) {
+                redisTemplate.opsForValue().setIfAbsent(key, json, Duration.ofSeconds(ttlSeconds));
+            } else {
+                redisTemplate.opsForValue().set(key, json, Duration.ofSeconds(ttlSeconds));
+            }
+        } catch (Exception e) {
+            log.error("Order cache write failed for order: {}", response.getId(), e);
+        }
+    }
+
+    private OrderResponse await(CompletableFuture<OrderResponse> inFlight) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private double hitRatio() {
+        double hits = hitCounter.count();
+        double total = hits + missCounter.count();
+        return total == 0 ? 0.0 : hits / total;
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.yusufakcay_dev.order_service.service;
+
+import io.github.yusufakcay_dev.order_service.dto.OrderSummaryResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset cursor for the order history listing: the (createdAt, id) of
+ * the last order on the previous page, base64url encoded.
+ */
+record OrderHistoryCursor(LocalDateTime createdAt, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    static OrderHistoryCursor after(OrderSummaryResponse last) {
+        return new OrderHistoryCursor(last.getCreatedAt(), last.getId());
+    }
+
+    String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static OrderHistoryCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new OrderHistoryCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package io.github.yusufakcay_dev.order_service.service;
+
+import io.github.yusufakcay_dev.order_service.dto.DailyOrderSummaryResponse;
+import io.github.yusufakcay_dev.order_service.dto.OrderSummaryResponse;
+import io.github.yusufakcay_dev.order_service.entity.OrderStatus;
+import io.github.yusufakcay_dev.order_service.event.OrderLifecycleEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Denormalized order views in Redis, built from order-events by
+ * OrderReadModelProjector so history and reporting reads stay off order_db.
+ *
+ * Keys:
+ * - order-rm:order:{userId}:{id} hash with userId, status, amount, createdAt
+ * - order-rm:user:{userId}       sorted set of the user's orders
+ * - order-rm:day:{date}          sorted set of the orders created that day
+ *
+ * User sorted set members are "{createdAt micros}:{id}" with score 0, so lex
+ * order equals the (created_at, id) order of the SQL history query and the
+ * same keyset cursors work against both. Day members append ":{userId}" so
+ * the order hash can be located from the day index.
+ *
+ * Events carry the full order state and are applied by a script that never
+ * moves an order from a final status back to PENDING, so replays and
+ * out-of-order delivery are harmless. The script only touches the order hash
+ * and the user set, which share the {userId} hash tag and therefore one
+ * Redis Cluster slot; the day set lives in another slot and is updated by a
+ * plain ZADD next to it, which is idempotent on its own.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderReadModelService {
+
+    private static final String ORDER_KEY = "order-rm:order:{%d}:%s";
+    private static final String USER_KEY = "order-rm:user:{%d}";
+    private static final String DAY_KEY = "order-rm:day:";
+
+    private static final byte[] APPLY_SCRIPT = """
+            local current = redis.call('HGET', KEYS[1], 'rank')
+            if current and tonumber(current) > tonumber(ARGV[6]) then
+                return 0
+            end
+            redis.call('HSET', KEYS[1], 'userId', ARGV[2], 'status', ARGV[3], 'amount', ARGV[4],
+                'createdAt', ARGV[5], 'rank', ARGV[6])
+            redis.call('ZADD', KEYS[2], 0, ARGV[1])
+            return 1
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * Applies a batch of events in one pipelined round trip.
+     *
+     * @return number of events that changed the model (stale ones are skipped)
+     */
+    public int apply(List<OrderLifecycleEvent> events) {
+        if (events.isEmpty()) {
+            return 0;
+        }
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (OrderLifecycleEvent event : events) {
+                String member = member(event.getCreatedAt(), event.getOrderId());
+                connection.scriptingCommands().eval(APPLY_SCRIPT, ReturnType.INTEGER, 2,
+                        bytes(orderKey(event.getUserId(), event.getOrderId())),
+                        bytes(USER_KEY.formatted(event.getUserId())),
+                        bytes(member),
+                        bytes(String.valueOf(event.getUserId())),
+                        bytes(event.getStatus()),
+                        bytes(event.getAmount().toPlainString()),
+                        bytes(event.getCreatedAt().toString()),
+                        bytes(String.valueOf(rank(event.getStatus()))));
+                connection.zSetCommands().zAdd(bytes(DAY_KEY + event.getCreatedAt().toLocalDate()), 0,
+                        bytes(dayMember(event.getCreatedAt(), event.getOrderId(), event.getUserId())));
+            }
+            return null;
+        });
+        // Results alternate between the script's return value and the day ZADD
+        int applied = 0;
+        for (int i = 0; i < results.size(); i += 2) {
+            if (Long.valueOf(1L).equals(results.get(i))) {
+                applied++;
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Newest-first history page of up to limit orders, starting strictly
+     * after the cursor position when one is given.
+     */
+    List<OrderSummaryResponse> findHistory(Long userId, OrderHistoryCursor after, int limit) {
+        Range<String> range = after == null
+                ? Range.unbounded()
+                : Range.leftUnbounded(Range.Bound.exclusive(member(after.createdAt(), after.id())));
+        Set<String> members = redisTemplate.opsForZSet()
+                .reverseRangeByLex(USER_KEY.formatted(userId), range, Limit.limit().count(limit));
+        if (members == null || members.isEmpty()) {
+            return List.of();
+        }
+
+        List<UUID> ids = members.stream().map(OrderReadModelService::idOf).toList();
+        List<String> keys = ids.stream().map(id -> orderKey(userId, id)).toList();
+        List<Object> views = readViews(keys, "status", "amount", "createdAt");
+
+        List<OrderSummaryResponse> orders = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            List<?> view = (List<?>) views.get(i);
+            if (view.get(0) == null) {
+                continue;
+            }
+            orders.add(OrderSummaryResponse.builder()
+                    .id(ids.get(i))
+                    .status(OrderStatus.valueOf((String) view.get(0)))
+                    .amount(new BigDecimal((String) view.get(1)))
+                    .createdAt(LocalDateTime.parse((String) view.get(2)))
+                    .build());
+        }
+        return orders;
+    }
+
+    DailyOrderSummaryResponse getDailySummary(LocalDate date) {
+        Set<String> members = redisTemplate.opsForZSet().range(DAY_KEY + date, 0, -1);
+        List<String> keys = members == null ? List.of() : members.stream().map(OrderReadModelService::orderKeyOf).toList();
+        List<Object> views = keys.isEmpty() ? List.of() : readViews(keys, "status", "amount");
+
+        Map<OrderStatus, Long> byStatus = new EnumMap<>(OrderStatus.class);
+        BigDecimal paidAmount = BigDecimal.ZERO;
+        long total = 0;
+        for (Object result : views) {
+            List<?> view = (List<?>) result;
+            if (view.get(0) == null) {
+                continue;
+            }
+            OrderStatus status = OrderStatus.valueOf((String) view.get(0));
+            byStatus.merge(status, 1L, Long::sum);
+            if (status == OrderStatus.PAID) {
+                paidAmount = paidAmount.add(new BigDecimal((String) view.get(1)));
+            }
+            total++;
+        }
+
+        return DailyOrderSummaryResponse.builder()
+                .date(date)
+                .totalOrders(total)
+                .ordersByStatus(byStatus)
+                .paidAmount(paidAmount)
+                .build();
+    }
+
+    private List<Object> readViews(List<String> keys, String... fields) {
+        byte[][] fieldBytes = new byte[fields.length][];
+        for (int i = 0; i < fields.length; i++) {
+            fieldBytes[i] = bytes(fields[i]);
+        }
+        return redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String key : keys) {
+                connection.hashCommands().hMGet(bytes(key), fieldBytes);
+            }
+            return null;
+        });
+    }
+
+    static String member(LocalDateTime createdAt, UUID id) {
+        long micros = createdAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + createdAt.getNano() / 1_000;
+        return String.format("%020d:%s", micros, id);
+    }
+
+    static String dayMember(LocalDateTime createdAt, UUID id, Long userId) {
+        return member(createdAt, id) + ":" + userId;
+    }
+
+    private static String orderKey(Long userId, UUID id) {
+        return ORDER_KEY.formatted(userId, id);
+    }
+
+    private static UUID idOf(String member) {
+        return UUID.fromString(member.substring(member.indexOf(':') + 1));
+    }
+
+    /** Order hash key for a day member "{micros}:{id}:{userId}". */
+    private static String orderKeyOf(String dayMember) {
+        int idStart = dayMember.indexOf(':') + 1;
+        int idEnd = dayMember.indexOf(':', idStart);
+        return orderKey(Long.valueOf(dayMember.substring(idEnd + 1)),
+                UUID.fromString(dayMember.substring(idStart, idEnd)));
+    }
+
+    private static int rank(String status) {
+        return OrderStatus.PENDING.name().equals(status) ? 0 : 1;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
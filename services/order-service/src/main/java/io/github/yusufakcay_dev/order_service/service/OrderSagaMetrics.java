@@ -0,0 +1,73 @@
+package io.github.yusufakcay_dev.order_service.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Latency of the order saga and of each step in it.
+ *
+ * order.saga{saga, outcome} times a whole createOrder or payment-result run;
+ * order.saga.step{step, outcome} times one remote call or local write within
+ * it (one sample per reserved item, per confirmed SKU, ...). Both publish
+ * histograms, so with the OpenTelemetry agent attached Prometheus receives
+ * trace-id exemplars that Grafana links to Tempo.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderSagaMetrics {
+
+    public static final String CREATE_ORDER = "create-order";
+    public static final String PAYMENT_RESULT = "payment-result";
+
+    private final MeterRegistry meterRegistry;
+
+    public <T> T saga(String saga, Supplier<T> body) {
+        return record("order.saga", "saga", saga, body);
+    }
+
+    public void saga(String saga, Runnable body) {
+        saga(saga, () -> {
+            body.run();
+            return null;
+        });
+    }
+
+    public <T> T step(String step, Supplier<T> body) {
+        return record("order.saga.step", "step", step, body);
+    }
+
+    public void step(String step, Runnable body) {
+        record("order.saga.step", "step", step, () -> {
+            body.run();
+            return null;
+        });
+    }
+
+    private <T> T record(String name, String tagKey, String tagValue, Supplier<T> body) {
+        long start = System.nanoTime();
+        String outcome = "failure";
+        try {
+            T result = body.get();
+            outcome = "success";
+            return result;
+        } finally {
+            timer(name, tagKey, tagValue, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(String name, String tagKey, String tagValue, String outcome) {
+        return Timer.builder(name)
+                .tag(tagKey, tagValue)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(meterRegistry);
+    }
+}
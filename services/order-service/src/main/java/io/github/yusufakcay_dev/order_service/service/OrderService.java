@@ -6,18 +6,33 @@ import io.github.yusufakcay_dev.order_service.dto.*;
 import io.github.yusufakcay_dev.order_service.entity.Order;
 import io.github.yusufakcay_dev.order_service.entity.OrderItem;
 import io.github.yusufakcay_dev.order_service.entity.OrderStatus;
+import io.github.yusufakcay_dev.order_service.event.OrderLifecycleEvent;
 import io.github.yusufakcay_dev.order_service.event.OrderNotificationEvent;
 import io.github.yusufakcay_dev.order_service.event.PaymentResultEvent;
 import io.github.yusufakcay_dev.order_service.repository.OrderRepository;
+import io.github.yusufakcay_dev.order_service.service.PaymentLinkService.PaymentLinkRequested;
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -28,20 +43,58 @@ public class OrderService {
     private final OrderRepository orderRepository;
     private final PaymentServiceClient paymentServiceClient;
     private final InventoryServiceClient inventoryServiceClient;
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final OutboxService outboxService;
+    private final OrderCacheService orderCacheService;
+    private final OrderReadModelService orderReadModelService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockAvailabilityService stockAvailabilityService;
+    private final OrderSagaMetrics sagaMetrics;
+    private final OrderArchiveService orderArchiveService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${order.read-model.serve-history:false}")
+    private boolean historyFromReadModel;
+
+    @Value("${order.read-model.enabled:false}")
+    private boolean readModelEnabled;
+
+    @Value("${order.payment-link.async:false}")
+    private boolean asyncPaymentLink;
 
     private static final String ORDER_NOTIFICATION_TOPIC = "order-notifications";
+    private static final String ORDER_EVENTS_TOPIC = "order-events";
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+
+    @PostConstruct
+    void checkHistorySource() {
+        // Without the projector nothing fills the read model, so serving from it
+        // would return empty history pages
+        if (historyFromReadModel && !readModelEnabled) {
+            log.warn("order.read-model.serve-history is set but order.read-model.enabled is not; "
+                    + "serving order history from order_db");
+            historyFromReadModel = false;
+        }
+    }
 
-    @Transactional
     public OrderResponse createOrder(CreateOrderRequest request) {
-        log.info("Creating order for user: {}", request.getUserId());
+        return sagaMetrics.saga(OrderSagaMetrics.CREATE_ORDER, () -> {
+            log.info("Creating order for user: {}", request.getUserId());
+
+            // 0. Reject orders the stock snapshot already shows cannot be filled,
+            // before the transaction takes a connection
+            sagaMetrics.step("precheck", () -> stockAvailabilityService.precheck(request.getItems()));
+
+            return transactionTemplate.execute(status -> doCreateOrder(request));
+        });
+    }
 
+    private OrderResponse doCreateOrder(CreateOrderRequest request) {
         // 1. Reserve inventory for all items
         List<OrderItemRequest> reservedItems = new ArrayList<>();
         try {
             for (OrderItemRequest item : request.getItems()) {
                 log.info("Reserving {} units for SKU: {}", item.getQuantity(), item.getSku());
-                inventoryServiceClient.reserve(item.getSku(), item.getQuantity());
+                sagaMetrics.step("reserve", () -> inventoryServiceClient.reserve(item.getSku(), item.getQuantity()));
                 reservedItems.add(item);
             }
         } catch (Exception e) {
@@ -68,9 +121,27 @@ public class OrderService {
             order.addItem(orderItem);
         }
 
-        order = orderRepository.save(order);
+        // Flushed here so the step covers the INSERTs rather than just the persist
+        Order draft = order;
+        order = sagaMetrics.step("order-insert", () -> {
+            Order saved = orderRepository.save(draft);
+            orderRepository.flush();
+            return saved;
+        });
         log.info("Order created with ID: {}", order.getId());
 
+        if (asyncPaymentLink) {
+            // Cached before the event is published: after-commit callbacks run in registration
+            // order, so the PENDING write lands before PaymentLinkService can cache the link
+            OrderResponse response = mapToResponse(order);
+            orderCacheService.put(response);
+            // PaymentLinkService creates the link after commit; clients poll for paymentUrl
+            eventPublisher.publishEvent(
+                    new PaymentLinkRequested(order.getId(), request.getAmount(), request.getCustomerEmail()));
+            enqueueLifecycleEvent(order);
+            return response;
+        }
+
         // 3. Call Payment Service to generate Stripe link (Sync via Feign)
         PaymentRequest paymentRequest = PaymentRequest.builder()
                 .orderId(order.getId())
@@ -80,7 +151,8 @@ public class OrderService {
                 .build();
 
         try {
-            PaymentResponse paymentResponse = paymentServiceClient.createPaymentLink(paymentRequest);
+            PaymentResponse paymentResponse = sagaMetrics.step("payment-link",
+                    () -> paymentServiceClient.createPaymentLink(paymentRequest));
             log.info("Payment link created: {}", paymentResponse.getPaymentUrl());
 
             // 4. Update order with payment info
@@ -88,7 +160,12 @@ public class OrderService {
             order.setPaymentUrl(paymentResponse.getPaymentUrl());
             order = orderRepository.save(order);
 
-            return mapToResponse(order);
+            enqueueLifecycleEvent(order);
+
+            OrderResponse response = mapToResponse(order);
+            // Warm the cache: clients start polling this order right away
+            orderCacheService.put(response);
+            return response;
 
         } catch (Exception e) {
             log.error("Failed to create payment link for order: {}", order.getId(), e);
@@ -103,17 +180,62 @@ public class OrderService {
     public OrderResponse getOrder(UUID orderId) {
         log.info("Fetching order: {}", orderId);
 
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new RuntimeException("Order not found: " + orderId));
+        return orderCacheService.get(orderId, () -> orderRepository.findWithItemsById(orderId)
+                .map(this::mapToResponse)
+                // Closed orders move to the archive after order.archive.after-days
+                .or(() -> orderArchiveService.findArchived(orderId))
+                .orElseThrow(() -> new RuntimeException("Order not found: " + orderId)));
+    }
+
+    /**
+     * Keyset-paginated order history for a user, newest first. The cursor is
+     * the opaque position returned as nextCursor by the previous page.
+     */
+    public OrderHistoryResponse getOrderHistory(Long userId, String cursor, int size) {
+        if (size < 1 || size > MAX_HISTORY_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_HISTORY_PAGE_SIZE);
+        }
 
-        return mapToResponse(order);
+        // Fetch one extra row to know whether another page exists
+        Limit limit = Limit.of(size + 1);
+        OrderHistoryCursor position = cursor == null || cursor.isBlank() ? null : OrderHistoryCursor.decode(cursor);
+        List<OrderSummaryResponse> orders;
+        if (historyFromReadModel) {
+            orders = orderReadModelService.findHistory(userId, position, limit.max());
+        } else if (position == null) {
+            orders = orderRepository.findHistoryFirstPage(userId, limit);
+        } else {
+            orders = orderRepository.findHistoryAfter(userId, position.createdAt(), position.id(), limit);
+        }
+
+        boolean hasMore = orders.size() > size;
+        if (hasMore) {
+            orders = orders.subList(0, size);
+        }
+
+        return OrderHistoryResponse.builder()
+                .orders(orders)
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? OrderHistoryCursor.after(orders.get(orders.size() - 1)).encode() : null)
+                .build();
+    }
+
+    /**
+     * Per-day order counts and paid revenue, served from the read model.
+     */
+    public DailyOrderSummaryResponse getDailySummary(LocalDate date) {
+        return orderReadModelService.getDailySummary(date);
     }
 
     @Transactional
     public void handlePaymentResult(PaymentResultEvent event) {
+        sagaMetrics.saga(OrderSagaMetrics.PAYMENT_RESULT, () -> doHandlePaymentResult(event));
+    }
+
+    private void doHandlePaymentResult(PaymentResultEvent event) {
         log.info("Handling payment result for order: {}, status: {}", event.getOrderId(), event.getStatus());
 
-        Order order = orderRepository.findById(event.getOrderId())
+        Order order = orderRepository.findWithItemsById(event.getOrderId())
                 .orElseThrow(() -> new RuntimeException("Order not found: " + event.getOrderId()));
 
         if (order.getStatus() != OrderStatus.PENDING) {
@@ -129,7 +251,7 @@ public class OrderService {
             // Confirm inventory reservation (decrease actual stock, release reserve)
             for (OrderItem item : order.getItems()) {
                 try {
-                    inventoryServiceClient.confirm(item.getSku(), item.getQuantity());
+                    sagaMetrics.step("confirm", () -> inventoryServiceClient.confirm(item.getSku(), item.getQuantity()));
                     log.info("Confirmed {} units for SKU: {}", item.getQuantity(), item.getSku());
                 } catch (Exception e) {
                     log.error("Failed to confirm inventory for SKU: {}. Manual intervention required.", item.getSku(),
@@ -143,7 +265,7 @@ public class OrderService {
             // Release reserved inventory
             for (OrderItem item : order.getItems()) {
                 try {
-                    inventoryServiceClient.release(item.getSku(), item.getQuantity());
+                    sagaMetrics.step("release", () -> inventoryServiceClient.release(item.getSku(), item.getQuantity()));
                     log.info("Released {} units for SKU: {}", item.getQuantity(), item.getSku());
                 } catch (Exception e) {
                     log.error("Failed to release inventory for SKU: {}. Manual intervention required.", item.getSku(),
@@ -153,8 +275,181 @@ public class OrderService {
         }
 
         orderRepository.save(order);
+        orderCacheService.put(mapToResponse(order));
+
+        // Written to the outbox in this transaction; OutboxRelay publishes it after commit
+        sagaMetrics.step("notification-enqueue", () -> {
+            enqueueNotification(order, event);
+            enqueueLifecycleEvent(order);
+        });
+        log.info("Notification event enqueued for order: {}", order.getId());
+    }
+
+    /**
+     * Batch variant of handlePaymentResult used by the batch listener.
+     * Loads all orders (with items) in one query, applies the status changes,
+     * enqueues the notifications and flushes the updates as one JDBC batch.
+     * Inventory is not touched here: the confirm/release quantities are summed
+     * per SKU and returned so the caller can settle them after commit.
+     */
+    @Transactional
+    public PaymentBatchResult applyPaymentResults(List<PaymentResultEvent> events) {
+        Set<UUID> orderIds = events.stream().map(PaymentResultEvent::getOrderId).collect(Collectors.toSet());
+        Map<UUID, Order> ordersById = orderRepository.findWithItemsByIdIn(orderIds).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+
+        PaymentBatchResult result = new PaymentBatchResult();
+        List<Order> updatedOrders = new ArrayList<>();
+
+        for (PaymentResultEvent event : events) {
+            Order order = ordersById.get(event.getOrderId());
+            if (order == null) {
+                log.warn("Order not found for payment result: {}", event.getOrderId());
+                result.getMissing().add(event);
+                continue;
+            }
+
+            if (order.getStatus() != OrderStatus.PENDING) {
+                log.warn("Order {} is not in PENDING status, skipping update", order.getId());
+                continue;
+            }
+
+            boolean paid = "SUCCESS".equals(event.getStatus());
+            order.setStatus(paid ? OrderStatus.PAID : OrderStatus.FAILED);
+            Map<String, Integer> target = paid ? result.getConfirmBySku() : result.getReleaseBySku();
+            for (OrderItem item : order.getItems()) {
+                target.merge(item.getSku(), item.getQuantity(), Integer::sum);
+            }
+
+            updatedOrders.add(order);
+            enqueueNotification(order, event);
+            enqueueLifecycleEvent(order);
+            orderCacheService.put(mapToResponse(order));
+        }
+
+        orderRepository.saveAll(updatedOrders);
+        log.info("Applied {} payment results ({} orders updated, {} missing)",
+                events.size(), updatedOrders.size(), result.getMissing().size());
+        return result;
+    }
+
+    /**
+     * Cancels PENDING orders created before the cutoff that never received a
+     * payment result, e.g. because createPaymentLink timed out after the order
+     * was saved. Up to limit orders are locked SKIP LOCKED, so replicas sweep
+     * disjoint batches. The reserved quantities are summed per SKU and returned
+     * for the caller to release after commit.
+     */
+    @Transactional
+    public ExpiredOrders expirePendingOrders(LocalDateTime cutoff, int limit) {
+        ExpiredOrders result = new ExpiredOrders();
+        List<UUID> ids = orderRepository.lockExpiredPendingIds(cutoff, limit);
+        if (ids.isEmpty()) {
+            return result;
+        }
+
+        List<Order> orders = orderRepository.findWithItemsByIdIn(ids);
+        for (Order order : orders) {
+            order.setStatus(OrderStatus.CANCELLED);
+            for (OrderItem item : order.getItems()) {
+                result.getReleaseBySku().merge(item.getSku(), item.getQuantity(), Integer::sum);
+            }
+            result.getOrderIds().add(order.getId());
+            enqueueLifecycleEvent(order);
+            orderCacheService.put(mapToResponse(order));
+        }
+
+        orderRepository.saveAll(orders);
+        log.info("Expired {} PENDING orders created before {}", orders.size(), cutoff);
+        return result;
+    }
+
+    /**
+     * Attaches an asynchronously created payment link to a PENDING order.
+     * Runs in its own transaction because it may be called from another
+     * transaction's after-commit callback.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void attachPaymentLink(UUID orderId, PaymentResponse paymentResponse) {
+        Optional<Order> pending = findPending(orderId);
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Order order = pending.get();
+        order.setPaymentId(paymentResponse.getPaymentId());
+        order.setPaymentUrl(paymentResponse.getPaymentUrl());
+        orderRepository.save(order);
+        enqueueLifecycleEvent(order);
+        orderCacheService.put(mapToResponse(order));
+    }
+
+    /**
+     * Marks a PENDING order FAILED after its payment link could not be
+     * created. Returns the reserved quantities per SKU for the caller to
+     * release after commit.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Map<String, Integer> failPaymentLink(UUID orderId) {
+        Map<String, Integer> releaseBySku = new LinkedHashMap<>();
+        Optional<Order> pending = findPending(orderId);
+        if (pending.isEmpty()) {
+            return releaseBySku;
+        }
+
+        Order order = pending.get();
+        order.setStatus(OrderStatus.FAILED);
+        for (OrderItem item : order.getItems()) {
+            releaseBySku.merge(item.getSku(), item.getQuantity(), Integer::sum);
+        }
+        orderRepository.save(order);
+        enqueueLifecycleEvent(order);
+        orderCacheService.put(mapToResponse(order));
+        log.info("Order {} marked as FAILED: payment link could not be created", orderId);
+        return releaseBySku;
+    }
+
+    /**
+     * Sends one confirm/release call per SKU for a committed payment batch.
+     */
+    public void settleInventory(PaymentBatchResult result) {
+        result.getConfirmBySku().forEach((sku, quantity) -> {
+            try {
+                sagaMetrics.step("confirm", () -> inventoryServiceClient.confirm(sku, quantity));
+                log.info("Confirmed {} units for SKU: {}", quantity, sku);
+            } catch (Exception e) {
+                log.error("Failed to confirm inventory for SKU: {}. Manual intervention required.", sku, e);
+            }
+        });
+        releaseInventory(result.getReleaseBySku());
+    }
 
-        // Publish notification event for Notification Service
+    /**
+     * Sends one release call per SKU.
+     */
+    public void releaseInventory(Map<String, Integer> releaseBySku) {
+        releaseBySku.forEach((sku, quantity) -> {
+            try {
+                sagaMetrics.step("release", () -> inventoryServiceClient.release(sku, quantity));
+                log.info("Released {} units for SKU: {}", quantity, sku);
+            } catch (Exception e) {
+                log.error("Failed to release inventory for SKU: {}. Manual intervention required.", sku, e);
+            }
+        });
+    }
+
+    private Optional<Order> findPending(UUID orderId) {
+        Optional<Order> order = orderRepository.findWithItemsById(orderId);
+        if (order.isEmpty()) {
+            log.warn("Order {} not found for payment link", orderId);
+        } else if (order.get().getStatus() != OrderStatus.PENDING) {
+            log.warn("Order {} is not in PENDING status, skipping payment link update", orderId);
+            return Optional.empty();
+        }
+        return order;
+    }
+
+    private void enqueueNotification(Order order, PaymentResultEvent event) {
         OrderNotificationEvent notificationEvent = OrderNotificationEvent.builder()
                 .orderId(order.getId())
                 .customerEmail(order.getCustomerEmail())
@@ -165,14 +460,27 @@ public class OrderService {
                         : "Your payment failed. Please try again. Reason: " + event.getFailureReason())
                 .build();
 
-        kafkaTemplate.send(ORDER_NOTIFICATION_TOPIC, order.getId().toString(), notificationEvent);
-        log.info("Notification event published for order: {}", order.getId());
+        outboxService.enqueue(ORDER_NOTIFICATION_TOPIC, order.getId().toString(), notificationEvent);
+    }
+
+    private void enqueueLifecycleEvent(Order order) {
+        OrderLifecycleEvent lifecycleEvent = OrderLifecycleEvent.builder()
+                .orderId(order.getId())
+                .userId(order.getUserId())
+                .status(order.getStatus().name())
+                .amount(order.getAmount())
+                .paymentUrl(order.getPaymentUrl())
+                .createdAt(order.getCreatedAt())
+                .occurredAt(LocalDateTime.now())
+                .build();
+
+        outboxService.enqueue(ORDER_EVENTS_TOPIC, order.getId().toString(), lifecycleEvent);
     }
 
     private void releaseReservedItems(List<OrderItemRequest> items) {
         for (OrderItemRequest item : items) {
             try {
-                inventoryServiceClient.release(item.getSku(), item.getQuantity());
+                sagaMetrics.step("release", () -> inventoryServiceClient.release(item.getSku(), item.getQuantity()));
                 log.info("Released {} units for SKU: {} during rollback", item.getQuantity(), item.getSku());
             } catch (Exception e) {
                 log.error("Failed to release inventory for SKU: {} during rollback", item.getSku(), e);
@@ -200,4 +508,25 @@ public class OrderService {
                 .createdAt(order.getCreatedAt())
                 .build();
     }
+
+    /**
+     * Outcome of applyPaymentResults: inventory quantities to settle per SKU
+     * and the events whose order could not be found.
+     */
+    @Getter
+    public static class PaymentBatchResult {
+        private final Map<String, Integer> confirmBySku = new LinkedHashMap<>();
+        private final Map<String, Integer> releaseBySku = new LinkedHashMap<>();
+        private final List<PaymentResultEvent> missing = new ArrayList<>();
+    }
+
+    /**
+     * Outcome of expirePendingOrders: the cancelled orders and the reserved
+     * quantities to release per SKU.
+     */
+    @Getter
+    public static class ExpiredOrders {
+        private final List<UUID> orderIds = new ArrayList<>();
+        private final Map<String, Integer> releaseBySku = new LinkedHashMap<>();
+    }
 }
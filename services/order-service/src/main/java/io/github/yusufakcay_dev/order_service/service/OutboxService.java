@@ -0,0 +1,50 @@
+package io.github.yusufakcay_dev.order_service.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.yusufakcay_dev.order_service.entity.OutboxEvent;
+import io.github.yusufakcay_dev.order_service.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records integration events in the outbox table instead of sending them to
+ * Kafka directly. Must be called inside the transaction that changes the
+ * order, so the event is stored if and only if that change commits.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private static final String ORDER_AGGREGATE = "Order";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public OutboxEvent enqueue(String topic, String aggregateId, Object event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize outbox event for aggregate: " + aggregateId, e);
+        }
+
+        OutboxEvent outboxEvent = OutboxEvent.builder()
+                .aggregateType(ORDER_AGGREGATE)
+                .aggregateId(aggregateId)
+                .eventType(event.getClass().getSimpleName())
+                .topic(topic)
+                .messageKey(aggregateId)
+                .payload(payload)
+                .build();
+
+        outboxEvent = outboxEventRepository.save(outboxEvent);
+        log.debug("Enqueued {} for aggregate {} on topic {}", outboxEvent.getEventType(), aggregateId, topic);
+        return outboxEvent;
+    }
+}
@@ -0,0 +1,149 @@
+package io.github.yusufakcay_dev.order_service.service;
+
+import io.github.yusufakcay_dev.order_service.client.PaymentServiceClient;
+import io.github.yusufakcay_dev.order_service.dto.PaymentRequest;
+import io.github.yusufakcay_dev.order_service.dto.PaymentResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates Stripe checkout links off the checkout path when
+ * order.payment-link.async is enabled.
+ *
+ * createOrder commits the PENDING order and publishes a PaymentLinkRequested
+ * event; after commit the link is created on a bounded worker pool and
+ * attached to the order, which refreshes the cached OrderResponse and emits
+ * an order-events snapshot carrying the paymentUrl. Clients pick the link up
+ * by polling GET /api/orders/{id}. If the link cannot be created the order is
+ * marked FAILED and its inventory released. A crash between commit and
+ * attach leaves a PENDING order without a link, which the expiry sweep
+ * cancels.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "order.payment-link.async", havingValue = "true")
+public class PaymentLinkService {
+
+    private final PaymentServiceClient paymentServiceClient;
+    private final OrderService orderService;
+    private final OrderSagaMetrics sagaMetrics;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${order.payment-link.threads:8}")
+    private int threads;
+
+    @Value("${order.payment-link.queue-capacity:500}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+
+    private Timer successTimer;
+    private Timer failureTimer;
+    private Counter rejectedCounter;
+
+    /**
+     * Published by createOrder inside its transaction; handled after commit.
+     */
+    public record PaymentLinkRequested(UUID orderId, BigDecimal amount, String customerEmail) {
+    }
+
+    @PostConstruct
+    void start() {
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("payment-link-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        registerMetrics();
+    }
+
+    void registerMetrics() {
+        successTimer = Timer.builder("payment.link.async").tag("result", "success")
+                .description("Time from order commit until the payment link is attached or the order failed")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        failureTimer = Timer.builder("payment.link.async").tag("result", "failure")
+                .description("Time from order commit until the payment link is attached or the order failed")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        rejectedCounter = Counter.builder("payment.link.async.rejected")
+                .description("Link requests run on the committing thread because the worker queue was full")
+                .register(meterRegistry);
+        if (executor != null) {
+            Gauge.builder("payment.link.async.queue", executor, e -> e.getQueue().size())
+                    .description("Payment link requests waiting for a worker")
+                    .register(meterRegistry);
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Payment link workers did not finish, {} requests left to the expiry sweep",
+                    executor.shutdownNow().size());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderCommitted(PaymentLinkRequested request) {
+        long startNanos = System.nanoTime();
+        try {
+            executor.execute(() -> createLink(request, startNanos));
+        } catch (RejectedExecutionException e) {
+            // Saturated: fall back to creating the link on the request thread
+            rejectedCounter.increment();
+            createLink(request, startNanos);
+        }
+    }
+
+    void createLink(PaymentLinkRequested request, long startNanos) {
+        UUID orderId = request.orderId();
+        try {
+            PaymentRequest paymentRequest = PaymentRequest.builder()
+                    .orderId(orderId)
+                    .amount(request.amount())
+                    .customerEmail(request.customerEmail())
+                    .currency("USD")
+                    .build();
+            PaymentResponse paymentResponse = sagaMetrics.step("payment-link",
+                    () -> paymentServiceClient.createPaymentLink(paymentRequest));
+            log.info("Payment link created for order {}: {}", orderId, paymentResponse.getPaymentUrl());
+            orderService.attachPaymentLink(orderId, paymentResponse);
+            successTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        } catch (Exception e) {
+            log.error("Failed to create payment link for order: {}", orderId, e);
+            failOrder(orderId);
+            failureTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void failOrder(UUID orderId) {
+        try {
+            Map<String, Integer> releaseBySku = orderService.failPaymentLink(orderId);
+            // Committed: release the reservations, one call per SKU
+            orderService.releaseInventory(releaseBySku);
+        } catch (Exception e) {
+            log.error("Could not mark order {} FAILED, leaving it to the expiry sweep", orderId, e);
+        }
+    }
+}
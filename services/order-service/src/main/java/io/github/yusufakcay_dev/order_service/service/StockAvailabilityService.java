@@ -0,0 +1,255 @@
+package io.github.yusufakcay_dev.order_service.service;
+
+import io.github.yusufakcay_dev.order_service.client.HedgedInventoryReader;
+import io.github.yusufakcay_dev.order_service.dto.InventoryResponse;
+import io.github.yusufakcay_dev.order_service.dto.OrderItemRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Cheap stock pre-check run before createOrder reserves anything.
+ *
+ * During a sell-out most orders reserve a few items, fail on a sold-out one
+ * and release the rest, which is all lock traffic in inventory-service for
+ * nothing. This keeps a per-instance snapshot of sold-out SKUs, fed by
+ * product-stock-status events, and rejects orders for them before any
+ * reservation. By default that is all it does, so the check costs no remote
+ * call at all.
+ *
+ * With remote-reads on, SKUs without a fresh entry are also read from
+ * inventory-service, all in parallel and bounded by remote-read-timeout-ms
+ * in total; reads that fail, time out or find the pool busy let the order
+ * through. Reads that finish late still update the snapshot.
+ *
+ * The snapshot only ever rejects: reservations remain the source of truth, so
+ * a stale "available" entry costs nothing but the usual failed reservation.
+ * Sold-out entries from events stay until the SKU's in-stock event, or at
+ * most sold-out-ttl-ms after they were received, which bounds how long a
+ * restock can go unseen if its event is lost. Entries from remote reads are
+ * trusted for ttl-ms.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockAvailabilityService {
+
+    private final HedgedInventoryReader hedgedInventoryReader;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${order.stock-precheck.enabled:true}")
+    private boolean enabled;
+
+    @Value("${order.stock-precheck.remote-reads:false}")
+    private boolean remoteReads;
+
+    @Value("${order.stock-precheck.remote-read-timeout-ms:150}")
+    private long remoteReadTimeoutMs;
+
+    @Value("${order.stock-precheck.remote-read-threads:16}")
+    private int remoteReadThreads;
+
+    @Value("${order.stock-precheck.ttl-ms:2000}")
+    private long ttlMs;
+
+    @Value("${order.stock-precheck.sold-out-ttl-ms:300000}")
+    private long soldOutTtlMs;
+
+    private final ConcurrentMap<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private ThreadPoolExecutor remoteReadExecutor;
+
+    private Counter passedCounter;
+    private Counter rejectedCounter;
+    private Counter avoidedReservationsCounter;
+    private Counter snapshotHitCounter;
+    private Counter remoteReadCounter;
+
+    /**
+     * @param observedAtMillis when the stock level was observed, by the
+     *                         clock of whoever observed it; orders events
+     * @param expiresAtMillis  local time after which the entry is ignored
+     */
+    private record Snapshot(int available, long observedAtMillis, long expiresAtMillis) {
+    }
+
+    @PostConstruct
+    void start() {
+        if (remoteReads) {
+            // No queue: with every thread busy the SKU is simply not pre-checked
+            remoteReadExecutor = new ThreadPoolExecutor(remoteReadThreads, remoteReadThreads, 60L, TimeUnit.SECONDS,
+                    new SynchronousQueue<>(), new CustomizableThreadFactory("stock-precheck-"));
+            remoteReadExecutor.allowCoreThreadTimeOut(true);
+        }
+        registerMetrics();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (remoteReadExecutor != null) {
+            remoteReadExecutor.shutdownNow();
+        }
+    }
+
+    void registerMetrics() {
+        passedCounter = Counter.builder("order.stock.precheck").tag("result", "passed")
+                .description("Orders checked against the stock snapshot before reserving")
+                .register(meterRegistry);
+        rejectedCounter = Counter.builder("order.stock.precheck").tag("result", "rejected")
+                .description("Orders checked against the stock snapshot before reserving")
+                .register(meterRegistry);
+        avoidedReservationsCounter = Counter.builder("order.stock.precheck.reservations.avoided")
+                .description("Reserve calls not made because the order was rejected by the pre-check")
+                .register(meterRegistry);
+        snapshotHitCounter = Counter.builder("order.stock.precheck.lookups").tag("source", "snapshot")
+                .description("Per-SKU availability lookups by source")
+                .register(meterRegistry);
+        remoteReadCounter = Counter.builder("order.stock.precheck.lookups").tag("source", "inventory-read")
+                .description("Per-SKU availability lookups by source")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Throws InsufficientStockException when the snapshot shows any item
+     * short of the requested quantity.
+     */
+    public void precheck(List<OrderItemRequest> items) {
+        if (!enabled) {
+            return;
+        }
+
+        Map<String, Integer> requestedBySku = new LinkedHashMap<>();
+        for (OrderItemRequest item : items) {
+            requestedBySku.merge(item.getSku(), item.getQuantity(), Integer::sum);
+        }
+
+        long now = System.currentTimeMillis();
+        Map<String, Integer> availableBySku = new HashMap<>();
+        List<String> unknownSkus = new ArrayList<>();
+        for (String sku : requestedBySku.keySet()) {
+            Snapshot snapshot = snapshots.get(sku);
+            if (snapshot != null && now < snapshot.expiresAtMillis()) {
+                snapshotHitCounter.increment();
+                availableBySku.put(sku, snapshot.available());
+            } else {
+                unknownSkus.add(sku);
+            }
+        }
+        if (remoteReadExecutor != null && !unknownSkus.isEmpty()) {
+            availableBySku.putAll(readAvailable(unknownSkus));
+        }
+
+        List<String> shortSkus = new ArrayList<>();
+        requestedBySku.forEach((sku, quantity) -> {
+            Integer available = availableBySku.get(sku);
+            if (available != null && available < quantity) {
+                shortSkus.add(sku);
+            }
+        });
+
+        if (shortSkus.isEmpty()) {
+            passedCounter.increment();
+            return;
+        }
+
+        rejectedCounter.increment();
+        avoidedReservationsCounter.increment(items.size());
+        log.info("Rejecting order before reservation, insufficient stock for SKUs: {}", shortSkus);
+        throw new InsufficientStockException(shortSkus);
+    }
+
+    /**
+     * Applies a product-stock-status event observed at the given time. The
+     * sold-out expiry counts from receipt, so consumer lag or producer clock
+     * skew cannot make an entry stale on arrival.
+     */
+    public void onStockStatus(String sku, boolean inStock, long observedAtMillis) {
+        if (inStock) {
+            snapshots.remove(sku);
+        } else {
+            long expiresAt = System.currentTimeMillis() + soldOutTtlMs;
+            snapshots.merge(sku, new Snapshot(0, observedAtMillis, expiresAt),
+                    (current, update) -> update.observedAtMillis() >= current.observedAtMillis() ? update : current);
+        }
+    }
+
+    /**
+     * Reads the SKUs from inventory-service in parallel, waiting at most
+     * remote-read-timeout-ms for all of them together. SKUs without an answer
+     * by then are left out.
+     */
+    private Map<String, Integer> readAvailable(List<String> skus) {
+        Map<String, CompletableFuture<Integer>> reads = new LinkedHashMap<>();
+        for (String sku : skus) {
+            try {
+                reads.put(sku, CompletableFuture.supplyAsync(() -> read(sku), remoteReadExecutor));
+                remoteReadCounter.increment();
+            } catch (RejectedExecutionException e) {
+                log.debug("Stock pre-check pool busy, skipping SKU: {}", sku);
+            }
+        }
+
+        Map<String, Integer> available = new HashMap<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(remoteReadTimeoutMs);
+        for (Map.Entry<String, CompletableFuture<Integer>> read : reads.entrySet()) {
+            try {
+                Integer quantity = read.getValue().get(Math.max(0, deadline - System.nanoTime()),
+                        TimeUnit.NANOSECONDS);
+                if (quantity != null) {
+                    available.put(read.getKey(), quantity);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException | TimeoutException e) {
+                log.warn("Stock pre-check read failed for SKU: {}, letting the reservation decide: {}",
+                        read.getKey(), e.getCause() != null ? e.getCause().getMessage() : "timed out");
+            }
+        }
+        return available;
+    }
+
+    private Integer read(String sku) {
+        InventoryResponse inventory = hedgedInventoryReader.getInventory(sku);
+        if (inventory == null || inventory.getAvailableQuantity() == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        snapshots.put(sku, new Snapshot(inventory.getAvailableQuantity(), now, now + ttlMs));
+        return inventory.getAvailableQuantity();
+    }
+
+    /**
+     * The order asks for more than the stock snapshot shows for some SKUs.
+     */
+    @Getter
+    public static class InsufficientStockException extends RuntimeException {
+        private final List<String> skus;
+
+        public InsufficientStockException(List<String> skus) {
+            super("Insufficient stock for SKUs: " + String.join(", ", skus));
+            this.skus = skus;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package io.github.yusufakcay_dev.order_service.client;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the AIMD concurrency limiter.
+ */
+@DisplayName("AimdConcurrencyLimiter Unit Tests")
+class AimdConcurrencyLimiterTest {
+
+        private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+        private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(900);
+
+        @Test
+        @DisplayName("Should reject sheddable calls at the limit but always admit other calls")
+        void tryAcquire_ShedsOnlySheddableCalls() {
+                AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter("inventory-service", 2, 1, 10, 0.5, 500);
+
+                assertThat(limiter.tryAcquire(true)).isTrue();
+                assertThat(limiter.tryAcquire(true)).isTrue();
+                assertThat(limiter.tryAcquire(true)).isFalse();
+                assertThat(limiter.tryAcquire(false)).isTrue();
+                assertThat(limiter.getInFlight()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Should grow additively on fast calls and back off multiplicatively on slow or failed calls")
+        void limit_AdditiveIncreaseMultiplicativeDecrease() {
+                AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter("inventory-service", 4, 1, 10, 0.5, 500);
+
+                // Limit in use: a fast completion grows it by one
+                for (int i = 0; i < 4; i++) {
+                        limiter.tryAcquire(true);
+                }
+                limiter.onSuccess(FAST);
+                assertThat(limiter.getLimit()).isEqualTo(5);
+
+                // 2 of 5 in flight: under-used, so no growth
+                limiter.onSuccess(FAST);
+                assertThat(limiter.getLimit()).isEqualTo(5);
+
+                // Slow call halves it, failure halves it again (down to the minimum)
+                limiter.onSuccess(SLOW);
+                assertThat(limiter.getLimit()).isEqualTo(2);
+                limiter.onFailure();
+                assertThat(limiter.getLimit()).isEqualTo(1);
+                assertThat(limiter.getInFlight()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should not grow while mostly idle and never leave its bounds")
+        void limit_Bounded() {
+                AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter("payment-service", 8, 2, 9, 0.1, 500);
+
+                limiter.tryAcquire(true);
+                limiter.onSuccess(FAST);
+                assertThat(limiter.getLimit()).isEqualTo(8);
+
+                limiter.tryAcquire(true);
+                limiter.onFailure();
+                assertThat(limiter.getLimit()).isEqualTo(2);
+        }
+}
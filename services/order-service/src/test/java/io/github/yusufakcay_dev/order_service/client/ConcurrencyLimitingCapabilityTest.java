@@ -0,0 +1,113 @@
+package io.github.yusufakcay_dev.order_service.client;
+
+import feign.Client;
+import feign.MethodMetadata;
+import feign.Request;
+import feign.RequestTemplate;
+import feign.Response;
+import feign.Target;
+import io.github.yusufakcay_dev.order_service.client.AimdConcurrencyLimiter.ConcurrencyLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for applying the concurrency limiter to Feign calls.
+ */
+@DisplayName("ConcurrencyLimitingCapability Unit Tests")
+class ConcurrencyLimitingCapabilityTest {
+
+        private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        private AimdConcurrencyLimiter limiter;
+        private Client delegate;
+        private Client client;
+
+        @BeforeEach
+        void setUp() {
+                limiter = new AimdConcurrencyLimiter("inventory-service", 1, 1, 10, 0.5, 500);
+                delegate = mock(Client.class);
+                client = new ConcurrencyLimitingCapability(Map.of("inventory-service", limiter), meterRegistry)
+                                .enrich(delegate);
+        }
+
+        private Request request(String methodName) {
+                MethodMetadata metadata = new SpringMvcContract().parseAndValidateMetadata(InventoryServiceClient.class)
+                                .stream()
+                                .filter(m -> m.method().getName().equals(methodName))
+                                .findFirst()
+                                .orElseThrow();
+                RequestTemplate template = new RequestTemplate();
+                template.feignTarget(new Target.HardCodedTarget<>(InventoryServiceClient.class, "inventory-service",
+                                "http://inventory-service"));
+                template.methodMetadata(metadata);
+                return Request.create(Request.HttpMethod.POST, "http://inventory-service/api/inventories/SKU/" + methodName,
+                                Map.of(), new byte[0], StandardCharsets.UTF_8, template);
+        }
+
+        private Response response(Request request, int status) {
+                return Response.builder().request(request).status(status).headers(Map.of()).build();
+        }
+
+        @Test
+        @DisplayName("Should reject a sheddable call over the limit and count the rejection")
+        void execute_RejectsSheddableOverLimit() throws Exception {
+                // Given: one call holds the only slot
+                limiter.tryAcquire(false);
+                Request reserve = request("reserve");
+
+                // When/Then
+                assertThatThrownBy(() -> client.execute(reserve, new Request.Options()))
+                                .isInstanceOf(ConcurrencyLimitExceededException.class);
+                verify(delegate, never()).execute(any(), any());
+                assertThat(meterRegistry.get("client.calls.rejected").tag("client", "inventory-service")
+                                .tag("reason", "limiter").counter().count()).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should always admit compensation calls and release the slot afterwards")
+        void execute_AdmitsCompensation() throws Exception {
+                // Given
+                limiter.tryAcquire(false);
+                Request release = request("release");
+                when(delegate.execute(any(), any())).thenReturn(response(release, 200));
+
+                // When
+                Response result = client.execute(release, new Request.Options());
+
+                // Then
+                assertThat(result.status()).isEqualTo(200);
+                assertThat(limiter.getInFlight()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should back off on server errors and I/O failures")
+        void execute_BacksOffOnFailure() throws Exception {
+                // Given
+                limiter = new AimdConcurrencyLimiter("inventory-service", 8, 1, 10, 0.5, 500);
+                client = new ConcurrencyLimitingCapability(Map.of("inventory-service", limiter), meterRegistry)
+                                .enrich(delegate);
+                Request reserve = request("reserve");
+                when(delegate.execute(any(), any()))
+                                .thenReturn(response(reserve, 503))
+                                .thenThrow(new IOException("connection reset"));
+
+                // When
+                client.execute(reserve, new Request.Options());
+                assertThatThrownBy(() -> client.execute(reserve, new Request.Options())).isInstanceOf(IOException.class);
+
+                // Then
+                assertThat(limiter.getLimit()).isEqualTo(2);
+                assertThat(limiter.getInFlight()).isZero();
+        }
+}
@@ -0,0 +1,126 @@
+package io.github.yusufakcay_dev.order_service.client;
+
+import io.github.yusufakcay_dev.order_service.dto.InventoryResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for hedged inventory reads.
+ */
+@DisplayName("HedgedInventoryReader Unit Tests")
+class HedgedInventoryReaderTest {
+
+        private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        private final CountDownLatch slowCallRelease = new CountDownLatch(1);
+        private InventoryServiceClient inventoryServiceClient;
+        private HedgedInventoryReader reader;
+
+        private final InventoryResponse stock = InventoryResponse.builder()
+                        .sku("TEST-SKU")
+                        .availableQuantity(10)
+                        .build();
+
+        @BeforeEach
+        void setUp() {
+                inventoryServiceClient = mock(InventoryServiceClient.class);
+                reader = new HedgedInventoryReader(inventoryServiceClient, meterRegistry);
+                ReflectionTestUtils.setField(reader, "threads", 4);
+                // Generous, so only the deliberately slow call below is ever hedged
+                ReflectionTestUtils.setField(reader, "initialDelayMs", 1000L);
+                ReflectionTestUtils.setField(reader, "minSamples", 100L);
+                ReflectionTestUtils.setField(reader, "maxExtraRatio", 0.1);
+                ReflectionTestUtils.setField(reader, "maxBudget", 1.0);
+                reader.start();
+        }
+
+        @AfterEach
+        void tearDown() {
+                slowCallRelease.countDown();
+                reader.stop();
+        }
+
+        private InventoryResponse slow() throws InterruptedException {
+                slowCallRelease.await(5, TimeUnit.SECONDS);
+                return stock;
+        }
+
+        private double extra(String reason) {
+                return meterRegistry.get("inventory.read.extra").tag("reason", reason).counter().count();
+        }
+
+        @Test
+        @DisplayName("Should not send an extra request when the first answers within the hedge delay")
+        void getInventory_FastRead() {
+                // Given
+                when(inventoryServiceClient.getInventory("TEST-SKU")).thenReturn(stock);
+
+                // When
+                InventoryResponse response = reader.getInventory("TEST-SKU");
+
+                // Then
+                assertThat(response).isSameAs(stock);
+                verify(inventoryServiceClient, times(1)).getInventory("TEST-SKU");
+                assertThat(extra("hedge")).isZero();
+        }
+
+        @Test
+        @DisplayName("Should hedge a slow read and return the first successful reply")
+        void getInventory_HedgesSlowRead() {
+                // Given: one call hangs, the other answers at once
+                ReflectionTestUtils.setField(reader, "initialDelayMs", 20L);
+                when(inventoryServiceClient.getInventory("TEST-SKU"))
+                                .thenAnswer(inv -> slow())
+                                .thenReturn(stock);
+
+                // When
+                InventoryResponse response = reader.getInventory("TEST-SKU");
+
+                // Then
+                assertThat(response).isSameAs(stock);
+                verify(inventoryServiceClient, times(2)).getInventory("TEST-SKU");
+                assertThat(extra("hedge")).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should retry a read that fails before the hedge delay")
+        void getInventory_RetriesFailedRead() {
+                // Given
+                when(inventoryServiceClient.getInventory("TEST-SKU"))
+                                .thenThrow(new RuntimeException("connection reset"))
+                                .thenReturn(stock);
+
+                // When
+                InventoryResponse response = reader.getInventory("TEST-SKU");
+
+                // Then
+                assertThat(response).isSameAs(stock);
+                assertThat(extra("retry")).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should stop sending extra requests once the budget is spent")
+        void getInventory_BudgetExhausted() {
+                // Given: the budget allows one extra request
+                when(inventoryServiceClient.getInventory("TEST-SKU"))
+                                .thenThrow(new RuntimeException("connection reset"));
+
+                // When/Then
+                assertThatThrownBy(() -> reader.getInventory("TEST-SKU")).hasMessage("connection reset");
+                assertThatThrownBy(() -> reader.getInventory("TEST-SKU")).hasMessage("connection reset");
+
+                verify(inventoryServiceClient, times(3)).getInventory("TEST-SKU");
+                assertThat(extra("retry")).isEqualTo(1.0);
+                assertThat(meterRegistry.get("inventory.read.budget.exhausted").counter().count()).isEqualTo(1.0);
+        }
+}
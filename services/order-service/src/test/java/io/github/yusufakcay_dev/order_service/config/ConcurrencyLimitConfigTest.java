@@ -0,0 +1,77 @@
+package io.github.yusufakcay_dev.order_service.config;
+
+import io.github.yusufakcay_dev.order_service.client.AimdConcurrencyLimiter;
+import io.github.yusufakcay_dev.order_service.client.ConcurrencyLimitingCapability;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for how the adaptive limits are sized against the bulkheads.
+ */
+@DisplayName("ConcurrencyLimitConfig Unit Tests")
+class ConcurrencyLimitConfigTest {
+
+        private ConcurrencyLimitConfig config;
+
+        @BeforeEach
+        void setUp() {
+                config = new ConcurrencyLimitConfig();
+                ReflectionTestUtils.setField(config, "inventoryInitialLimit", 20);
+                ReflectionTestUtils.setField(config, "inventoryMaxLimit", 100);
+                ReflectionTestUtils.setField(config, "inventoryBulkheadThreads", 20);
+                ReflectionTestUtils.setField(config, "inventoryLatencyThresholdMs", 500L);
+                ReflectionTestUtils.setField(config, "paymentInitialLimit", 5);
+                ReflectionTestUtils.setField(config, "paymentMaxLimit", 8);
+                ReflectionTestUtils.setField(config, "paymentBulkheadThreads", 10);
+                ReflectionTestUtils.setField(config, "paymentLatencyThresholdMs", 2000L);
+                ReflectionTestUtils.setField(config, "minLimit", 2);
+                ReflectionTestUtils.setField(config, "backoffRatio", 0.9);
+        }
+
+        @SuppressWarnings("unchecked")
+        private AimdConcurrencyLimiter limiter(ConcurrencyLimitingCapability capability, String client) {
+                return ((Map<String, AimdConcurrencyLimiter>) ReflectionTestUtils.getField(capability, "limiters"))
+                                .get(client);
+        }
+
+        private static int growToMax(AimdConcurrencyLimiter limiter) {
+                // Keep the limit fully used with fast calls so it grows as far as it can
+                for (int round = 0; round < 200; round++) {
+                        int limit = limiter.getLimit();
+                        for (int i = 0; i < limit; i++) {
+                                limiter.tryAcquire(false);
+                        }
+                        for (int i = 0; i < limit; i++) {
+                                limiter.onSuccess(0);
+                        }
+                }
+                return limiter.getLimit();
+        }
+
+        @Test
+        @DisplayName("Should cap the max limit at the bulkhead's thread count")
+        void maxLimitCappedAtBulkheadThreads() {
+                // When
+                ConcurrencyLimitingCapability capability = config.concurrencyLimitingCapability(new SimpleMeterRegistry());
+
+                // Then - inventory asks for 100 but only 20 calls can ever run on its bulkhead
+                assertThat(growToMax(limiter(capability, "inventory-service"))).isEqualTo(20);
+        }
+
+        @Test
+        @DisplayName("Should keep a configured max limit below the bulkhead's thread count")
+        void maxLimitBelowBulkheadThreadsKept() {
+                // When
+                ConcurrencyLimitingCapability capability = config.concurrencyLimitingCapability(new SimpleMeterRegistry());
+
+                // Then
+                assertThat(growToMax(limiter(capability, "payment-service"))).isEqualTo(8);
+        }
+}
@@ -0,0 +1,74 @@
+package io.github.yusufakcay_dev.order_service.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.DefaultSchemePortResolver;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.routing.DefaultRoutePlanner;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.HttpHost;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.openfeign.support.FeignHttpClientProperties;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the per-target Feign connection pool.
+ */
+@DisplayName("FeignHttpClientConfig Unit Tests")
+class FeignHttpClientConfigTest {
+
+        private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        private PoolingHttpClientConnectionManager connectionManager;
+
+        @BeforeEach
+        void setUp() {
+                FeignHttpClientConfig config = new FeignHttpClientConfig();
+                ReflectionTestUtils.setField(config, "inventoryServiceUrl", "http://inventory-service:8083");
+                ReflectionTestUtils.setField(config, "paymentServiceUrl", "http://payment-service");
+                ReflectionTestUtils.setField(config, "inventoryMaxConnections", 100);
+                ReflectionTestUtils.setField(config, "paymentMaxConnections", 20);
+                ReflectionTestUtils.setField(config, "validateAfterInactivityMs", 2000L);
+
+                FeignHttpClientProperties properties = new FeignHttpClientProperties();
+                properties.setMaxConnections(200);
+                properties.setMaxConnectionsPerRoute(50);
+                connectionManager = config.feignConnectionManager(properties);
+
+                config.feignConnectionPoolMetrics(connectionManager).bindTo(meterRegistry);
+        }
+
+        @AfterEach
+        void tearDown() {
+                connectionManager.close();
+        }
+
+        private HttpRoute plannedRoute(String url) throws Exception {
+                return new DefaultRoutePlanner(DefaultSchemePortResolver.INSTANCE)
+                                .determineRoute(HttpHost.create(url), HttpClientContext.create());
+        }
+
+        @Test
+        @DisplayName("Should apply per-target limits to the routes HttpClient actually uses")
+        void perTargetLimits() throws Exception {
+                assertThat(connectionManager.getMaxPerRoute(plannedRoute("http://inventory-service:8083")))
+                                .isEqualTo(100);
+                assertThat(connectionManager.getMaxPerRoute(plannedRoute("http://payment-service"))).isEqualTo(20);
+                assertThat(connectionManager.getMaxPerRoute(plannedRoute("http://other-service:9000"))).isEqualTo(50);
+                assertThat(connectionManager.getMaxTotal()).isEqualTo(200);
+        }
+
+        @Test
+        @DisplayName("Should export per-target pool gauges")
+        void perTargetMetrics() {
+                assertThat(meterRegistry.get("feign.pool.max").tag("target", "inventory-service").gauge().value())
+                                .isEqualTo(100.0);
+                assertThat(meterRegistry.get("feign.pool.connections").tag("target", "payment-service")
+                                .tag("state", "leased").gauge().value()).isZero();
+                assertThat(meterRegistry.find("httpcomponents.httpclient.pool.total.max").gauge()).isNotNull();
+        }
+}
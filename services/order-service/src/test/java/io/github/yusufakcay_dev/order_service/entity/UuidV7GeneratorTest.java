@@ -0,0 +1,47 @@
+package io.github.yusufakcay_dev.order_service.entity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the time-ordered UUIDv7 id generator.
+ */
+@DisplayName("UuidV7Generator Unit Tests")
+class UuidV7GeneratorTest {
+
+        @Test
+        @DisplayName("Should produce RFC 9562 version 7 UUIDs carrying the current time")
+        void next_IsVersion7() {
+                long before = System.currentTimeMillis();
+                UUID uuid = UuidV7Generator.next();
+                long after = System.currentTimeMillis();
+
+                assertThat(uuid.version()).isEqualTo(7);
+                assertThat(uuid.variant()).isEqualTo(2);
+                long timestamp = uuid.getMostSignificantBits() >>> 16;
+                assertThat(timestamp).isBetween(before, after + 1);
+        }
+
+        @Test
+        @DisplayName("Should generate unique, strictly increasing ids")
+        void next_IsMonotonic() {
+                List<UUID> ids = new ArrayList<>();
+                for (int i = 0; i < 10_000; i++) {
+                        ids.add(UuidV7Generator.next());
+                }
+
+                assertThat(new HashSet<>(ids)).hasSize(ids.size());
+                for (int i = 1; i < ids.size(); i++) {
+                        // Compare as unsigned time+counter prefix, the part an index sorts on first
+                        assertThat(Long.compareUnsigned(ids.get(i).getMostSignificantBits(),
+                                        ids.get(i - 1).getMostSignificantBits())).isPositive();
+                }
+        }
+}
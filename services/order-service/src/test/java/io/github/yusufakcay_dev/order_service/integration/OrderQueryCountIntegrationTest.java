@@ -0,0 +1,143 @@
+package io.github.yusufakcay_dev.order_service.integration;
+
+import io.github.yusufakcay_dev.order_service.AbstractIntegrationTest;
+import io.github.yusufakcay_dev.order_service.dto.OrderResponse;
+import io.github.yusufakcay_dev.order_service.entity.Order;
+import io.github.yusufakcay_dev.order_service.entity.OrderItem;
+import io.github.yusufakcay_dev.order_service.entity.OrderStatus;
+import io.github.yusufakcay_dev.order_service.event.PaymentResultEvent;
+import io.github.yusufakcay_dev.order_service.repository.OrderRepository;
+import io.github.yusufakcay_dev.order_service.service.OrderService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards against N+1 regressions on the order read paths by counting the
+ * JDBC statements Hibernate prepares per operation and recording the selects
+ * it issues.
+ */
+@DisplayName("Order Query Count Integration Tests")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@TestPropertySource(properties = {
+                "spring.jpa.properties.hibernate.generate_statistics=true",
+                "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                                + "io.github.yusufakcay_dev.order_service.integration.OrderQueryCountIntegrationTest$SelectRecorder"
+})
+class OrderQueryCountIntegrationTest extends AbstractIntegrationTest {
+
+        /**
+         * Records every select Hibernate prepares; mutations pass through.
+         */
+        public static class SelectRecorder implements StatementInspector {
+                static final List<String> SELECTS = new CopyOnWriteArrayList<>();
+
+                @Override
+                public String inspect(String sql) {
+                        if (sql.stripLeading().regionMatches(true, 0, "select", 0, 6)) {
+                                SELECTS.add(sql);
+                        }
+                        return sql;
+                }
+        }
+
+        @Autowired
+        private TestRestTemplate restTemplate;
+
+        @Autowired
+        private OrderService orderService;
+
+        @Autowired
+        private OrderRepository orderRepository;
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        private Statistics statistics;
+
+        @BeforeEach
+        void setUp() {
+                orderRepository.deleteAll();
+                statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        }
+
+        private Order createOrder(int itemCount) {
+                Order order = Order.builder()
+                                .userId(1L)
+                                .amount(new BigDecimal("100.00"))
+                                .status(OrderStatus.PENDING)
+                                .customerEmail("test@example.com")
+                                .build();
+                IntStream.range(0, itemCount).forEach(i -> order.addItem(OrderItem.builder()
+                                .sku("SKU-" + i)
+                                .quantity(1)
+                                .build()));
+                return orderRepository.save(order);
+        }
+
+        @Test
+        @DisplayName("GET /api/orders/{orderId} should load order and items in one query")
+        void getOrder_SingleQuery() {
+                // Given
+                Order order = createOrder(5);
+                statistics.clear();
+
+                // When
+                SelectRecorder.SELECTS.clear();
+                ResponseEntity<OrderResponse> response = restTemplate.getForEntity("/api/orders/" + order.getId(),
+                                OrderResponse.class);
+
+                // Then
+                assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+                assertThat(response.getBody().getItems()).hasSize(5);
+                assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+                assertThat(statistics.getCollectionFetchCount()).isZero();
+                assertThat(SelectRecorder.SELECTS).singleElement()
+                                .satisfies(sql -> assertThat(sql).containsIgnoringCase("join order_items"));
+        }
+
+        @Test
+        @DisplayName("Batch payment handling should not issue per-order queries")
+        void applyPaymentResults_ConstantQueryCount() {
+                // Given
+                List<Order> orders = IntStream.range(0, 20).mapToObj(i -> createOrder(3)).toList();
+                List<PaymentResultEvent> events = orders.stream()
+                                .map(order -> PaymentResultEvent.builder()
+                                                .orderId(order.getId())
+                                                .status("SUCCESS")
+                                                .build())
+                                .toList();
+                statistics.clear();
+                SelectRecorder.SELECTS.clear();
+
+                // When
+                orderService.applyPaymentResults(events);
+
+                // Then: one select with the items join, one batched orders update and one batched
+                // outbox insert (a notification and a lifecycle event per order)
+                assertThat(SelectRecorder.SELECTS).singleElement()
+                                .satisfies(sql -> assertThat(sql).containsIgnoringCase("join order_items"));
+                assertThat(statistics.getCollectionFetchCount()).isZero();
+                assertThat(statistics.getEntityUpdateCount()).isEqualTo(20);
+                assertThat(statistics.getEntityInsertCount()).isEqualTo(40);
+                assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+                assertThat(orderRepository.findAll()).allMatch(order -> order.getStatus() == OrderStatus.PAID);
+        }
+}
@@ -20,10 +20,12 @@ import org.springframework.test.context.DynamicPropertySource;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.awaitility.Awaitility.await;
 
 /**
@@ -326,4 +328,16 @@ class OrderServiceIntegrationTest extends AbstractIntegrationTest {
                 assertThat(persistedOrder.getStatus()).isEqualTo(OrderStatus.PENDING);
                 assertThat(persistedOrder.getCustomerEmail()).isEqualTo("fetch@example.com");
         }
+
+        @Test
+        @org.junit.jupiter.api.Order(6)
+        @DisplayName("Should report an unknown order as not found with archiving disabled")
+        void getOrder_UnknownIdWithArchivingDisabled() {
+                // Given: order.archive.enabled is off, so the archive scheduler never ran
+                UUID unknownId = UUID.randomUUID();
+
+                // When & Then: the archive fallback finds nothing instead of failing on a missing table
+                assertThatThrownBy(() -> orderService.getOrder(unknownId))
+                                .hasMessage("Order not found: " + unknownId);
+        }
 }
@@ -0,0 +1,132 @@
+package io.github.yusufakcay_dev.order_service.kafka;
+
+import io.github.yusufakcay_dev.order_service.entity.OutboxEvent;
+import io.github.yusufakcay_dev.order_service.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OutboxRelay batching and failure handling.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OutboxRelay Unit Tests")
+class OutboxRelayTest {
+
+        @Mock
+        private OutboxEventRepository outboxEventRepository;
+
+        @Mock
+        private KafkaTemplate<String, String> outboxKafkaTemplate;
+
+        private SimpleMeterRegistry meterRegistry;
+        private OutboxRelay outboxRelay;
+
+        @BeforeEach
+        void setUp() {
+                meterRegistry = new SimpleMeterRegistry();
+                outboxRelay = new OutboxRelay(outboxEventRepository, outboxKafkaTemplate, meterRegistry);
+                ReflectionTestUtils.setField(outboxRelay, "batchSize", 100);
+                ReflectionTestUtils.setField(outboxRelay, "sendTimeoutMs", 1000L);
+                outboxRelay.registerMetrics();
+        }
+
+        private OutboxEvent event(String key) {
+                return OutboxEvent.builder()
+                                .id(UUID.randomUUID())
+                                .aggregateType("Order")
+                                .aggregateId(key)
+                                .eventType("OrderNotificationEvent")
+                                .topic("order-notifications")
+                                .messageKey(key)
+                                .payload("{\"orderId\":\"" + key + "\"}")
+                                .createdAt(LocalDateTime.now())
+                                .build();
+        }
+
+        @Test
+        @DisplayName("Should publish whole batch and mark all events published")
+        @SuppressWarnings("unchecked")
+        void relay_PublishesBatch() {
+                // Given
+                OutboxEvent first = event("order-1");
+                OutboxEvent second = event("order-2");
+                when(outboxEventRepository.lockNextBatch(100)).thenReturn(List.of(first, second));
+                when(outboxKafkaTemplate.send(anyString(), anyString(), anyString()))
+                                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+                when(outboxEventRepository.findOldestPendingCreatedAt()).thenReturn(Optional.empty());
+
+                // When
+                outboxRelay.relay();
+
+                // Then
+                verify(outboxKafkaTemplate).send("order-notifications", "order-1", first.getPayload());
+                verify(outboxKafkaTemplate).send("order-notifications", "order-2", second.getPayload());
+
+                ArgumentCaptor<Collection<UUID>> ids = ArgumentCaptor.forClass(Collection.class);
+                verify(outboxEventRepository).markPublished(ids.capture(), any(LocalDateTime.class));
+                assertThat(ids.getValue()).containsExactly(first.getId(), second.getId());
+                assertThat(meterRegistry.counter("outbox.events.published").count()).isEqualTo(2.0);
+        }
+
+        @Test
+        @DisplayName("Should leave failed sends pending for the next run")
+        @SuppressWarnings("unchecked")
+        void relay_FailedSendStaysPending() {
+                // Given
+                OutboxEvent ok = event("order-ok");
+                OutboxEvent failing = event("order-fail");
+                when(outboxEventRepository.lockNextBatch(100)).thenReturn(List.of(ok, failing));
+                when(outboxKafkaTemplate.send(anyString(), eq("order-ok"), anyString()))
+                                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+                when(outboxKafkaTemplate.send(anyString(), eq("order-fail"), anyString()))
+                                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker down")));
+                when(outboxEventRepository.countByPublishedAtIsNull()).thenReturn(1L);
+                when(outboxEventRepository.findOldestPendingCreatedAt())
+                                .thenReturn(Optional.of(failing.getCreatedAt()));
+
+                // When
+                outboxRelay.relay();
+
+                // Then
+                ArgumentCaptor<Collection<UUID>> ids = ArgumentCaptor.forClass(Collection.class);
+                verify(outboxEventRepository).markPublished(ids.capture(), any(LocalDateTime.class));
+                assertThat(ids.getValue()).containsExactly(ok.getId());
+                assertThat(meterRegistry.counter("outbox.events.failed").count()).isEqualTo(1.0);
+                assertThat(meterRegistry.get("outbox.events.pending").gauge().value()).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should not touch Kafka when outbox is empty")
+        void relay_EmptyOutbox() {
+                // Given
+                when(outboxEventRepository.lockNextBatch(100)).thenReturn(List.of());
+                when(outboxEventRepository.findOldestPendingCreatedAt()).thenReturn(Optional.empty());
+
+                // When
+                outboxRelay.relay();
+
+                // Then
+                verifyNoInteractions(outboxKafkaTemplate);
+                verify(outboxEventRepository, never()).markPublished(any(), any());
+        }
+}
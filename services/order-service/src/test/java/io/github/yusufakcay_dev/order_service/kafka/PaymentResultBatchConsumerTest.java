@@ -0,0 +1,134 @@
+package io.github.yusufakcay_dev.order_service.kafka;
+
+import io.github.yusufakcay_dev.order_service.event.PaymentResultEvent;
+import io.github.yusufakcay_dev.order_service.service.IdempotencyService;
+import io.github.yusufakcay_dev.order_service.service.OrderService;
+import io.github.yusufakcay_dev.order_service.service.OrderService.PaymentBatchResult;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the batch payment-results listener.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PaymentResultBatchConsumer Unit Tests")
+class PaymentResultBatchConsumerTest {
+
+        @Mock
+        private OrderService orderService;
+
+        @Mock
+        private IdempotencyService idempotencyService;
+
+        @Mock
+        private DeadLetterPublishingRecoverer paymentResultRetryRecoverer;
+
+        @Mock
+        private KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+
+        @InjectMocks
+        private PaymentResultBatchConsumer consumer;
+
+        @BeforeEach
+        void setUp() {
+                lenient().when(idempotencyService.getOrderPaidKey(anyString()))
+                                .thenAnswer(inv -> "idempotency:order:paid:" + inv.getArgument(0));
+        }
+
+        private ConsumerRecord<String, PaymentResultEvent> record(long offset, UUID orderId) {
+                PaymentResultEvent event = PaymentResultEvent.builder()
+                                .orderId(orderId)
+                                .paymentId("pay_" + offset)
+                                .status("SUCCESS")
+                                .build();
+                return new ConsumerRecord<>("payment-results", 0, offset, orderId.toString(), event);
+        }
+
+        @Test
+        @DisplayName("Should apply only first-time events and settle inventory once")
+        void handlePaymentResults_SkipsDuplicates() {
+                // Given
+                ConsumerRecord<String, PaymentResultEvent> first = record(1, UUID.randomUUID());
+                ConsumerRecord<String, PaymentResultEvent> duplicate = record(2, UUID.randomUUID());
+                when(idempotencyService.isFirstProcessing(anyList())).thenReturn(List.of(true, false));
+                PaymentBatchResult result = new PaymentBatchResult();
+                when(orderService.applyPaymentResults(anyList())).thenReturn(result);
+
+                // When
+                consumer.handlePaymentResults(List.of(first, duplicate));
+
+                // Then
+                verify(orderService).applyPaymentResults(List.of(first.value()));
+                verify(orderService).settleInventory(result);
+                verifyNoInteractions(paymentResultRetryRecoverer);
+        }
+
+        @Test
+        @DisplayName("Should forward missing orders to retry topic and release their keys")
+        void handlePaymentResults_ForwardsMissingOrders() {
+                // Given
+                ConsumerRecord<String, PaymentResultEvent> found = record(1, UUID.randomUUID());
+                ConsumerRecord<String, PaymentResultEvent> missing = record(2, UUID.randomUUID());
+                when(idempotencyService.isFirstProcessing(anyList())).thenReturn(List.of(true, true));
+                PaymentBatchResult result = new PaymentBatchResult();
+                result.getMissing().add(missing.value());
+                when(orderService.applyPaymentResults(anyList())).thenReturn(result);
+
+                // When
+                consumer.handlePaymentResults(List.of(found, missing));
+
+                // Then
+                verify(idempotencyService).removeKeys(
+                                List.of("idempotency:order:paid:" + missing.value().getOrderId()));
+                verify(paymentResultRetryRecoverer).accept(eq(missing), any(Exception.class));
+                verify(paymentResultRetryRecoverer, never()).accept(eq(found), any(Exception.class));
+                verify(orderService).settleInventory(result);
+        }
+
+        @Test
+        @DisplayName("Should forward whole batch to retry topic when the batch transaction fails")
+        void handlePaymentResults_BatchFailure() {
+                // Given
+                ConsumerRecord<String, PaymentResultEvent> first = record(1, UUID.randomUUID());
+                ConsumerRecord<String, PaymentResultEvent> second = record(2, UUID.randomUUID());
+                when(idempotencyService.isFirstProcessing(anyList())).thenReturn(List.of(true, true));
+                when(orderService.applyPaymentResults(anyList())).thenThrow(new RuntimeException("db down"));
+
+                // When
+                consumer.handlePaymentResults(List.of(first, second));
+
+                // Then
+                verify(paymentResultRetryRecoverer).accept(eq(first), any(RuntimeException.class));
+                verify(paymentResultRetryRecoverer).accept(eq(second), any(RuntimeException.class));
+                verify(orderService, never()).settleInventory(any());
+        }
+
+        @Test
+        @DisplayName("Should send undeserializable records to DLT without processing")
+        void handlePaymentResults_PoisonRecord() {
+                // Given
+                ConsumerRecord<String, PaymentResultEvent> poison = new ConsumerRecord<>("payment-results", 0, 7L,
+                                "key", null);
+
+                // When
+                consumer.handlePaymentResults(List.of(poison));
+
+                // Then
+                verify(paymentResultRetryRecoverer).accept(eq(poison), any(Exception.class));
+                verify(orderService, never()).applyPaymentResults(anyList());
+        }
+}
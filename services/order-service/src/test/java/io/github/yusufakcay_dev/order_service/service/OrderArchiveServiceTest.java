@@ -0,0 +1,162 @@
+package io.github.yusufakcay_dev.order_service.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.github.yusufakcay_dev.order_service.dto.OrderResponse;
+import io.github.yusufakcay_dev.order_service.entity.Order;
+import io.github.yusufakcay_dev.order_service.entity.OrderItem;
+import io.github.yusufakcay_dev.order_service.entity.OrderStatus;
+import io.github.yusufakcay_dev.order_service.repository.OrderArchiveRepository;
+import io.github.yusufakcay_dev.order_service.repository.OrderArchiveRepository.ArchiveRow;
+import io.github.yusufakcay_dev.order_service.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for moving closed orders to the archive table.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderArchiveService Unit Tests")
+class OrderArchiveServiceTest {
+
+        @Mock
+        private OrderRepository orderRepository;
+
+        @Mock
+        private OrderArchiveRepository orderArchiveRepository;
+
+        private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        private OrderArchiveService orderArchiveService;
+
+        @BeforeEach
+        void setUp() {
+                orderArchiveService = new OrderArchiveService(orderRepository, orderArchiveRepository, objectMapper);
+        }
+
+        private Order order(LocalDateTime createdAt) {
+                Order order = Order.builder()
+                                .id(UUID.randomUUID())
+                                .userId(7L)
+                                .amount(new BigDecimal("30.00"))
+                                .status(OrderStatus.PAID)
+                                .paymentId("pay-" + createdAt.getMonthValue())
+                                .createdAt(createdAt)
+                                .build();
+                order.addItem(OrderItem.builder().sku("SKU-1").quantity(3).build());
+                return order;
+        }
+
+        @Test
+        @DisplayName("Should copy orders to monthly archive partitions and delete them from hot tables")
+        @SuppressWarnings("unchecked")
+        void archiveBatch_MovesOrders() throws Exception {
+                // Given
+                LocalDateTime cutoff = LocalDateTime.of(2026, 6, 1, 0, 0);
+                Order january = order(LocalDateTime.of(2026, 1, 15, 10, 0));
+                Order february = order(LocalDateTime.of(2026, 2, 3, 9, 0));
+                List<UUID> ids = List.of(january.getId(), february.getId());
+                when(orderRepository.lockArchivableIds(OrderArchiveService.CLOSED_STATUSES, cutoff, 100))
+                                .thenReturn(ids);
+                when(orderRepository.findWithItemsByIdIn(ids)).thenReturn(List.of(january, february));
+
+                // When
+                int archived = orderArchiveService.archiveBatch(cutoff, 100);
+
+                // Then
+                assertThat(archived).isEqualTo(2);
+                verify(orderArchiveRepository, never()).ensurePartition(any());
+
+                ArgumentCaptor<List<ArchiveRow>> rows = ArgumentCaptor.forClass(List.class);
+                verify(orderArchiveRepository).insertBatch(rows.capture());
+                assertThat(rows.getValue()).extracting(ArchiveRow::id).containsExactly(january.getId(),
+                                february.getId());
+
+                JsonNode payload = objectMapper.readTree(
+                                new GZIPInputStream(new ByteArrayInputStream(rows.getValue().get(0).payload())));
+                assertThat(payload.get("paymentId").asText()).isEqualTo("pay-1");
+                assertThat(payload.get("items").get(0).get("sku").asText()).isEqualTo("SKU-1");
+
+                verify(orderRepository).deleteItemsByOrderIdIn(ids);
+                verify(orderRepository).deleteByIdIn(ids);
+        }
+
+        @Test
+        @DisplayName("Should create every month partition from the oldest archivable order to the cutoff")
+        void preparePartitions_CoversOldestMonthThroughCutoff() {
+                // Given
+                LocalDateTime cutoff = LocalDateTime.of(2026, 3, 10, 0, 0);
+                when(orderRepository.findOldestCreatedAt(List.of(OrderStatus.PAID, OrderStatus.FAILED,
+                                OrderStatus.CANCELLED), cutoff)).thenReturn(LocalDateTime.of(2025, 12, 20, 8, 0));
+
+                // When
+                orderArchiveService.preparePartitions(cutoff);
+
+                // Then
+                verify(orderArchiveRepository).ensurePartition(YearMonth.of(2025, 12));
+                verify(orderArchiveRepository).ensurePartition(YearMonth.of(2026, 1));
+                verify(orderArchiveRepository).ensurePartition(YearMonth.of(2026, 2));
+                verify(orderArchiveRepository).ensurePartition(YearMonth.of(2026, 3));
+                verifyNoMoreInteractions(orderArchiveRepository);
+        }
+
+        @Test
+        @SuppressWarnings("unchecked")
+        @DisplayName("Should read an archived order back from its compressed payload")
+        void findArchived_RoundTripsPayload() {
+                // Given
+                LocalDateTime cutoff = LocalDateTime.of(2026, 6, 1, 0, 0);
+                Order january = order(LocalDateTime.of(2026, 1, 15, 10, 0));
+                when(orderRepository.lockArchivableIds(OrderArchiveService.CLOSED_STATUSES, cutoff, 100))
+                                .thenReturn(List.of(january.getId()));
+                when(orderRepository.findWithItemsByIdIn(List.of(january.getId()))).thenReturn(List.of(january));
+                orderArchiveService.archiveBatch(cutoff, 100);
+                ArgumentCaptor<List<ArchiveRow>> rows = ArgumentCaptor.forClass(List.class);
+                verify(orderArchiveRepository).insertBatch(rows.capture());
+                when(orderArchiveRepository.findPayloadById(january.getId()))
+                                .thenReturn(Optional.of(rows.getValue().get(0).payload()));
+
+                // When
+                OrderResponse response = orderArchiveService.findArchived(january.getId()).orElseThrow();
+
+                // Then
+                assertThat(response.getId()).isEqualTo(january.getId());
+                assertThat(response.getStatus()).isEqualTo(OrderStatus.PAID);
+                assertThat(response.getCreatedAt()).isEqualTo(january.getCreatedAt());
+                assertThat(response.getItems()).singleElement()
+                                .satisfies(item -> assertThat(item.getQuantity()).isEqualTo(3));
+        }
+
+        @Test
+        @DisplayName("Should do nothing when no closed orders are old enough")
+        void archiveBatch_NothingToArchive() {
+                // Given
+                when(orderRepository.lockArchivableIds(anyCollection(), any(), anyInt())).thenReturn(List.of());
+
+                // When
+                int archived = orderArchiveService.archiveBatch(LocalDateTime.now(), 100);
+
+                // Then
+                assertThat(archived).isZero();
+                verifyNoInteractions(orderArchiveRepository);
+                verify(orderRepository, never()).deleteByIdIn(any());
+        }
+}
@@ -0,0 +1,208 @@
+package io.github.yusufakcay_dev.order_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.github.yusufakcay_dev.order_service.dto.OrderResponse;
+import io.github.yusufakcay_dev.order_service.entity.OrderStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the read-through order cache.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderCacheService Unit Tests")
+class OrderCacheServiceTest {
+
+        @Mock
+        private StringRedisTemplate redisTemplate;
+
+        @Mock
+        private ValueOperations<String, String> valueOperations;
+
+        private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        private SimpleMeterRegistry meterRegistry;
+        private OrderCacheService orderCacheService;
+
+        @BeforeEach
+        void setUp() {
+                meterRegistry = new SimpleMeterRegistry();
+                orderCacheService = new OrderCacheService(redisTemplate, objectMapper, meterRegistry);
+                ReflectionTestUtils.setField(orderCacheService, "ttlSeconds", 30L);
+                orderCacheService.registerMetrics();
+                when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        }
+
+        private OrderResponse response(UUID id) {
+                return OrderResponse.builder()
+                                .id(id)
+                                .userId(1L)
+                                .status(OrderStatus.PAID)
+                                .amount(new BigDecimal("20.00"))
+                                .items(List.of())
+                                .build();
+        }
+
+        @Test
+        @DisplayName("Should serve cached response without calling the loader")
+        void get_Hit() throws Exception {
+                // Given
+                UUID id = UUID.randomUUID();
+                when(valueOperations.get("order:response:" + id))
+                                .thenReturn(objectMapper.writeValueAsString(response(id)));
+
+                // When
+                OrderResponse result = orderCacheService.get(id, () -> {
+                        throw new AssertionError("loader must not be called on a hit");
+                });
+
+                // Then
+                assertThat(result.getStatus()).isEqualTo(OrderStatus.PAID);
+                assertThat(meterRegistry.get("order.cache.hit.ratio").gauge().value()).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should load on miss and write the result with TTL")
+        void get_MissLoadsAndWrites() {
+                // Given
+                UUID id = UUID.randomUUID();
+
+                // When
+                OrderResponse result = orderCacheService.get(id, () -> response(id));
+
+                // Then
+                assertThat(result.getId()).isEqualTo(id);
+                verify(valueOperations).setIfAbsent(eq("order:response:" + id), anyString(),
+                                eq(Duration.ofSeconds(30)));
+                assertThat(meterRegistry.get("order.cache.requests").tag("result", "miss").counter().count())
+                                .isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should fall back to the loader when Redis is unavailable")
+        void get_RedisDown() {
+                // Given
+                UUID id = UUID.randomUUID();
+                when(valueOperations.get(anyString())).thenThrow(new RuntimeException("connection refused"));
+                when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                                .thenThrow(new RuntimeException("connection refused"));
+
+                // When
+                OrderResponse result = orderCacheService.get(id, () -> response(id));
+
+                // Then
+                assertThat(result.getId()).isEqualTo(id);
+        }
+
+        @Test
+        @DisplayName("Should coalesce concurrent misses for the same order into one load")
+        void get_SingleFlight() throws Exception {
+                // Given
+                UUID id = UUID.randomUUID();
+                int callers = 8;
+                AtomicInteger loads = new AtomicInteger();
+                CountDownLatch allMissed = new CountDownLatch(callers);
+                CountDownLatch release = new CountDownLatch(1);
+                when(valueOperations.get(anyString())).thenAnswer(inv -> {
+                        allMissed.countDown();
+                        return null;
+                });
+                ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+                // When
+                try {
+                        List<Future<OrderResponse>> futures = new ArrayList<>();
+                        for (int i = 0; i < callers; i++) {
+                                futures.add(executor.submit(() -> orderCacheService.get(id, () -> {
+                                        loads.incrementAndGet();
+                                        try {
+                                                release.await(5, TimeUnit.SECONDS);
+                                        } catch (InterruptedException e) {
+                                                Thread.currentThread().interrupt();
+                                        }
+                                        return response(id);
+                                })));
+                        }
+                        assertThat(allMissed.await(5, TimeUnit.SECONDS)).isTrue();
+                        // The load cannot finish before release, so every other caller ends up attached to it
+                        await().atMost(5, TimeUnit.SECONDS).until(() -> meterRegistry
+                                        .get("order.cache.loads.coalesced").counter().count() == callers - 1);
+                        release.countDown();
+
+                        // Then
+                        for (Future<OrderResponse> future : futures) {
+                                assertThat(future.get(5, TimeUnit.SECONDS).getId()).isEqualTo(id);
+                        }
+                } finally {
+                        executor.shutdownNow();
+                }
+                assertThat(loads.get()).isEqualTo(1);
+                assertThat(meterRegistry.get("order.cache.loads.coalesced").counter().count())
+                                .isEqualTo(callers - 1.0);
+        }
+
+        @Test
+        @DisplayName("Should not let a load that started before a write-through overwrite it")
+        void get_LoadDoesNotOverwriteNewerWrite() throws Exception {
+                // Given: Redis backed by a map
+                UUID id = UUID.randomUUID();
+                Map<String, String> redis = new ConcurrentHashMap<>();
+                when(valueOperations.get(anyString())).thenAnswer(inv -> redis.get(inv.<String>getArgument(0)));
+                doAnswer(inv -> redis.put(inv.getArgument(0), inv.getArgument(1)))
+                                .when(valueOperations).set(anyString(), anyString(), any(Duration.class));
+                when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                                .thenAnswer(inv -> redis.putIfAbsent(inv.getArgument(0), inv.getArgument(1)) == null);
+                OrderResponse stale = response(id);
+                stale.setStatus(OrderStatus.PENDING);
+
+                // When: the order is paid and written through while the load is still running
+                orderCacheService.get(id, () -> {
+                        orderCacheService.put(response(id));
+                        return stale;
+                });
+
+                // Then
+                assertThat(objectMapper.readValue(redis.get("order:response:" + id), OrderResponse.class).getStatus())
+                                .isEqualTo(OrderStatus.PAID);
+        }
+
+        @Test
+        @DisplayName("Should write through immediately outside a transaction")
+        void put_WritesThrough() {
+                // Given
+                UUID id = UUID.randomUUID();
+
+                // When
+                orderCacheService.put(response(id));
+
+                // Then
+                verify(valueOperations).set(eq("order:response:" + id), contains("PAID"), eq(Duration.ofSeconds(30)));
+        }
+}
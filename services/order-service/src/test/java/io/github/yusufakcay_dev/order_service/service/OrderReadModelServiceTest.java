@@ -0,0 +1,164 @@
+package io.github.yusufakcay_dev.order_service.service;
+
+import io.github.yusufakcay_dev.order_service.dto.DailyOrderSummaryResponse;
+import io.github.yusufakcay_dev.order_service.dto.OrderSummaryResponse;
+import io.github.yusufakcay_dev.order_service.entity.OrderStatus;
+import io.github.yusufakcay_dev.order_service.event.OrderLifecycleEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisScriptingCommands;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the Redis order read model queries.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderReadModelService Unit Tests")
+class OrderReadModelServiceTest {
+
+        @Mock
+        private StringRedisTemplate redisTemplate;
+
+        @Mock
+        private ZSetOperations<String, String> zSetOperations;
+
+        private OrderReadModelService orderReadModelService;
+
+        @BeforeEach
+        void setUp() {
+                orderReadModelService = new OrderReadModelService(redisTemplate);
+        }
+
+        @Test
+        @DisplayName("Should order members by creation time, then id, like the SQL history query")
+        void member_SortsLikeSql() {
+                LocalDateTime t = LocalDateTime.of(2026, 3, 1, 12, 0, 0, 500_000);
+                UUID low = UUID.fromString("00000000-0000-7000-8000-000000000001");
+                UUID high = UUID.fromString("ffffffff-0000-7000-8000-000000000001");
+
+                assertThat(OrderReadModelService.member(t, low)).isLessThan(OrderReadModelService.member(t, high));
+                assertThat(OrderReadModelService.member(t, high))
+                                .isLessThan(OrderReadModelService.member(t.plusNanos(1_000), low));
+                assertThat(OrderReadModelService.member(t.minusYears(10), high))
+                                .isLessThan(OrderReadModelService.member(t, low));
+        }
+
+        @Test
+        @DisplayName("Should keep the script's keys in the user's hash slot and index the day separately")
+        @SuppressWarnings("unchecked")
+        void apply_ScriptKeysShareUserHashTag() {
+                // Given
+                LocalDateTime createdAt = LocalDateTime.of(2026, 3, 1, 12, 0);
+                UUID id = UUID.randomUUID();
+                OrderLifecycleEvent event = OrderLifecycleEvent.builder()
+                                .orderId(id).userId(7L).status("PAID").amount(new BigDecimal("12.50"))
+                                .createdAt(createdAt).build();
+                RedisConnection connection = mock(RedisConnection.class);
+                RedisScriptingCommands scripting = mock(RedisScriptingCommands.class);
+                RedisZSetCommands zSets = mock(RedisZSetCommands.class);
+                when(connection.scriptingCommands()).thenReturn(scripting);
+                when(connection.zSetCommands()).thenReturn(zSets);
+                when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+                        invocation.<RedisCallback<Object>>getArgument(0).doInRedis(connection);
+                        return List.of(1L, true);
+                });
+
+                // When
+                int applied = orderReadModelService.apply(List.of(event));
+
+                // Then
+                assertThat(applied).isEqualTo(1);
+                ArgumentCaptor<byte[][]> args = ArgumentCaptor.forClass(byte[][].class);
+                verify(scripting).eval(any(byte[].class), eq(ReturnType.INTEGER), eq(2), args.capture());
+                assertThat(new String(args.getValue()[0], StandardCharsets.UTF_8))
+                                .isEqualTo("order-rm:order:{7}:" + id);
+                assertThat(new String(args.getValue()[1], StandardCharsets.UTF_8))
+                                .isEqualTo("order-rm:user:{7}");
+                verify(zSets).zAdd(aryEq("order-rm:day:2026-03-01".getBytes(StandardCharsets.UTF_8)), eq(0.0),
+                                aryEq(OrderReadModelService.dayMember(createdAt, id, 7L)
+                                                .getBytes(StandardCharsets.UTF_8)));
+        }
+
+        @Test
+        @DisplayName("Should read the page after the cursor and map the order views")
+        @SuppressWarnings("unchecked")
+        void findHistory_AfterCursor() {
+                // Given
+                LocalDateTime createdAt = LocalDateTime.of(2026, 3, 1, 12, 0);
+                UUID id = UUID.randomUUID();
+                OrderHistoryCursor cursor = new OrderHistoryCursor(createdAt.plusHours(1), UUID.randomUUID());
+                when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+                when(zSetOperations.reverseRangeByLex(eq("order-rm:user:{7}"), any(Range.class), any(Limit.class)))
+                                .thenReturn(new LinkedHashSet<>(List.of(OrderReadModelService.member(createdAt, id))));
+                when(redisTemplate.executePipelined(any(RedisCallback.class)))
+                                .thenReturn(List.of(List.of("PAID", "12.50", createdAt.toString())));
+
+                // When
+                List<OrderSummaryResponse> orders = orderReadModelService.findHistory(7L, cursor, 21);
+
+                // Then
+                assertThat(orders).singleElement().satisfies(order -> {
+                        assertThat(order.getId()).isEqualTo(id);
+                        assertThat(order.getStatus()).isEqualTo(OrderStatus.PAID);
+                        assertThat(order.getAmount()).isEqualByComparingTo("12.50");
+                        assertThat(order.getCreatedAt()).isEqualTo(createdAt);
+                });
+                verify(zSetOperations).reverseRangeByLex(eq("order-rm:user:{7}"),
+                                eq(Range.leftUnbounded(Range.Bound.exclusive(
+                                                OrderReadModelService.member(cursor.createdAt(), cursor.id())))),
+                                any(Limit.class));
+        }
+
+        @Test
+        @DisplayName("Should aggregate a day's orders by status and sum paid revenue")
+        @SuppressWarnings("unchecked")
+        void getDailySummary_Aggregates() {
+                // Given
+                LocalDate day = LocalDate.of(2026, 3, 1);
+                LocalDateTime t = day.atTime(9, 0);
+                when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+                when(zSetOperations.range("order-rm:day:2026-03-01", 0, -1)).thenReturn(new LinkedHashSet<>(List.of(
+                                OrderReadModelService.dayMember(t, UUID.randomUUID(), 7L),
+                                OrderReadModelService.dayMember(t.plusMinutes(1), UUID.randomUUID(), 8L),
+                                OrderReadModelService.dayMember(t.plusMinutes(2), UUID.randomUUID(), 7L))));
+                when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.of(
+                                List.of("PAID", "10.00"),
+                                List.of("PAID", "5.50"),
+                                List.of("FAILED", "99.00")));
+
+                // When
+                DailyOrderSummaryResponse summary = orderReadModelService.getDailySummary(day);
+
+                // Then
+                assertThat(summary.getTotalOrders()).isEqualTo(3);
+                assertThat(summary.getOrdersByStatus())
+                                .containsExactlyInAnyOrderEntriesOf(Map.of(OrderStatus.PAID, 2L, OrderStatus.FAILED, 1L));
+                assertThat(summary.getPaidAmount()).isEqualByComparingTo("15.50");
+        }
+}
@@ -6,21 +6,34 @@ import io.github.yusufakcay_dev.order_service.dto.*;
 import io.github.yusufakcay_dev.order_service.entity.Order;
 import io.github.yusufakcay_dev.order_service.entity.OrderItem;
 import io.github.yusufakcay_dev.order_service.entity.OrderStatus;
+import io.github.yusufakcay_dev.order_service.event.OrderLifecycleEvent;
 import io.github.yusufakcay_dev.order_service.event.PaymentResultEvent;
 import io.github.yusufakcay_dev.order_service.repository.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -44,7 +57,30 @@ class OrderServiceTest {
         private InventoryServiceClient inventoryServiceClient;
 
         @Mock
-        private KafkaTemplate<String, Object> kafkaTemplate;
+        private OutboxService outboxService;
+
+        @Mock
+        private OrderCacheService orderCacheService;
+
+        @Mock
+        private OrderReadModelService orderReadModelService;
+
+        @Mock
+        private ApplicationEventPublisher eventPublisher;
+
+        @Mock
+        private StockAvailabilityService stockAvailabilityService;
+
+        @Mock
+        private OrderArchiveService orderArchiveService;
+
+        @Mock
+        private TransactionTemplate transactionTemplate;
+
+        private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        @Spy
+        private OrderSagaMetrics sagaMetrics = new OrderSagaMetrics(meterRegistry);
 
         @InjectMocks
         private OrderService orderService;
@@ -56,6 +92,9 @@ class OrderServiceTest {
 
         @BeforeEach
         void setUp() {
+                lenient().when(transactionTemplate.execute(any())).thenAnswer(
+                                inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
                 validRequest = CreateOrderRequest.builder()
                                 .userId(1L)
                                 .amount(new BigDecimal("100.00"))
@@ -136,6 +175,167 @@ class OrderServiceTest {
                 verify(inventoryServiceClient).release("TEST-SKU", 2); // Rollback
         }
 
+        @Test
+        @DisplayName("Should time each saga step and the saga by outcome")
+        void createOrder_RecordsSagaTimers() {
+                // Given
+                when(inventoryServiceClient.reserve(anyString(), anyInt())).thenReturn(inventoryResponse);
+                when(paymentServiceClient.createPaymentLink(any(PaymentRequest.class)))
+                                .thenThrow(new RuntimeException("Payment service error"));
+                when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
+
+                // When
+                assertThatThrownBy(() -> orderService.createOrder(validRequest)).isInstanceOf(RuntimeException.class);
+
+                // Then
+                for (String step : List.of("precheck", "reserve", "order-insert", "release")) {
+                        assertThat(meterRegistry.get("order.saga.step").tag("step", step).tag("outcome", "success")
+                                        .timer().count()).isEqualTo(1);
+                }
+                assertThat(meterRegistry.get("order.saga.step").tag("step", "payment-link").tag("outcome", "failure")
+                                .timer().count()).isEqualTo(1);
+                assertThat(meterRegistry.get("order.saga").tag("saga", OrderSagaMetrics.CREATE_ORDER)
+                                .tag("outcome", "failure").timer().count()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should not reserve anything when the stock pre-check rejects the order")
+        void createOrder_PrecheckRejects() {
+                // Given
+                doThrow(new StockAvailabilityService.InsufficientStockException(List.of("TEST-SKU")))
+                                .when(stockAvailabilityService).precheck(validRequest.getItems());
+
+                // When/Then
+                assertThatThrownBy(() -> orderService.createOrder(validRequest))
+                                .isInstanceOf(StockAvailabilityService.InsufficientStockException.class);
+                verifyNoInteractions(inventoryServiceClient, paymentServiceClient, orderRepository);
+        }
+
+        @Test
+        @DisplayName("Should return without calling payment service when links are created asynchronously")
+        void createOrder_AsyncPaymentLink() {
+                // Given
+                ReflectionTestUtils.setField(orderService, "asyncPaymentLink", true);
+                savedOrder.setPaymentId(null);
+                savedOrder.setPaymentUrl(null);
+                when(inventoryServiceClient.reserve(anyString(), anyInt())).thenReturn(inventoryResponse);
+                when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
+
+                // When
+                OrderResponse response = orderService.createOrder(validRequest);
+
+                // Then
+                assertThat(response.getStatus()).isEqualTo(OrderStatus.PENDING);
+                assertThat(response.getPaymentUrl()).isNull();
+                verify(eventPublisher).publishEvent(new PaymentLinkService.PaymentLinkRequested(
+                                savedOrder.getId(), validRequest.getAmount(), "test@example.com"));
+                verify(orderRepository, times(1)).save(any(Order.class));
+                verify(outboxService).enqueue(eq("order-events"), eq(savedOrder.getId().toString()), any());
+                verifyNoInteractions(paymentServiceClient);
+        }
+
+        @Test
+        @DisplayName("Should keep a payment link attached on the committing thread cached over the PENDING write")
+        void createOrder_AsyncPaymentLink_RejectedFallbackKeepsCachedLink() {
+                // Given
+                ReflectionTestUtils.setField(orderService, "asyncPaymentLink", true);
+                savedOrder.setPaymentId(null);
+                savedOrder.setPaymentUrl(null);
+                when(inventoryServiceClient.reserve(anyString(), anyInt())).thenReturn(inventoryResponse);
+                when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
+                Map<UUID, OrderResponse> cache = new HashMap<>();
+                // Like OrderCacheService.put inside a transaction: written after commit
+                doAnswer(inv -> {
+                        OrderResponse cached = inv.getArgument(0);
+                        afterCommit(() -> cache.put(cached.getId(), cached));
+                        return null;
+                }).when(orderCacheService).put(any(OrderResponse.class));
+                // Like PaymentLinkService with a full queue: the link is created and cached on the committing thread
+                doAnswer(inv -> {
+                        afterCommit(() -> cache.put(savedOrder.getId(), OrderResponse.builder()
+                                        .id(savedOrder.getId())
+                                        .status(OrderStatus.PENDING)
+                                        .paymentUrl(paymentResponse.getPaymentUrl())
+                                        .build()));
+                        return null;
+                }).when(eventPublisher).publishEvent(any(PaymentLinkService.PaymentLinkRequested.class));
+
+                // When: the order is created and its transaction commits
+                TransactionSynchronizationManager.initSynchronization();
+                try {
+                        orderService.createOrder(validRequest);
+                        TransactionSynchronizationManager.getSynchronizations()
+                                        .forEach(TransactionSynchronization::afterCommit);
+                } finally {
+                        TransactionSynchronizationManager.clearSynchronization();
+                }
+
+                // Then
+                assertThat(cache.get(savedOrder.getId()).getPaymentUrl())
+                                .isEqualTo("https://checkout.stripe.com/test");
+        }
+
+        private static void afterCommit(Runnable action) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                                action.run();
+                        }
+                });
+        }
+
+        @Test
+        @DisplayName("Should attach an asynchronously created payment link to a PENDING order")
+        void attachPaymentLink_Success() {
+                // Given
+                savedOrder.setPaymentId(null);
+                savedOrder.setPaymentUrl(null);
+                when(orderRepository.findWithItemsById(savedOrder.getId())).thenReturn(Optional.of(savedOrder));
+
+                // When
+                orderService.attachPaymentLink(savedOrder.getId(), paymentResponse);
+
+                // Then
+                assertThat(savedOrder.getPaymentUrl()).isEqualTo("https://checkout.stripe.com/test");
+                verify(orderRepository).save(savedOrder);
+                verify(orderCacheService).put(argThat(r -> "https://checkout.stripe.com/test".equals(r.getPaymentUrl())));
+                verify(outboxService).enqueue(eq("order-events"), anyString(),
+                                argThat(e -> "https://checkout.stripe.com/test"
+                                                .equals(((OrderLifecycleEvent) e).getPaymentUrl())));
+        }
+
+        @Test
+        @DisplayName("Should fail a PENDING order whose payment link could not be created")
+        void failPaymentLink_MarksFailed() {
+                // Given
+                when(orderRepository.findWithItemsById(savedOrder.getId())).thenReturn(Optional.of(savedOrder));
+
+                // When
+                Map<String, Integer> releaseBySku = orderService.failPaymentLink(savedOrder.getId());
+
+                // Then
+                assertThat(savedOrder.getStatus()).isEqualTo(OrderStatus.FAILED);
+                assertThat(releaseBySku).containsExactly(entry("TEST-SKU", 2));
+                verify(orderRepository).save(savedOrder);
+                verifyNoInteractions(inventoryServiceClient);
+        }
+
+        @Test
+        @DisplayName("Should leave orders that are no longer PENDING untouched")
+        void failPaymentLink_SkipsNonPendingOrder() {
+                // Given
+                savedOrder.setStatus(OrderStatus.CANCELLED);
+                when(orderRepository.findWithItemsById(savedOrder.getId())).thenReturn(Optional.of(savedOrder));
+
+                // When
+                Map<String, Integer> releaseBySku = orderService.failPaymentLink(savedOrder.getId());
+
+                // Then
+                assertThat(releaseBySku).isEmpty();
+                assertThat(savedOrder.getStatus()).isEqualTo(OrderStatus.CANCELLED);
+                verify(orderRepository, never()).save(any());
+        }
+
         @Test
         @DisplayName("Should handle successful payment result")
         void handlePaymentResult_Success() {
@@ -161,7 +361,7 @@ class OrderServiceTest {
                                 .status("SUCCESS")
                                 .build();
 
-                when(orderRepository.findById(pendingOrder.getId())).thenReturn(Optional.of(pendingOrder));
+                when(orderRepository.findWithItemsById(pendingOrder.getId())).thenReturn(Optional.of(pendingOrder));
                 when(orderRepository.save(any(Order.class))).thenReturn(pendingOrder);
 
                 // When
@@ -170,7 +370,10 @@ class OrderServiceTest {
                 // Then
                 assertThat(pendingOrder.getStatus()).isEqualTo(OrderStatus.PAID);
                 verify(inventoryServiceClient).confirm("TEST-SKU", 1);
-                verify(kafkaTemplate).send(eq("order-notifications"), anyString(), any());
+                verify(outboxService).enqueue(eq("order-notifications"), eq(pendingOrder.getId().toString()), any());
+                verify(outboxService).enqueue(eq("order-events"), eq(pendingOrder.getId().toString()),
+                                argThat(e -> e instanceof OrderLifecycleEvent lifecycle
+                                                && "PAID".equals(lifecycle.getStatus())));
         }
 
         @Test
@@ -199,7 +402,7 @@ class OrderServiceTest {
                                 .failureReason("Card declined")
                                 .build();
 
-                when(orderRepository.findById(pendingOrder.getId())).thenReturn(Optional.of(pendingOrder));
+                when(orderRepository.findWithItemsById(pendingOrder.getId())).thenReturn(Optional.of(pendingOrder));
                 when(orderRepository.save(any(Order.class))).thenReturn(pendingOrder);
 
                 // When
@@ -208,7 +411,7 @@ class OrderServiceTest {
                 // Then
                 assertThat(pendingOrder.getStatus()).isEqualTo(OrderStatus.FAILED);
                 verify(inventoryServiceClient).release("TEST-SKU", 1); // Compensation
-                verify(kafkaTemplate).send(eq("order-notifications"), anyString(), any());
+                verify(outboxService).enqueue(eq("order-notifications"), eq(pendingOrder.getId().toString()), any());
         }
 
         @Test
@@ -225,7 +428,7 @@ class OrderServiceTest {
                                 .status("SUCCESS")
                                 .build();
 
-                when(orderRepository.findById(paidOrder.getId())).thenReturn(Optional.of(paidOrder));
+                when(orderRepository.findWithItemsById(paidOrder.getId())).thenReturn(Optional.of(paidOrder));
 
                 // When
                 orderService.handlePaymentResult(event);
@@ -239,7 +442,9 @@ class OrderServiceTest {
         @DisplayName("Should get order by ID")
         void getOrder_Success() {
                 // Given
-                when(orderRepository.findById(savedOrder.getId())).thenReturn(Optional.of(savedOrder));
+                when(orderCacheService.get(eq(savedOrder.getId()), any())).thenAnswer(
+                                inv -> inv.<Supplier<OrderResponse>>getArgument(1).get());
+                when(orderRepository.findWithItemsById(savedOrder.getId())).thenReturn(Optional.of(savedOrder));
 
                 // When
                 OrderResponse response = orderService.getOrder(savedOrder.getId());
@@ -255,11 +460,190 @@ class OrderServiceTest {
         void getOrder_NotFound() {
                 // Given
                 UUID orderId = UUID.randomUUID();
-                when(orderRepository.findById(orderId)).thenReturn(Optional.empty());
+                when(orderCacheService.get(eq(orderId), any())).thenAnswer(
+                                inv -> inv.<Supplier<OrderResponse>>getArgument(1).get());
+                when(orderRepository.findWithItemsById(orderId)).thenReturn(Optional.empty());
+                when(orderArchiveService.findArchived(orderId)).thenReturn(Optional.empty());
 
                 // When/Then
                 assertThatThrownBy(() -> orderService.getOrder(orderId))
                                 .isInstanceOf(RuntimeException.class)
                                 .hasMessageContaining("Order not found");
         }
+
+        @Test
+        @DisplayName("Should serve archived orders when they are gone from the hot tables")
+        void getOrder_FallsBackToArchive() {
+                // Given
+                UUID orderId = UUID.randomUUID();
+                OrderResponse archived = OrderResponse.builder().id(orderId).status(OrderStatus.PAID).build();
+                when(orderCacheService.get(eq(orderId), any())).thenAnswer(
+                                inv -> inv.<Supplier<OrderResponse>>getArgument(1).get());
+                when(orderRepository.findWithItemsById(orderId)).thenReturn(Optional.empty());
+                when(orderArchiveService.findArchived(orderId)).thenReturn(Optional.of(archived));
+
+                // When
+                OrderResponse response = orderService.getOrder(orderId);
+
+                // Then
+                assertThat(response).isSameAs(archived);
+        }
+
+        @Test
+        @DisplayName("Should apply payment batch and sum inventory quantities per SKU")
+        void applyPaymentResults_GroupsBySku() {
+                // Given
+                Order paidOrder = Order.builder().id(UUID.randomUUID()).status(OrderStatus.PENDING)
+                                .amount(new BigDecimal("10.00")).build();
+                paidOrder.addItem(OrderItem.builder().sku("SKU-A").quantity(2).build());
+                Order otherPaidOrder = Order.builder().id(UUID.randomUUID()).status(OrderStatus.PENDING)
+                                .amount(new BigDecimal("10.00")).build();
+                otherPaidOrder.addItem(OrderItem.builder().sku("SKU-A").quantity(3).build());
+                Order failedOrder = Order.builder().id(UUID.randomUUID()).status(OrderStatus.PENDING)
+                                .amount(new BigDecimal("10.00")).build();
+                failedOrder.addItem(OrderItem.builder().sku("SKU-B").quantity(1).build());
+
+                UUID unknownOrderId = UUID.randomUUID();
+                List<PaymentResultEvent> events = List.of(
+                                PaymentResultEvent.builder().orderId(paidOrder.getId()).status("SUCCESS").build(),
+                                PaymentResultEvent.builder().orderId(otherPaidOrder.getId()).status("SUCCESS").build(),
+                                PaymentResultEvent.builder().orderId(failedOrder.getId()).status("FAILED").build(),
+                                PaymentResultEvent.builder().orderId(unknownOrderId).status("SUCCESS").build());
+
+                when(orderRepository.findWithItemsByIdIn(anyCollection()))
+                                .thenReturn(List.of(paidOrder, otherPaidOrder, failedOrder));
+
+                // When
+                OrderService.PaymentBatchResult result = orderService.applyPaymentResults(events);
+                orderService.settleInventory(result);
+
+                // Then
+                assertThat(paidOrder.getStatus()).isEqualTo(OrderStatus.PAID);
+                assertThat(otherPaidOrder.getStatus()).isEqualTo(OrderStatus.PAID);
+                assertThat(failedOrder.getStatus()).isEqualTo(OrderStatus.FAILED);
+                assertThat(result.getMissing()).extracting(PaymentResultEvent::getOrderId)
+                                .containsExactly(unknownOrderId);
+
+                verify(orderRepository).saveAll(List.of(paidOrder, otherPaidOrder, failedOrder));
+                verify(inventoryServiceClient).confirm("SKU-A", 5);
+                verify(inventoryServiceClient).release("SKU-B", 1);
+                verify(outboxService, times(3)).enqueue(eq("order-notifications"), anyString(), any());
+        }
+
+        @Test
+        @DisplayName("Should cancel expired PENDING orders and sum reserved quantities per SKU")
+        void expirePendingOrders_CancelsAndGroupsBySku() {
+                // Given
+                LocalDateTime cutoff = LocalDateTime.now().minusMinutes(30);
+                Order first = Order.builder().id(UUID.randomUUID()).userId(1L).amount(BigDecimal.TEN)
+                                .status(OrderStatus.PENDING).build();
+                first.addItem(OrderItem.builder().sku("SKU-A").quantity(2).build());
+                Order second = Order.builder().id(UUID.randomUUID()).userId(2L).amount(BigDecimal.TEN)
+                                .status(OrderStatus.PENDING).build();
+                second.addItem(OrderItem.builder().sku("SKU-A").quantity(1).build());
+                second.addItem(OrderItem.builder().sku("SKU-B").quantity(4).build());
+                List<UUID> ids = List.of(first.getId(), second.getId());
+                when(orderRepository.lockExpiredPendingIds(cutoff, 200)).thenReturn(ids);
+                when(orderRepository.findWithItemsByIdIn(ids)).thenReturn(List.of(first, second));
+
+                // When
+                OrderService.ExpiredOrders expired = orderService.expirePendingOrders(cutoff, 200);
+
+                // Then
+                assertThat(expired.getOrderIds()).containsExactlyElementsOf(ids);
+                assertThat(expired.getReleaseBySku()).containsExactly(entry("SKU-A", 3), entry("SKU-B", 4));
+                assertThat(first.getStatus()).isEqualTo(OrderStatus.CANCELLED);
+                assertThat(second.getStatus()).isEqualTo(OrderStatus.CANCELLED);
+                verify(orderRepository).saveAll(List.of(first, second));
+                verify(outboxService, times(2)).enqueue(eq("order-events"), anyString(), any());
+                verifyNoInteractions(inventoryServiceClient);
+        }
+
+        @Test
+        @DisplayName("Should return first history page with a cursor when more orders exist")
+        void getOrderHistory_FirstPage() {
+                // Given
+                LocalDateTime now = LocalDateTime.now();
+                List<OrderSummaryResponse> rows = List.of(
+                                OrderSummaryResponse.builder().id(UUID.randomUUID()).createdAt(now).build(),
+                                OrderSummaryResponse.builder().id(UUID.randomUUID()).createdAt(now.minusMinutes(1)).build(),
+                                OrderSummaryResponse.builder().id(UUID.randomUUID()).createdAt(now.minusMinutes(2)).build());
+                when(orderRepository.findHistoryFirstPage(1L, Limit.of(3))).thenReturn(rows);
+
+                // When
+                OrderHistoryResponse response = orderService.getOrderHistory(1L, null, 2);
+
+                // Then
+                assertThat(response.getOrders()).hasSize(2);
+                assertThat(response.isHasMore()).isTrue();
+                assertThat(response.getNextCursor()).isNotBlank();
+        }
+
+        @Test
+        @DisplayName("Should seek after the cursor position on the next page")
+        void getOrderHistory_NextPage() {
+                // Given
+                OrderSummaryResponse last = OrderSummaryResponse.builder()
+                                .id(UUID.randomUUID())
+                                .createdAt(LocalDateTime.of(2025, 1, 2, 3, 4, 5, 123456000))
+                                .build();
+                String cursor = OrderHistoryCursor.after(last).encode();
+                when(orderRepository.findHistoryAfter(1L, last.getCreatedAt(), last.getId(), Limit.of(21)))
+                                .thenReturn(List.of());
+
+                // When
+                OrderHistoryResponse response = orderService.getOrderHistory(1L, cursor, 20);
+
+                // Then
+                assertThat(response.getOrders()).isEmpty();
+                assertThat(response.isHasMore()).isFalse();
+                assertThat(response.getNextCursor()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should serve history from the read model when enabled")
+        void getOrderHistory_FromReadModel() {
+                // Given
+                ReflectionTestUtils.setField(orderService, "historyFromReadModel", true);
+                OrderSummaryResponse row = OrderSummaryResponse.builder()
+                                .id(UUID.randomUUID())
+                                .createdAt(LocalDateTime.now())
+                                .build();
+                when(orderReadModelService.findHistory(1L, null, 21)).thenReturn(List.of(row));
+
+                // When
+                OrderHistoryResponse response = orderService.getOrderHistory(1L, null, 20);
+
+                // Then
+                assertThat(response.getOrders()).containsExactly(row);
+                verifyNoInteractions(orderRepository);
+        }
+
+        @Test
+        @DisplayName("Should fall back to order_db when the read model projector is disabled")
+        void getOrderHistory_ReadModelDisabled_FallsBackToDatabase() {
+                // Given
+                ReflectionTestUtils.setField(orderService, "historyFromReadModel", true);
+                ReflectionTestUtils.setField(orderService, "readModelEnabled", false);
+                orderService.checkHistorySource();
+                when(orderRepository.findHistoryFirstPage(eq(1L), any(Limit.class))).thenReturn(List.of());
+
+                // When
+                orderService.getOrderHistory(1L, null, 20);
+
+                // Then
+                verify(orderRepository).findHistoryFirstPage(eq(1L), any(Limit.class));
+                verifyNoInteractions(orderReadModelService);
+        }
+
+        @Test
+        @DisplayName("Should reject malformed cursors and out-of-range page sizes")
+        void getOrderHistory_InvalidInput() {
+                assertThatThrownBy(() -> orderService.getOrderHistory(1L, "not-a-cursor", 20))
+                                .isInstanceOf(IllegalArgumentException.class);
+                assertThatThrownBy(() -> orderService.getOrderHistory(1L, null, 0))
+                                .isInstanceOf(IllegalArgumentException.class);
+                assertThatThrownBy(() -> orderService.getOrderHistory(1L, null, 101))
+                                .isInstanceOf(IllegalArgumentException.class);
+        }
 }
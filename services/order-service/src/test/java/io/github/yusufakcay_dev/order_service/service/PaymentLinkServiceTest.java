@@ -0,0 +1,92 @@
+package io.github.yusufakcay_dev.order_service.service;
+
+import io.github.yusufakcay_dev.order_service.client.PaymentServiceClient;
+import io.github.yusufakcay_dev.order_service.dto.PaymentRequest;
+import io.github.yusufakcay_dev.order_service.dto.PaymentResponse;
+import io.github.yusufakcay_dev.order_service.service.PaymentLinkService.PaymentLinkRequested;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for asynchronous payment link creation.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PaymentLinkService Unit Tests")
+class PaymentLinkServiceTest {
+
+        @Mock
+        private PaymentServiceClient paymentServiceClient;
+
+        @Mock
+        private OrderService orderService;
+
+        private SimpleMeterRegistry meterRegistry;
+        private PaymentLinkService paymentLinkService;
+        private PaymentLinkRequested request;
+
+        @BeforeEach
+        void setUp() {
+                meterRegistry = new SimpleMeterRegistry();
+                paymentLinkService = new PaymentLinkService(paymentServiceClient, orderService,
+                                new OrderSagaMetrics(meterRegistry), meterRegistry);
+                paymentLinkService.registerMetrics();
+                request = new PaymentLinkRequested(UUID.randomUUID(), new BigDecimal("100.00"), "test@example.com");
+        }
+
+        @Test
+        @DisplayName("Should create the link and attach it to the order")
+        void createLink_Success() {
+                // Given
+                PaymentResponse paymentResponse = PaymentResponse.builder()
+                                .paymentId("pay_test_123")
+                                .paymentUrl("https://checkout.stripe.com/test")
+                                .build();
+                when(paymentServiceClient.createPaymentLink(any(PaymentRequest.class))).thenReturn(paymentResponse);
+
+                // When
+                paymentLinkService.createLink(request, System.nanoTime());
+
+                // Then
+                verify(paymentServiceClient).createPaymentLink(argThat(r -> r.getOrderId().equals(request.orderId())
+                                && r.getAmount().equals(request.amount()) && "USD".equals(r.getCurrency())));
+                verify(orderService).attachPaymentLink(request.orderId(), paymentResponse);
+                verify(orderService, never()).failPaymentLink(any());
+                assertThat(meterRegistry.get("payment.link.async").tag("result", "success").timer().count())
+                                .isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should fail the order and release inventory after commit when link creation fails")
+        void createLink_Failure() {
+                // Given
+                when(paymentServiceClient.createPaymentLink(any(PaymentRequest.class)))
+                                .thenThrow(new RuntimeException("Stripe unavailable"));
+                Map<String, Integer> releaseBySku = Map.of("TEST-SKU", 2);
+                when(orderService.failPaymentLink(request.orderId())).thenReturn(releaseBySku);
+
+                // When
+                paymentLinkService.createLink(request, System.nanoTime());
+
+                // Then
+                InOrder inOrder = inOrder(orderService);
+                inOrder.verify(orderService).failPaymentLink(request.orderId());
+                inOrder.verify(orderService).releaseInventory(releaseBySku);
+                verify(orderService, never()).attachPaymentLink(any(), any());
+                assertThat(meterRegistry.get("payment.link.async").tag("result", "failure").timer().count())
+                                .isEqualTo(1);
+        }
+}
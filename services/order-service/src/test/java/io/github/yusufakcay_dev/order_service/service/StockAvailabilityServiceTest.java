@@ -0,0 +1,176 @@
+package io.github.yusufakcay_dev.order_service.service;
+
+import io.github.yusufakcay_dev.order_service.client.HedgedInventoryReader;
+import io.github.yusufakcay_dev.order_service.dto.InventoryResponse;
+import io.github.yusufakcay_dev.order_service.dto.OrderItemRequest;
+import io.github.yusufakcay_dev.order_service.service.StockAvailabilityService.InsufficientStockException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the stock pre-check.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StockAvailabilityService Unit Tests")
+class StockAvailabilityServiceTest {
+
+        @Mock
+        private HedgedInventoryReader hedgedInventoryReader;
+
+        private SimpleMeterRegistry meterRegistry;
+        private StockAvailabilityService stockAvailabilityService;
+
+        @BeforeEach
+        void setUp() {
+                meterRegistry = new SimpleMeterRegistry();
+                stockAvailabilityService = new StockAvailabilityService(hedgedInventoryReader, meterRegistry);
+                ReflectionTestUtils.setField(stockAvailabilityService, "enabled", true);
+                ReflectionTestUtils.setField(stockAvailabilityService, "remoteReads", true);
+                ReflectionTestUtils.setField(stockAvailabilityService, "remoteReadTimeoutMs", 2000L);
+                ReflectionTestUtils.setField(stockAvailabilityService, "remoteReadThreads", 4);
+                ReflectionTestUtils.setField(stockAvailabilityService, "ttlMs", 2000L);
+                ReflectionTestUtils.setField(stockAvailabilityService, "soldOutTtlMs", 300000L);
+                stockAvailabilityService.start();
+        }
+
+        @AfterEach
+        void tearDown() {
+                stockAvailabilityService.stop();
+        }
+
+        private OrderItemRequest item(String sku, int quantity) {
+                return OrderItemRequest.builder().sku(sku).quantity(quantity).build();
+        }
+
+        private InventoryResponse stock(String sku, int available) {
+                return InventoryResponse.builder().sku(sku).availableQuantity(available).build();
+        }
+
+        @Test
+        @DisplayName("Should reject an order with a sold-out SKU and count the avoided reservations")
+        void precheck_RejectsSoldOutSku() {
+                // Given: SKU-B sold out moments ago
+                stockAvailabilityService.onStockStatus("SKU-B", false, System.currentTimeMillis());
+                when(hedgedInventoryReader.getInventory("SKU-A")).thenReturn(stock("SKU-A", 10));
+
+                // When/Then
+                assertThatThrownBy(() -> stockAvailabilityService.precheck(List.of(item("SKU-A", 1), item("SKU-B", 1))))
+                                .isInstanceOf(InsufficientStockException.class)
+                                .extracting("skus").asList().containsExactly("SKU-B");
+
+                verify(hedgedInventoryReader, never()).getInventory("SKU-B");
+                assertThat(meterRegistry.get("order.stock.precheck.reservations.avoided").counter().count())
+                                .isEqualTo(2.0);
+        }
+
+        @Test
+        @DisplayName("Should sum quantities per SKU and reuse fresh reads from the snapshot")
+        void precheck_UsesSnapshotWithinTtl() {
+                // Given
+                when(hedgedInventoryReader.getInventory("SKU-A")).thenReturn(stock("SKU-A", 3));
+
+                // When: 2 + 2 of SKU-A exceeds the 3 available
+                assertThatThrownBy(() -> stockAvailabilityService.precheck(List.of(item("SKU-A", 2), item("SKU-A", 2))))
+                                .isInstanceOf(InsufficientStockException.class);
+                stockAvailabilityService.precheck(List.of(item("SKU-A", 3)));
+
+                // Then
+                verify(hedgedInventoryReader, times(1)).getInventory("SKU-A");
+                assertThat(meterRegistry.get("order.stock.precheck").tag("result", "passed").counter().count())
+                                .isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should keep rejecting a sold-out SKU whose event arrived late, past the read TTL")
+        void precheck_LaggedSoldOutEventStillRejects() {
+                // Given: observed well before ttl-ms ago, but only received now
+                stockAvailabilityService.onStockStatus("SKU-A", false, System.currentTimeMillis() - 60_000);
+
+                // When/Then
+                assertThatThrownBy(() -> stockAvailabilityService.precheck(List.of(item("SKU-A", 1))))
+                                .isInstanceOf(InsufficientStockException.class);
+                verifyNoInteractions(hedgedInventoryReader);
+        }
+
+        @Test
+        @DisplayName("Should ignore expired sold-out entries and back-in-stock SKUs")
+        void precheck_ExpiredAndRestockedEntries() {
+                // Given
+                ReflectionTestUtils.setField(stockAvailabilityService, "soldOutTtlMs", 0L);
+                stockAvailabilityService.onStockStatus("SKU-A", false, System.currentTimeMillis());
+                ReflectionTestUtils.setField(stockAvailabilityService, "soldOutTtlMs", 300000L);
+                stockAvailabilityService.onStockStatus("SKU-B", false, System.currentTimeMillis());
+                stockAvailabilityService.onStockStatus("SKU-B", true, System.currentTimeMillis());
+                when(hedgedInventoryReader.getInventory(anyString()))
+                                .thenAnswer(inv -> stock(inv.getArgument(0), 5));
+
+                // When/Then
+                assertThatCode(() -> stockAvailabilityService.precheck(List.of(item("SKU-A", 1), item("SKU-B", 1))))
+                                .doesNotThrowAnyException();
+        }
+
+        @Test
+        @DisplayName("Should read unknown SKUs in parallel")
+        void precheck_ReadsInParallel() {
+                // Given: each read only answers once both are in flight
+                CountDownLatch bothInFlight = new CountDownLatch(2);
+                when(hedgedInventoryReader.getInventory(anyString())).thenAnswer(inv -> {
+                        bothInFlight.countDown();
+                        if (!bothInFlight.await(1, TimeUnit.SECONDS)) {
+                                throw new IllegalStateException("reads ran one after another");
+                        }
+                        return stock(inv.getArgument(0), 0);
+                });
+
+                // When/Then
+                assertThatThrownBy(() -> stockAvailabilityService.precheck(List.of(item("SKU-A", 1), item("SKU-B", 1))))
+                                .isInstanceOf(InsufficientStockException.class)
+                                .extracting("skus").asList().containsExactlyInAnyOrder("SKU-A", "SKU-B");
+        }
+
+        @Test
+        @DisplayName("Should only use the pushed snapshot when remote reads are off")
+        void precheck_SnapshotOnlyByDefault() {
+                // Given
+                stockAvailabilityService.stop();
+                stockAvailabilityService = new StockAvailabilityService(hedgedInventoryReader, meterRegistry);
+                ReflectionTestUtils.setField(stockAvailabilityService, "enabled", true);
+                ReflectionTestUtils.setField(stockAvailabilityService, "ttlMs", 2000L);
+                ReflectionTestUtils.setField(stockAvailabilityService, "soldOutTtlMs", 300000L);
+                stockAvailabilityService.start();
+                stockAvailabilityService.onStockStatus("SKU-B", false, System.currentTimeMillis());
+
+                // When/Then
+                assertThatCode(() -> stockAvailabilityService.precheck(List.of(item("SKU-A", 1))))
+                                .doesNotThrowAnyException();
+                assertThatThrownBy(() -> stockAvailabilityService.precheck(List.of(item("SKU-B", 1))))
+                                .isInstanceOf(InsufficientStockException.class);
+                verifyNoInteractions(hedgedInventoryReader);
+        }
+
+        @Test
+        @DisplayName("Should let the order through when the inventory read fails")
+        void precheck_FailsOpen() {
+                // Given
+                when(hedgedInventoryReader.getInventory("SKU-A")).thenThrow(new RuntimeException("timeout"));
+
+                // When/Then
+                assertThatCode(() -> stockAvailabilityService.precheck(List.of(item("SKU-A", 1))))
+                                .doesNotThrowAnyException();
+        }
+}
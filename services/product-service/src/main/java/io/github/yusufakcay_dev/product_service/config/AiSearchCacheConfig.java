@@ -0,0 +1,32 @@
+package io.github.yusufakcay_dev.product_service.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class AiSearchCacheConfig {
+
+    /**
+     * Wraps the auto-configured embedding model, whichever provider it is,
+     * so the vector store embeds queries through the cache. Static and lazy
+     * about the meter registry, as a BeanPostProcessor must be.
+     */
+    @Bean
+    static BeanPostProcessor queryEmbeddingCache(ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${app.ai.search.embedding-cache.maximum-size:10000}") long maximumSize) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof EmbeddingModel model && !(bean instanceof CachingEmbeddingModel)) {
+                    return new CachingEmbeddingModel(model, maximumSize, meterRegistry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,15 @@
+package io.github.yusufakcay_dev.product_service.config;
+
+/**
+ * A cached value with what early refresh needs to know about it: when it was
+ * loaded and how long the load took.
+ *
+ * Entries written before the envelope existed are read back with both times
+ * at zero, which simply never refreshes them early.
+ */
+public record CacheEntry(Object value, long loadedAtMillis, long loadMillis) {
+
+    static CacheEntry of(Object stored) {
+        return stored instanceof CacheEntry entry ? entry : new CacheEntry(stored, 0, 0);
+    }
+}
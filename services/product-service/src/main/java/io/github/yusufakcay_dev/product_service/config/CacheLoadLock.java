@@ -0,0 +1,24 @@
+package io.github.yusufakcay_dev.product_service.config;
+
+/**
+ * Lock held by the one caller, across all instances, that loads a missing
+ * or refreshing cache entry.
+ */
+public interface CacheLoadLock {
+
+    /**
+     * Returned by tryAcquire when the lock store is unavailable; the caller
+     * proceeds as if it held the lock.
+     */
+    String UNLOCKED = "";
+
+    /**
+     * @return a token to release the lock with, or null if another caller
+     *         holds it
+     */
+    String tryAcquire(String key);
+
+    boolean isHeld(String key);
+
+    void release(String key, String token);
+}
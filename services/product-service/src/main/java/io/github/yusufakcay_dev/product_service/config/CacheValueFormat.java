@@ -0,0 +1,50 @@
+package io.github.yusufakcay_dev.product_service.config;
+
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.Locale;
+
+/**
+ * How cache values are stored in Redis, selected by app.cache.value-format.
+ *
+ * The version is part of every Redis key ("products:kryo-v1::42"), so a
+ * format change or an incompatible schema change starts from empty caches
+ * instead of failing to read what the previous release wrote. Bump it for
+ * any change the format cannot read back; old keys simply expire.
+ */
+public enum CacheValueFormat {
+
+    JSON("json-v2") {
+        @Override
+        public RedisSerializer<Object> serializer() {
+            return new GenericJackson2JsonRedisSerializer();
+        }
+    },
+
+    KRYO("kryo-v1") {
+        @Override
+        public RedisSerializer<Object> serializer() {
+            return new KryoRedisSerializer();
+        }
+    };
+
+    private final String version;
+
+    CacheValueFormat(String version) {
+        this.version = version;
+    }
+
+    public abstract RedisSerializer<Object> serializer();
+
+    /**
+     * Redis key prefix for a cache, e.g. "products:kryo-v1::".
+     */
+    public String keyPrefix(String cacheName) {
+        return cacheName + ":" + version + "::";
+    }
+
+    public static CacheValueFormat from(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.yusufakcay_dev.product_service.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query embedding cache in front of the embedding model.
+ *
+ * Only single-text embeds are cached: that is the call the vector store
+ * makes for a search query, while documents are embedded through call(),
+ * which passes straight through. AiSearchService normalizes queries before
+ * searching, so spellings that differ only in case or spacing share an
+ * entry. The model is deterministic, so entries never go stale and are only
+ * bounded by count.
+ */
+public class CachingEmbeddingModel implements EmbeddingModel {
+
+    private final EmbeddingModel delegate;
+    private final Cache<String, float[]> embeddings;
+
+    private final Timer embedTimer;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter savedTime;
+
+    public CachingEmbeddingModel(EmbeddingModel delegate, long maximumSize, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.embeddings = Caffeine.newBuilder().maximumSize(maximumSize).build();
+
+        embedTimer = Timer.builder("ai.search.embedding")
+                .description("Latency of embedding a query the cache did not hold")
+                .register(meterRegistry);
+        hits = gets(meterRegistry, "hit");
+        misses = gets(meterRegistry, "miss");
+        savedTime = Counter.builder("ai.search.embedding.saved")
+                .baseUnit("seconds")
+                .description("Embedding time avoided by cache hits, estimated from the mean miss latency")
+                .register(meterRegistry);
+        Gauge.builder("ai.search.embedding.cache.size", embeddings, Cache::estimatedSize)
+                .description("Query embeddings held in memory")
+                .register(meterRegistry);
+    }
+
+    private static Counter gets(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("ai.search.embedding.cache.gets")
+                .tag("result", result)
+                .description("Query embedding lookups")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public float[] embed(String text) {
+        float[] cached = embeddings.getIfPresent(text);
+        if (cached != null) {
+            hits.increment();
+            savedTime.increment(embedTimer.mean(TimeUnit.SECONDS));
+            return cached.clone();
+        }
+        misses.increment();
+        float[] embedding = embedTimer.record(() -> delegate.embed(text));
+        embeddings.put(text, embedding.clone());
+        return embedding;
+    }
+
+    @Override
+    public float[] embed(Document document) {
+        return delegate.embed(document);
+    }
+
+    @Override
+    public EmbeddingResponse call(EmbeddingRequest request) {
+        return delegate.call(request);
+    }
+
+    @Override
+    public int dimensions() {
+        return delegate.dimensions();
+    }
+}
@@ -2,6 +2,7 @@ package io.github.yusufakcay_dev.product_service.config;
 
 import io.github.yusufakcay_dev.product_service.dto.ProductStockStatusEvent;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -10,6 +11,9 @@ import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.support.serializer.DeserializationException;
 import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 
@@ -24,6 +28,11 @@ import java.util.Map;
  * Without it, SerializationException is thrown before reaching the consumer
  * method,
  * preventing retry and DLQ mechanisms from working properly.
+ *
+ * The batch factory backs ProductStockStatusBatchConsumer (enabled with
+ * app.stock-status.batch.enabled). @RetryableTopic does not support batch
+ * listeners, so failed batch records are forwarded by hand to the retry/DLT
+ * topics that the record listener already owns.
  */
 @Configuration
 @EnableKafka
@@ -35,8 +44,48 @@ public class KafkaConsumerConfig {
     @Value("${spring.kafka.consumer.group-id:product-service-group}")
     private String groupId;
 
+    @Value("${app.stock-status.batch.max-poll-records:500}")
+    private int batchMaxPollRecords;
+
     @Bean
     public ConsumerFactory<String, ProductStockStatusEvent> consumerFactory() {
+        return new DefaultKafkaConsumerFactory<>(consumerProps());
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, ProductStockStatusEvent> kafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, ProductStockStatusEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory());
+        factory.setConcurrency(1);
+        return factory;
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, ProductStockStatusEvent> batchKafkaListenerContainerFactory() {
+        Map<String, Object> props = consumerProps();
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, batchMaxPollRecords);
+
+        ConcurrentKafkaListenerContainerFactory<String, ProductStockStatusEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(props));
+        factory.setConcurrency(1);
+        factory.setBatchListener(true);
+        return factory;
+    }
+
+    /**
+     * Publishes failed batch records to the first retry topic, or straight to
+     * the DLT for records that could not be deserialized (same routing the
+     * record listener gets from @RetryableTopic).
+     */
+    @Bean
+    public DeadLetterPublishingRecoverer stockStatusRetryRecoverer(KafkaOperations<?, ?> kafkaTemplate) {
+        return new DeadLetterPublishingRecoverer(kafkaTemplate,
+                (record, ex) -> new TopicPartition(ex instanceof DeserializationException
+                        ? record.topic() + "-dlt"
+                        : record.topic() + "-retry-0", -1));
+    }
+
+    private Map<String, Object> consumerProps() {
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
@@ -57,14 +106,6 @@ public class KafkaConsumerConfig {
         props.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
         props.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
 
-        return new DefaultKafkaConsumerFactory<>(props);
-    }
-
-    @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, ProductStockStatusEvent> kafkaListenerContainerFactory() {
-        ConcurrentKafkaListenerContainerFactory<String, ProductStockStatusEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
-        factory.setConsumerFactory(consumerFactory());
-        factory.setConcurrency(1);
-        return factory;
+        return props;
     }
 }
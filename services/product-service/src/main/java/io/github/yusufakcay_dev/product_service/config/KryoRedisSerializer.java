@@ -0,0 +1,96 @@
+package io.github.yusufakcay_dev.product_service.config;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.KryoException;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.esotericsoftware.kryo.serializers.CompatibleFieldSerializer;
+import com.esotericsoftware.kryo.util.DefaultInstantiatorStrategy;
+import com.esotericsoftware.kryo.util.Pool;
+import io.github.yusufakcay_dev.product_service.dto.ProductIdPage;
+import io.github.yusufakcay_dev.product_service.dto.ProductResponse;
+import org.objenesis.strategy.StdInstantiatorStrategy;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+
+/**
+ * Binary cache values with Kryo.
+ *
+ * Only registered classes can be written or read, each under a fixed id, so
+ * no class names go over the wire and Redis contents cannot name arbitrary
+ * classes to instantiate. DTOs use CompatibleFieldSerializer: fields are
+ * matched by name, so adding or removing a DTO field stays readable in both
+ * directions. Anything else (renaming or retyping a field, changing
+ * CacheEntry, reusing an id) needs a new CacheValueFormat version.
+ *
+ * Kryo instances are not thread-safe and are pooled.
+ */
+public class KryoRedisSerializer implements RedisSerializer<Object> {
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final Pool<Kryo> pool = new Pool<>(true, false, 64) {
+        @Override
+        protected Kryo create() {
+            return newKryo();
+        }
+    };
+
+    static Kryo newKryo() {
+        Kryo kryo = new Kryo();
+        kryo.setRegistrationRequired(true);
+        kryo.setReferences(false);
+        kryo.setInstantiatorStrategy(new DefaultInstantiatorStrategy(new StdInstantiatorStrategy()));
+
+        // Ids are part of the stored format: append, never renumber
+        kryo.register(BigDecimal.class, 10);
+        kryo.register(ArrayList.class, 11);
+        kryo.register(long[].class, 12);
+        kryo.register(CacheEntry.class, 20);
+        registerCompatible(kryo, ProductResponse.class, 21);
+        registerCompatible(kryo, ProductIdPage.class, 22);
+        return kryo;
+    }
+
+    static <T> void registerCompatible(Kryo kryo, Class<T> type, int id) {
+        CompatibleFieldSerializer.CompatibleFieldSerializerConfig config =
+                new CompatibleFieldSerializer.CompatibleFieldSerializerConfig();
+        // Lets readers skip fields they do not know, whatever their type
+        config.setChunkedEncoding(true);
+        kryo.register(type, new CompatibleFieldSerializer<>(kryo, type, config), id);
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return EMPTY;
+        }
+        Kryo kryo = pool.obtain();
+        try (Output output = new Output(256, -1)) {
+            kryo.writeClassAndObject(output, value);
+            return output.toBytes();
+        } catch (KryoException | IllegalArgumentException e) {
+            throw new SerializationException("Could not write cache value of type " + value.getClass().getName(), e);
+        } finally {
+            pool.free(kryo);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        Kryo kryo = pool.obtain();
+        try (Input input = new Input(bytes)) {
+            return kryo.readClassAndObject(input);
+        } catch (KryoException e) {
+            throw new SerializationException("Could not read cache value", e);
+        } finally {
+            pool.free(kryo);
+        }
+    }
+}
@@ -1,7 +1,8 @@
 package io.github.yusufakcay_dev.product_service.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.CacheManager;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CachingConfigurer;
 import org.springframework.cache.interceptor.CacheErrorHandler;
 import org.springframework.cache.interceptor.SimpleCacheErrorHandler;
@@ -10,34 +11,97 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 
 @Configuration
 @Slf4j
 public class RedisCacheConfig implements CachingConfigurer {
 
+        @Value("${app.cache.l1.maximum-size:10000}")
+        private long l1MaximumSize;
+
+        @Value("${app.cache.l1.ttl-ms:30000}")
+        private long l1TtlMs;
+
+        @Value("${app.cache.invalidation-channel:product-cache-invalidation}")
+        private String invalidationChannel;
+
+        @Value("${app.cache.single-flight.lock-ttl-ms:5000}")
+        private long loadLockTtlMs;
+
+        @Value("${app.cache.single-flight.wait-ms:2000}")
+        private long loadLockWaitMs;
+
+        @Value("${app.cache.early-refresh.beta:1.0}")
+        private double earlyRefreshBeta;
+
+        @Value("${app.cache.value-format:kryo}")
+        private String valueFormat;
+
+        @Value("${app.ai.search.result-ttl-ms:60000}")
+        private long searchResultTtlMs;
+
+        /**
+         * Caffeine L1 per instance in front of the shared Redis L2. L1 hits
+         * skip the network round trip and deserialization entirely.
+         * Misses are loaded once across all instances and hot entries are
+         * refreshed shortly before they expire, see TwoLevelCache.
+         */
         @Bean
-        public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory) {
-                log.info("===== Initializing Redis CacheManager =====");
+        public TwoLevelCacheManager cacheManager(RedisConnectionFactory redisConnectionFactory,
+                        StringRedisTemplate stringRedisTemplate, MeterRegistry meterRegistry) {
+                CacheValueFormat format = CacheValueFormat.from(valueFormat);
+                log.info("===== Initializing two-level CacheManager (Caffeine L1, Redis L2, {} values) =====",
+                                format);
 
+                Duration entryTtl = Duration.ofMinutes(10);
                 RedisCacheConfiguration cacheConfig = RedisCacheConfiguration.defaultCacheConfig()
-                                .entryTtl(Duration.ofMinutes(10))
+                                .entryTtl(entryTtl)
+                                .computePrefixWith(format::keyPrefix)
                                 .serializeKeysWith(
                                                 RedisSerializationContext.SerializationPair
                                                                 .fromSerializer(new StringRedisSerializer()))
                                 .serializeValuesWith(
                                                 RedisSerializationContext.SerializationPair
-                                                                .fromSerializer(new GenericJackson2JsonRedisSerializer()))
+                                                                .fromSerializer(format.serializer()))
                                 .disableCachingNullValues();
 
-                return RedisCacheManager.builder(redisConnectionFactory)
+                RedisCacheManager redisCacheManager = RedisCacheManager.builder(redisConnectionFactory)
                                 .cacheDefaults(cacheConfig)
                                 .withCacheConfiguration("products", cacheConfig)
+                                .withCacheConfiguration("productPages", cacheConfig)
+                                .withCacheConfiguration("aiSearchResults",
+                                                cacheConfig.entryTtl(Duration.ofMillis(searchResultTtlMs)))
                                 .build();
+                redisCacheManager.afterPropertiesSet();
+
+                return new TwoLevelCacheManager(redisCacheManager, stringRedisTemplate, meterRegistry,
+                                invalidationChannel, l1MaximumSize, Duration.ofMillis(l1TtlMs),
+                                new RedisCacheLoadLock(stringRedisTemplate, Duration.ofMillis(loadLockTtlMs)),
+                                new TwoLevelCache.LoadSettings(entryTtl, Duration.ofMillis(loadLockWaitMs),
+                                                earlyRefreshBeta));
+        }
+
+        /**
+         * Drops L1 entries evicted or cleared on other instances.
+         */
+        @Bean
+        public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+                        RedisConnectionFactory redisConnectionFactory, TwoLevelCacheManager cacheManager) {
+                RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+                container.setConnectionFactory(redisConnectionFactory);
+                container.addMessageListener(
+                                (message, pattern) -> cacheManager
+                                                .onInvalidation(new String(message.getBody(), StandardCharsets.UTF_8)),
+                                new ChannelTopic(invalidationChannel));
+                return container;
         }
 
         @Override
@@ -0,0 +1,67 @@
+package io.github.yusufakcay_dev.product_service.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * CacheLoadLock on a Redis SET NX PX key. The TTL frees the lock if its
+ * holder dies mid-load; release only deletes the key if the token matches, so
+ * a slow holder whose lock already expired cannot free someone else's.
+ */
+@Slf4j
+public class RedisCacheLoadLock implements CacheLoadLock {
+
+    private static final String KEY_PREFIX = "cache-load-lock:";
+
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration lockTtl;
+
+    public RedisCacheLoadLock(StringRedisTemplate redisTemplate, Duration lockTtl) {
+        this.redisTemplate = redisTemplate;
+        this.lockTtl = lockTtl;
+    }
+
+    @Override
+    public String tryAcquire(String key) {
+        String token = UUID.randomUUID().toString();
+        try {
+            Boolean acquired = redisTemplate.opsForValue().setIfAbsent(KEY_PREFIX + key, token, lockTtl);
+            return Boolean.TRUE.equals(acquired) ? token : null;
+        } catch (Exception e) {
+            log.warn("Cache load lock unavailable for key '{}', loading without it: {}", key, e.getMessage());
+            return UNLOCKED;
+        }
+    }
+
+    @Override
+    public boolean isHeld(String key) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + key));
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void release(String key, String token) {
+        if (UNLOCKED.equals(token)) {
+            return;
+        }
+        try {
+            redisTemplate.execute(RELEASE, List.of(KEY_PREFIX + key), token);
+        } catch (Exception e) {
+            // Expires on its own after lockTtl
+            log.warn("Failed to release cache load lock for key '{}': {}", key, e.getMessage());
+        }
+    }
+}
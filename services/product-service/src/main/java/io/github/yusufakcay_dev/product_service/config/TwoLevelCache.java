@@ -0,0 +1,445 @@
+package io.github.yusufakcay_dev.product_service.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * A bounded in-process Caffeine cache (L1) in front of a Redis cache (L2).
+ *
+ * Reads try L1, then L2, and copy L2 hits into L1. Evictions and clears go to
+ * both levels and are handed to the invalidation publisher so other
+ * instances drop their L1 copy; puts are not broadcast, so anything that
+ * changes a cached value must evict it. L1 entries also expire after a short
+ * TTL, which bounds staleness if an invalidation message is lost.
+ *
+ * Loading reads (@Cacheable(sync = true)) are single-flight: within an
+ * instance one thread per key reads through, and across instances the
+ * CacheLoadLock picks one loader while the others poll L2 for its result.
+ * A hit close to its L2 expiry may be refreshed early by a caller that wins
+ * the same lock (probabilistic early expiration, weighted by how long the
+ * value took to load); everyone else keeps reading the current value, so a
+ * hot key is never cold. Evicted entries are never served stale.
+ */
+@Slf4j
+public class TwoLevelCache implements Cache {
+
+    private static final long POLL_MILLIS = 20;
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, CacheEntry> local;
+    private final Cache remote;
+    private final Consumer<String> invalidationPublisher;
+    private final CacheLoadLock loadLock;
+    private final LoadSettings settings;
+    private final ConcurrentMap<String, CompletableFuture<CacheEntry>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter l1Hits;
+    private final Counter l1Misses;
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+    private final Counter leaderLoads;
+    private final Counter followerReads;
+    private final Counter fallbackLoads;
+    private final Counter earlyRefreshes;
+
+    /**
+     * @param remoteTtl        TTL of L2 entries, the expiry early refresh aims
+     *                         to beat
+     * @param lockWait         how long a caller that lost the load lock polls
+     *                         L2 before loading itself
+     * @param earlyRefreshBeta how eagerly to refresh before expiry; 0 disables
+     */
+    public record LoadSettings(Duration remoteTtl, Duration lockWait, double earlyRefreshBeta) {
+    }
+
+    /**
+     * @param invalidationPublisher called with the L1 key after an eviction,
+     *                              or with null after a clear
+     */
+    public TwoLevelCache(String name, com.github.benmanes.caffeine.cache.Cache<String, CacheEntry> local,
+            Cache remote, Consumer<String> invalidationPublisher, CacheLoadLock loadLock, LoadSettings settings,
+            MeterRegistry meterRegistry) {
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.invalidationPublisher = invalidationPublisher;
+        this.loadLock = loadLock;
+        this.settings = settings;
+
+        l1Hits = gets(meterRegistry, "l1", "hit");
+        l1Misses = gets(meterRegistry, "l1", "miss");
+        l2Hits = gets(meterRegistry, "l2", "hit");
+        l2Misses = gets(meterRegistry, "l2", "miss");
+        leaderLoads = loads(meterRegistry, "leader");
+        followerReads = loads(meterRegistry, "follower");
+        fallbackLoads = loads(meterRegistry, "fallback");
+        earlyRefreshes = Counter.builder("cache.early.refreshes")
+                .tag("cache", name)
+                .description("Entries reloaded ahead of their L2 expiry")
+                .register(meterRegistry);
+        Gauge.builder("cache.level.size", local, com.github.benmanes.caffeine.cache.Cache::estimatedSize)
+                .tag("cache", name).tag("level", "l1")
+                .description("Approximate number of entries in the in-process cache level")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.level.evictions", local, c -> c.stats().evictionCount())
+                .tag("cache", name).tag("level", "l1")
+                .description("Entries dropped from the in-process cache level for size or expiry")
+                .register(meterRegistry);
+    }
+
+    private Counter gets(MeterRegistry meterRegistry, String level, String result) {
+        return Counter.builder("cache.level.gets")
+                .tag("cache", name).tag("level", level).tag("result", result)
+                .description("Cache lookups per level; an L1 miss is followed by an L2 lookup")
+                .register(meterRegistry);
+    }
+
+    private Counter loads(MeterRegistry meterRegistry, String role) {
+        return Counter.builder("cache.single.flight.loads")
+                .tag("cache", name).tag("role", role)
+                .description("L2 misses by how they were resolved: loaded under the lock, read from the "
+                        + "lock holder's result, or loaded after waiting in vain")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        CacheEntry entry = local.getIfPresent(localKey);
+        if (entry != null) {
+            l1Hits.increment();
+            return new SimpleValueWrapper(entry.value());
+        }
+        l1Misses.increment();
+
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper == null || wrapper.get() == null) {
+            l2Misses.increment();
+            return null;
+        }
+        l2Hits.increment();
+        entry = CacheEntry.of(wrapper.get());
+        local.put(localKey, entry);
+        return new SimpleValueWrapper(entry.value());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        CacheEntry entry = local.getIfPresent(localKey);
+        if (entry != null) {
+            l1Hits.increment();
+        } else {
+            l1Misses.increment();
+            entry = singleFlight(key, localKey, valueLoader);
+            if (entry == null) {
+                return null;
+            }
+        }
+
+        if (shouldRefreshEarly(entry)) {
+            entry = refreshEarly(key, localKey, entry, valueLoader);
+        }
+        return (T) entry.value();
+    }
+
+    /**
+     * Lets one thread per key and instance read through; the others wait for
+     * its result rather than queueing up on Redis and the loader.
+     */
+    private CacheEntry singleFlight(Object key, String localKey, Callable<?> valueLoader) {
+        CompletableFuture<CacheEntry> mine = new CompletableFuture<>();
+        CompletableFuture<CacheEntry> inProgress = inFlight.putIfAbsent(localKey, mine);
+        if (inProgress != null) {
+            try {
+                return inProgress.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        try {
+            CacheEntry entry = readThrough(key, valueLoader);
+            if (entry != null) {
+                local.put(localKey, entry);
+            }
+            mine.complete(entry);
+            return entry;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(localKey, mine);
+        }
+    }
+
+    private CacheEntry readThrough(Object key, Callable<?> valueLoader) {
+        CacheEntry stored = remoteGet(key);
+        if (stored != null) {
+            l2Hits.increment();
+            return stored;
+        }
+        l2Misses.increment();
+
+        String lockKey = lockKey(key);
+        String token = loadLock.tryAcquire(lockKey);
+        if (token != null) {
+            leaderLoads.increment();
+            try {
+                // Another instance may have loaded it between our miss and taking the lock
+                stored = remoteGet(key);
+                return stored != null ? stored : load(key, valueLoader);
+            } finally {
+                loadLock.release(lockKey, token);
+            }
+        }
+
+        long deadline = System.nanoTime() + settings.lockWait().toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            stored = remoteGet(key);
+            if (stored != null) {
+                followerReads.increment();
+                return stored;
+            }
+            if (!loadLock.isHeld(lockKey)) {
+                // The holder finished without storing anything, e.g. the load failed
+                break;
+            }
+        }
+        fallbackLoads.increment();
+        return load(key, valueLoader);
+    }
+
+    private CacheEntry load(Object key, Callable<?> valueLoader) {
+        long start = System.nanoTime();
+        Object value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        if (value == null) {
+            return null;
+        }
+        CacheEntry entry = new CacheEntry(value, System.currentTimeMillis(),
+                Duration.ofNanos(System.nanoTime() - start).toMillis());
+        remotePut(key, entry);
+        return entry;
+    }
+
+    /**
+     * True with a probability that rises towards the L2 expiry, faster for
+     * values that are slow to load.
+     */
+    boolean shouldRefreshEarly(CacheEntry entry) {
+        if (settings.earlyRefreshBeta() <= 0 || entry.loadMillis() <= 0) {
+            return false;
+        }
+        long expiresAt = entry.loadedAtMillis() + settings.remoteTtl().toMillis();
+        double head = entry.loadMillis() * settings.earlyRefreshBeta()
+                * -Math.log(ThreadLocalRandom.current().nextDouble());
+        return System.currentTimeMillis() + head >= expiresAt;
+    }
+
+    private CacheEntry refreshEarly(Object key, String localKey, CacheEntry current, Callable<?> valueLoader) {
+        String lockKey = lockKey(key);
+        String token = loadLock.tryAcquire(lockKey);
+        if (token == null) {
+            // Someone else is already refreshing it
+            return current;
+        }
+        try {
+            CacheEntry stored = remoteGet(key);
+            CacheEntry fresh = stored != null && stored.loadedAtMillis() > current.loadedAtMillis()
+                    ? stored
+                    : load(key, valueLoader);
+            if (fresh == null) {
+                return current;
+            }
+            if (fresh != stored) {
+                earlyRefreshes.increment();
+            }
+            local.put(localKey, fresh);
+            return fresh;
+        } catch (RuntimeException e) {
+            log.warn("Early refresh failed for key '{}' in cache '{}', serving the current value: {}", key, name,
+                    e.getMessage());
+            return current;
+        } finally {
+            loadLock.release(lockKey, token);
+        }
+    }
+
+    /**
+     * L2 read on the loading path; an unavailable Redis counts as a miss so
+     * reads fall through to the loader instead of failing.
+     */
+    private CacheEntry remoteGet(Object key) {
+        try {
+            ValueWrapper wrapper = remote.get(key);
+            return wrapper != null && wrapper.get() != null ? CacheEntry.of(wrapper.get()) : null;
+        } catch (RuntimeException e) {
+            log.error("Cache GET error for key '{}' in cache '{}': {}", key, name, e.getMessage());
+            return null;
+        }
+    }
+
+    private void remotePut(Object key, CacheEntry entry) {
+        try {
+            remote.put(key, entry);
+        } catch (RuntimeException e) {
+            log.error("Cache PUT error for key '{}' in cache '{}': {}", key, name, e.getMessage());
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            evict(key);
+            return;
+        }
+        CacheEntry entry = new CacheEntry(value, System.currentTimeMillis(), 0);
+        remote.put(key, entry);
+        local.put(localKey(key), entry);
+    }
+
+    @Override
+    public void evict(Object key) {
+        String localKey = localKey(key);
+        local.invalidate(localKey);
+        try {
+            remote.evict(key);
+        } finally {
+            invalidationPublisher.accept(localKey);
+        }
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        String localKey = localKey(key);
+        local.invalidate(localKey);
+        try {
+            return remote.evictIfPresent(key);
+        } finally {
+            invalidationPublisher.accept(localKey);
+        }
+    }
+
+    @Override
+    public void clear() {
+        local.invalidateAll();
+        try {
+            remote.clear();
+        } finally {
+            invalidationPublisher.accept(null);
+        }
+    }
+
+    @Override
+    public boolean invalidate() {
+        local.invalidateAll();
+        try {
+            return remote.invalidate();
+        } finally {
+            invalidationPublisher.accept(null);
+        }
+    }
+
+    /**
+     * L1 step of a batch read; counts the hit or miss like get does.
+     */
+    Object getLocal(String localKey) {
+        CacheEntry entry = local.getIfPresent(localKey);
+        if (entry != null) {
+            l1Hits.increment();
+            return entry.value();
+        }
+        l1Misses.increment();
+        return null;
+    }
+
+    /**
+     * L2 step of a batch read: counts the result and copies a hit into L1.
+     *
+     * @param stored the value read from L2, or null on a miss
+     */
+    Object putLocalFromRemote(String localKey, Object stored) {
+        if (stored == null) {
+            l2Misses.increment();
+            return null;
+        }
+        l2Hits.increment();
+        CacheEntry entry = CacheEntry.of(stored);
+        local.put(localKey, entry);
+        return entry.value();
+    }
+
+    /**
+     * Drops an entry from L1 only, on an invalidation from another instance.
+     */
+    void evictLocal(String localKey) {
+        local.invalidate(localKey);
+    }
+
+    /**
+     * Empties L1 only, on a clear from another instance.
+     */
+    void clearLocal() {
+        local.invalidateAll();
+    }
+
+    private String lockKey(Object key) {
+        return name + "::" + localKey(key);
+    }
+
+    /**
+     * L1 is keyed by the same string form Redis uses, so keys read back from
+     * an invalidation message match.
+     */
+    static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,230 @@
+package io.github.yusufakcay_dev.product_service.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Wraps every cache of the Redis CacheManager in a TwoLevelCache and keeps
+ * the L1 levels of all instances in step over Redis pub/sub.
+ *
+ * Invalidation messages are "instanceId:cacheName:key", or
+ * "instanceId:cacheName" for a clear. An instance ignores its own messages,
+ * having already applied them locally.
+ */
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager {
+
+    private final CacheManager remote;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final String channel;
+    private final long maximumSize;
+    private final Duration ttl;
+    private final CacheLoadLock loadLock;
+    private final TwoLevelCache.LoadSettings loadSettings;
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(CacheManager remote, StringRedisTemplate redisTemplate, MeterRegistry meterRegistry,
+            String channel, long maximumSize, Duration ttl, CacheLoadLock loadLock,
+            TwoLevelCache.LoadSettings loadSettings) {
+        this.remote = remote;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.channel = channel;
+        this.maximumSize = maximumSize;
+        this.ttl = ttl;
+        this.loadLock = loadLock;
+        this.loadSettings = loadSettings;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remote.getCacheNames();
+    }
+
+    private TwoLevelCache createCache(String name) {
+        Cache remoteCache = remote.getCache(name);
+        if (remoteCache == null) {
+            return null;
+        }
+        com.github.benmanes.caffeine.cache.Cache<String, CacheEntry> local = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        return new TwoLevelCache(name, local, remoteCache, key -> publish(name, key), loadLock, loadSettings,
+                meterRegistry);
+    }
+
+    /**
+     * Evicts many keys of one cache at once. L1 is dropped directly; the
+     * Redis DEL and all invalidation messages go out in one pipelined round
+     * trip instead of two round trips per key.
+     */
+    public void evictAll(String cacheName, Collection<?> keys) {
+        TwoLevelCache cache = (TwoLevelCache) getCache(cacheName);
+        if (cache == null || keys.isEmpty()) {
+            return;
+        }
+        if (!(remote.getCache(cacheName) instanceof RedisCache redisCache)) {
+            keys.forEach(cache::evict);
+            return;
+        }
+
+        List<String> localKeys = keys.stream().map(TwoLevelCache::localKey).toList();
+        localKeys.forEach(cache::evictLocal);
+
+        String prefix = redisCache.getCacheConfiguration().getKeyPrefixFor(cacheName);
+        byte[][] redisKeys = localKeys.stream()
+                .map(key -> (prefix + key).getBytes(StandardCharsets.UTF_8))
+                .toArray(byte[][]::new);
+        byte[] channelBytes = channel.getBytes(StandardCharsets.UTF_8);
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                connection.keyCommands().del(redisKeys);
+                for (String key : localKeys) {
+                    connection.publish(channelBytes, message(cacheName, key).getBytes(StandardCharsets.UTF_8));
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            // Same as a failed single eviction: the L2 entries live until their TTL
+            log.error("Cache EVICT error for {} keys in cache '{}': {}", localKeys.size(), cacheName,
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Reads many keys of one cache at once. L1 hits are served directly; the
+     * misses are fetched from Redis with one MGET instead of a GET per key
+     * and copied into L1. Keys found in neither level are left out, and an
+     * unavailable Redis counts as a miss for every key it was asked for.
+     */
+    public <K> Map<K, Object> getAll(String cacheName, Collection<K> keys) {
+        Map<K, Object> found = new HashMap<>();
+        TwoLevelCache cache = (TwoLevelCache) getCache(cacheName);
+        if (cache == null || keys.isEmpty()) {
+            return found;
+        }
+
+        List<K> misses = new ArrayList<>();
+        for (K key : keys) {
+            Object value = cache.getLocal(TwoLevelCache.localKey(key));
+            if (value != null) {
+                found.put(key, value);
+            } else {
+                misses.add(key);
+            }
+        }
+        if (misses.isEmpty()) {
+            return found;
+        }
+
+        List<Object> stored = remoteGetAll(cacheName, misses);
+        for (int i = 0; i < misses.size(); i++) {
+            K key = misses.get(i);
+            Object value = cache.putLocalFromRemote(TwoLevelCache.localKey(key), stored.get(i));
+            if (value != null) {
+                found.put(key, value);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Stored L2 values for keys, in key order with null for misses.
+     */
+    private List<Object> remoteGetAll(String cacheName, List<?> keys) {
+        List<Object> stored = new ArrayList<>(Collections.nCopies(keys.size(), null));
+        Cache remoteCache = remote.getCache(cacheName);
+        try {
+            if (!(remoteCache instanceof RedisCache redisCache)) {
+                for (int i = 0; i < keys.size(); i++) {
+                    Cache.ValueWrapper wrapper = remoteCache.get(keys.get(i));
+                    stored.set(i, wrapper != null ? wrapper.get() : null);
+                }
+                return stored;
+            }
+
+            RedisCacheConfiguration config = redisCache.getCacheConfiguration();
+            String prefix = config.getKeyPrefixFor(cacheName);
+            byte[][] redisKeys = keys.stream()
+                    .map(key -> (prefix + TwoLevelCache.localKey(key)).getBytes(StandardCharsets.UTF_8))
+                    .toArray(byte[][]::new);
+            List<byte[]> values = redisTemplate.execute(
+                    (RedisCallback<List<byte[]>>) connection -> connection.stringCommands().mGet(redisKeys));
+            for (int i = 0; values != null && i < values.size(); i++) {
+                byte[] raw = values.get(i);
+                Object value = raw != null ? config.getValueSerializationPair().read(ByteBuffer.wrap(raw)) : null;
+                stored.set(i, value instanceof NullValue ? null : value);
+            }
+        } catch (Exception e) {
+            log.error("Cache GET error for {} keys in cache '{}': {}", keys.size(), cacheName, e.getMessage());
+            Collections.fill(stored, null);
+        }
+        return stored;
+    }
+
+    private String message(String cacheName, String key) {
+        return instanceId + ":" + cacheName + (key != null ? ":" + key : "");
+    }
+
+    private void publish(String cacheName, String key) {
+        String message = message(cacheName, key);
+        try {
+            redisTemplate.convertAndSend(channel, message);
+        } catch (Exception e) {
+            // Other instances fall back to the L1 TTL
+            log.warn("Failed to publish cache invalidation '{}': {}", message, e.getMessage());
+        }
+    }
+
+    /**
+     * Applies an invalidation message received from the channel.
+     */
+    public void onInvalidation(String message) {
+        String[] parts = message.split(":", 3);
+        if (parts.length < 2 || instanceId.equals(parts[0])) {
+            return;
+        }
+        TwoLevelCache cache = caches.get(parts[1]);
+        if (cache == null) {
+            return;
+        }
+        if (parts.length == 3) {
+            cache.evictLocal(parts[2]);
+        } else {
+            cache.clearLocal();
+        }
+        log.debug("Applied cache invalidation from instance {}: cache={}, key={}", parts[0], parts[1],
+                parts.length == 3 ? parts[2] : "*");
+    }
+}
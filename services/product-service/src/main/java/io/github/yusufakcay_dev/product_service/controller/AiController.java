@@ -2,10 +2,14 @@ package io.github.yusufakcay_dev.product_service.controller;
 
 import io.github.yusufakcay_dev.product_service.dto.ProductResponse;
 import io.github.yusufakcay_dev.product_service.service.AiSearchService;
+import io.github.yusufakcay_dev.product_service.service.ProductEmbeddingIndexer;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 
@@ -16,13 +20,18 @@ import java.util.List;
 public class AiController {
 
     private final AiSearchService aiService;
+    private final ProductEmbeddingIndexer indexer;
 
-    // Endpoint 1: "Train" (Index)
+    // Endpoint 1: "Train" (Index). Product changes are indexed automatically; this backfills or repairs.
     @PostMapping("/index")
-    @Operation(summary = "Admin: Index products for AI", description = "Generates embeddings for all products")
-    public String indexProducts() {
-        aiService.indexAllProducts();
-        return "AI Indexing triggered successfully.";
+    @Operation(summary = "Admin: Rebuild the AI index", description = "Starts a background rebuild that walks "
+            + "the catalog in pages and embeds products whose content is not indexed yet (all of them with "
+            + "force=true). Resumes an interrupted rebuild where it stopped. 409 if a rebuild is already running.")
+    public ResponseEntity<String> indexProducts(@RequestParam(defaultValue = "false") boolean force) {
+        if (!indexer.startRebuild(force)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "An AI index rebuild is already running");
+        }
+        return ResponseEntity.accepted().body("AI index rebuild started.");
     }
 
     // Endpoint 2: Search
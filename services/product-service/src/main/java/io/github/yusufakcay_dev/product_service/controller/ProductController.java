@@ -1,7 +1,14 @@
 package io.github.yusufakcay_dev.product_service.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.yusufakcay_dev.product_service.dto.BulkProductResponse;
+import io.github.yusufakcay_dev.product_service.dto.BulkProductResult;
+import io.github.yusufakcay_dev.product_service.dto.CursorPage;
 import io.github.yusufakcay_dev.product_service.dto.ProductRequest;
 import io.github.yusufakcay_dev.product_service.dto.ProductResponse;
+import io.github.yusufakcay_dev.product_service.repository.ProductSortKey;
 import io.github.yusufakcay_dev.product_service.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -10,14 +17,21 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
 @Slf4j
 @RestController
 @RequestMapping("/products")
@@ -25,7 +39,13 @@ import org.springframework.web.server.ResponseStatusException;
 @Tag(name = "Products", description = "Product management APIs")
 public class ProductController {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     private final ProductService service;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.products.bulk.chunk-size:500}")
+    private int bulkChunkSize;
 
     // POST /products - Protected by gateway (Admin only)
     @PostMapping
@@ -52,6 +72,56 @@ public class ProductController {
         return response;
     }
 
+    // POST /products/bulk - Protected by gateway (Admin only)
+    @PostMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    @Operation(summary = "Create products in bulk", description = "Admin only. Body is a JSON array of products or "
+            + "NDJSON, one product per line. Items are streamed and committed in chunks, and each gets its own "
+            + "result. On a malformed item the chunks before it are kept; resending the body is safe, as "
+            + "created SKUs come back as DUPLICATE_SKU.")
+    @ApiResponse(responseCode = "200", description = "Per-item results")
+    @ApiResponse(responseCode = "400", description = "Malformed body")
+    @ApiResponse(responseCode = "403", description = "Admin access required")
+    public BulkProductResponse createProducts(
+            @Parameter(hidden = true) InputStream body,
+            @Parameter(hidden = true) @RequestHeader(value = "X-User-Name", required = false) String username,
+            @Parameter(hidden = true) @RequestHeader(value = "X-User-Role", required = false) String role)
+            throws IOException {
+
+        if (role == null || !role.equals("ADMIN")) {
+            log.warn("Forbidden: Non-admin user {} attempted bulk product creation", username);
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only admins can create products");
+        }
+
+        List<BulkProductResult> results = new ArrayList<>();
+        List<ProductRequest> chunk = new ArrayList<>(bulkChunkSize);
+        // A root-level array is walked element by element, NDJSON value by value
+        try (MappingIterator<ProductRequest> items = objectMapper.readerFor(ProductRequest.class).readValues(body)) {
+            while (items.hasNextValue()) {
+                chunk.add(items.nextValue());
+                if (chunk.size() == bulkChunkSize) {
+                    results.addAll(service.createProducts(chunk, results.size()));
+                    chunk = new ArrayList<>(bulkChunkSize);
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed product at index " + (results.size() + chunk.size())
+                    + ": " + e.getOriginalMessage());
+        }
+        if (!chunk.isEmpty()) {
+            results.addAll(service.createProducts(chunk, results.size()));
+        }
+
+        int created = (int) results.stream()
+                .filter(result -> result.getStatus() == BulkProductResult.Status.CREATED)
+                .count();
+        log.info("Bulk product creation by {}: {} created, {} failed", username, created, results.size() - created);
+        return BulkProductResponse.builder()
+                .created(created)
+                .failed(results.size() - created)
+                .results(results)
+                .build();
+    }
+
     // GET /products - Public
     @GetMapping
     @Operation(summary = "Get all products")
@@ -68,6 +138,24 @@ public class ProductController {
         return service.getAllProducts(pageable);
     }
 
+    // GET /products/cursor - Public
+    @GetMapping("/cursor")
+    @Operation(summary = "Get products by cursor", description = "Keyset pagination: pass nextCursor from the "
+            + "previous page as cursor. Sort by id, price or name; the cursor keeps the sort of the first page.")
+    public CursorPage<ProductResponse> getProductsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "id,asc") String sort,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+        boolean descending = sort.endsWith(",desc");
+        ProductSortKey sortKey = ProductSortKey.from(sort.replace(",desc", "").replace(",asc", ""));
+        return service.getProductsByCursor(cursor, size, sortKey, descending, includeTotal);
+    }
+
     // GET /products/{id} - Public
     @GetMapping("/{id}")
     @ResponseStatus(HttpStatus.OK)
@@ -0,0 +1,18 @@
+package io.github.yusufakcay_dev.product_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkProductResponse {
+    private int created;
+    private int failed;
+    private List<BulkProductResult> results;
+}
@@ -0,0 +1,28 @@
+package io.github.yusufakcay_dev.product_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one item of POST /products/bulk, by its position in the request.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkProductResult {
+
+    public enum Status {
+        CREATED, DUPLICATE_SKU, INVALID
+    }
+
+    private int index;
+    private String sku;
+    private Status status;
+    // Set when CREATED
+    private Long id;
+    // Set otherwise
+    private String error;
+}
@@ -0,0 +1,24 @@
+package io.github.yusufakcay_dev.product_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a keyset listing. Pass nextCursor back to get the next page;
+ * it is null on the last page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> content;
+    private String nextCursor;
+    private boolean hasNext;
+    // Approximate, and only when requested
+    private Long totalEstimate;
+}
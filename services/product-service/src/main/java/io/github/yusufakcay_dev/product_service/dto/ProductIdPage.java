@@ -0,0 +1,23 @@
+package io.github.yusufakcay_dev.product_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A cached listing page: the ids it holds, in order, plus what is needed to
+ * rebuild the page around them. The products themselves are resolved through
+ * the per-product cache, so a change to one product never invalidates the
+ * pages it appears on.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductIdPage {
+    private long[] ids;
+    // Offset pages only
+    private Long totalElements;
+    // Cursor pages only
+    private String nextCursor;
+    private boolean hasNext;
+}
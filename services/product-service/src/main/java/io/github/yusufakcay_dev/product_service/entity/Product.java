@@ -10,7 +10,10 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "products", indexes = {
         @Index(name = "idx_sku", columnList = "sku"),
-        @Index(name = "idx_active", columnList = "active")
+        @Index(name = "idx_active", columnList = "active"),
+        // Keyset pagination, one per ProductSortKey other than id
+        @Index(name = "idx_price_id", columnList = "price, id"),
+        @Index(name = "idx_name_id", columnList = "name, id")
 })
 @Getter
 @Setter
@@ -19,8 +22,11 @@ import java.time.LocalDateTime;
 @Builder
 public class Product {
 
+    // Pooled sequence: one nextval per 50 ids, and inserts can be JDBC-batched,
+    // which IDENTITY rules out. See ProductIdSequenceAligner for existing rows.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_seq")
+    @SequenceGenerator(name = "products_seq", sequenceName = "products_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -0,0 +1,108 @@
+package io.github.yusufakcay_dev.product_service.event;
+
+import io.github.yusufakcay_dev.product_service.config.TwoLevelCacheManager;
+import io.github.yusufakcay_dev.product_service.dto.ProductStockStatusEvent;
+import io.github.yusufakcay_dev.product_service.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.log.LogAccessor;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Batch alternative to ProductStockStatusConsumer.
+ *
+ * Inventory keys status events by SKU, so a poll holds each SKU's events in
+ * order and only the last one matters. One poll becomes one UPDATE for all
+ * SKUs and one pipelined Redis call evicting their cache entries, however
+ * often stock flapped in between. Records that fail are forwarded to the
+ * retry topic (or the DLT for poison records), where the record listener's
+ * retry endpoints pick them up. Those endpoints are started here because the
+ * record listener itself stays stopped in batch mode.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.stock-status.batch.enabled", havingValue = "true")
+public class ProductStockStatusBatchConsumer {
+
+    private static final LogAccessor LOG_ACCESSOR = new LogAccessor(ProductStockStatusBatchConsumer.class);
+
+    private final ProductRepository productRepository;
+    private final TwoLevelCacheManager cacheManager;
+    private final DeadLetterPublishingRecoverer stockStatusRetryRecoverer;
+    private final KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRetryListeners() {
+        for (String id : kafkaListenerEndpointRegistry.getListenerContainerIds()) {
+            if (id.startsWith(ProductStockStatusConsumer.LISTENER_ID + "-")) {
+                MessageListenerContainer container = kafkaListenerEndpointRegistry.getListenerContainer(id);
+                if (container != null && !container.isRunning()) {
+                    container.start();
+                    log.info("Started retry listener container: {}", id);
+                }
+            }
+        }
+    }
+
+    @KafkaListener(id = "product-stock-status-batch-listener", topics = "product-stock-status-topic", groupId = "product-service-group", containerFactory = "batchKafkaListenerContainerFactory")
+    public void handleStockStatusEvents(List<ConsumerRecord<String, ProductStockStatusEvent>> records) {
+        // Last status per SKU wins; insertion order keeps the UPDATE deterministic
+        Map<String, ConsumerRecord<String, ProductStockStatusEvent>> latest = new LinkedHashMap<>();
+        for (ConsumerRecord<String, ProductStockStatusEvent> record : records) {
+            if (record.value() == null) {
+                forwardPoisonRecord(record);
+                continue;
+            }
+            latest.put(record.value().getSku(), record);
+        }
+        if (latest.isEmpty()) {
+            return;
+        }
+        log.info("Received batch of {} stock status events for {} SKUs", records.size(), latest.size());
+
+        Map<String, Boolean> inStockBySku = new LinkedHashMap<>();
+        latest.forEach((sku, record) -> inStockBySku.put(sku, record.value().getInStock()));
+
+        Map<String, Long> updated;
+        try {
+            updated = productRepository.updateInStockBySku(inStockBySku);
+        } catch (Exception e) {
+            log.error("Failed to apply batch of {} stock statuses. Forwarding to retry topic.", latest.size(), e);
+            latest.values().forEach(record -> stockStatusRetryRecoverer.accept(record, e));
+            return;
+        }
+
+        cacheManager.evictAll("products", updated.values());
+        log.info("Updated inStock for {} products - Cache evicted", updated.size());
+
+        latest.forEach((sku, record) -> {
+            if (!updated.containsKey(sku)) {
+                stockStatusRetryRecoverer.accept(record, new RuntimeException("Product not found for SKU: " + sku));
+            }
+        });
+    }
+
+    private void forwardPoisonRecord(ConsumerRecord<String, ProductStockStatusEvent> record) {
+        DeserializationException exception = SerializationUtils.getExceptionFromHeader(record,
+                SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER, LOG_ACCESSOR);
+        log.error("Undeserializable stock status event at {}-{}@{}. Sending to DLT.",
+                record.topic(), record.partition(), record.offset());
+        stockStatusRetryRecoverer.accept(record, exception != null ? exception
+                : new DeserializationException("Null stock status value", null, false, null));
+    }
+}
@@ -21,11 +21,13 @@ import org.springframework.transaction.annotation.Transactional;
 @Slf4j
 public class ProductStockStatusConsumer {
 
+    public static final String LISTENER_ID = "product-stock-status-listener";
+
     private final ProductRepository productRepository;
 
     @RetryableTopic(attempts = "4", backoff = @Backoff(delay = 1000, multiplier = 2.0, maxDelay = 5000), autoCreateTopics = "true", include = {
             Exception.class }, topicSuffixingStrategy = TopicSuffixingStrategy.SUFFIX_WITH_INDEX_VALUE)
-    @KafkaListener(topics = "product-stock-status-topic", groupId = "product-service-group")
+    @KafkaListener(id = LISTENER_ID, topics = "product-stock-status-topic", groupId = "product-service-group", autoStartup = "#{!${app.stock-status.batch.enabled:false}}")
     @Transactional
     @CacheEvict(value = "products", key = "#result.id", condition = "#result != null")
     public Product handleStockStatusEvent(ProductStockStatusEvent event) {
@@ -35,7 +37,8 @@ public class ProductStockStatusConsumer {
             Product product = productRepository.findBySku(event.getSku())
                     .orElseThrow(() -> new RuntimeException("Product not found for SKU: " + event.getSku()));
 
-            // Update inStock status
+            // Update inStock status. Listing pages only hold ids and inStock is
+            // not a sort key, so evicting this product refreshes them too.
             product.setInStock(event.getInStock());
             productRepository.save(product);
 
@@ -0,0 +1,135 @@
+package io.github.yusufakcay_dev.product_service.repository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Embedding state per product: the hash of the content that should be in the
+ * vector store and the hash of what is. A product whose hashes differ is
+ * pending; a product saved with unchanged content keeps equal hashes and is
+ * never re-embedded.
+ *
+ * The table doubles as the job queue. Workers lease pending rows with
+ * claimed_until, so several instances can drain it without embedding the
+ * same product twice, and a crashed worker's lease simply runs out. Not a
+ * JPA entity because Hibernate's schema update cannot create the partial
+ * index that keeps finding pending rows independent of catalog size.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductEmbeddingRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @PostConstruct
+    public void createTableIfMissing() {
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS product_embeddings (
+                    product_id BIGINT PRIMARY KEY,
+                    content_hash VARCHAR(64) NOT NULL,
+                    indexed_hash VARCHAR(64),
+                    claimed_until TIMESTAMP(6),
+                    updated_at TIMESTAMP(6) NOT NULL DEFAULT now()
+                )""");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_product_embeddings_pending "
+                + "ON product_embeddings (product_id) WHERE indexed_hash IS DISTINCT FROM content_hash");
+    }
+
+    /**
+     * Records the content hash each product should be indexed at. Joins the
+     * caller's transaction, so the job exists exactly when the change does.
+     */
+    public void enqueue(Map<Long, String> contentHashes) {
+        List<Map.Entry<Long, String>> rows = new ArrayList<>(contentHashes.entrySet());
+        jdbcTemplate.batchUpdate("INSERT INTO product_embeddings (product_id, content_hash) VALUES (?, ?) "
+                + "ON CONFLICT (product_id) DO UPDATE SET content_hash = EXCLUDED.content_hash, updated_at = now() "
+                + "WHERE product_embeddings.content_hash <> EXCLUDED.content_hash",
+                rows, rows.size(), (ps, row) -> {
+                    ps.setLong(1, row.getKey());
+                    ps.setString(2, row.getValue());
+                });
+    }
+
+    /**
+     * Leases up to limit pending products for the given time. SKIP LOCKED
+     * keeps concurrent workers from blocking on each other.
+     */
+    public List<Long> claimPending(int limit, Duration lease) {
+        return jdbcTemplate.queryForList("""
+                UPDATE product_embeddings SET claimed_until = now() + make_interval(secs => ?)
+                WHERE product_id IN (
+                    SELECT product_id FROM product_embeddings
+                    WHERE indexed_hash IS DISTINCT FROM content_hash
+                      AND (claimed_until IS NULL OR claimed_until < now())
+                    ORDER BY product_id
+                    LIMIT ?
+                    FOR UPDATE SKIP LOCKED)
+                RETURNING product_id""", Long.class, lease.toSeconds(), limit);
+    }
+
+    /**
+     * Records what was embedded and releases the lease. A product whose
+     * content changed while it was being embedded stays pending.
+     */
+    public void markIndexed(Map<Long, String> embeddedHashes) {
+        List<Map.Entry<Long, String>> rows = new ArrayList<>(embeddedHashes.entrySet());
+        jdbcTemplate.batchUpdate("UPDATE product_embeddings SET indexed_hash = CASE WHEN content_hash = ? "
+                + "THEN content_hash ELSE indexed_hash END, claimed_until = NULL, updated_at = now() "
+                + "WHERE product_id = ?",
+                rows, rows.size(), (ps, row) -> {
+                    ps.setString(1, row.getValue());
+                    ps.setLong(2, row.getKey());
+                });
+    }
+
+    /**
+     * Rebuild counterpart of enqueue + markIndexed for content that was just
+     * embedded. Rows already waiting for other content are left pending.
+     */
+    public void upsertIndexed(Map<Long, String> embeddedHashes) {
+        List<Map.Entry<Long, String>> rows = new ArrayList<>(embeddedHashes.entrySet());
+        jdbcTemplate.batchUpdate("INSERT INTO product_embeddings (product_id, content_hash, indexed_hash) "
+                + "VALUES (?, ?, ?) ON CONFLICT (product_id) DO UPDATE SET content_hash = EXCLUDED.content_hash, "
+                + "indexed_hash = EXCLUDED.indexed_hash, updated_at = now() "
+                + "WHERE product_embeddings.content_hash = EXCLUDED.content_hash "
+                + "OR product_embeddings.indexed_hash IS NOT DISTINCT FROM product_embeddings.content_hash",
+                rows, rows.size(), (ps, row) -> {
+                    ps.setLong(1, row.getKey());
+                    ps.setString(2, row.getValue());
+                    ps.setString(3, row.getValue());
+                });
+    }
+
+    public Map<Long, String> findIndexedHashes(Collection<Long> productIds) {
+        Map<Long, String> hashes = new HashMap<>();
+        if (productIds.isEmpty()) {
+            return hashes;
+        }
+        namedParameterJdbcTemplate.query("SELECT product_id, indexed_hash FROM product_embeddings "
+                + "WHERE product_id IN (:ids) AND indexed_hash IS NOT NULL",
+                new MapSqlParameterSource("ids", productIds),
+                rs -> {
+                    hashes.put(rs.getLong(1), rs.getString(2));
+                });
+        return hashes;
+    }
+
+    public void deleteAll(Collection<Long> productIds) {
+        if (!productIds.isEmpty()) {
+            namedParameterJdbcTemplate.update("DELETE FROM product_embeddings WHERE product_id IN (:ids)",
+                    new MapSqlParameterSource("ids", productIds));
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.yusufakcay_dev.product_service.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Moves products_seq past ids that were assigned by the former IDENTITY
+ * column, which ddl-auto leaves in place when it creates the sequence.
+ *
+ * Runs once all beans exist, before the web server and Kafka listeners
+ * start, so no insert can draw an id that is already taken. A no-op once
+ * the sequence is ahead.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductIdSequenceAligner implements SmartInitializingSingleton {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        // With the pooled optimizer the next block is (value, value + 50], so max(id) is enough
+        List<Long> moved = jdbcTemplate.queryForList(
+                "SELECT setval('products_seq', m) FROM (SELECT MAX(id) AS m FROM products) t "
+                        + "WHERE m >= (SELECT last_value FROM products_seq)",
+                Long.class);
+        if (!moved.isEmpty()) {
+            log.info("Moved products_seq past existing product ids to {}", moved.get(0));
+        }
+    }
+}
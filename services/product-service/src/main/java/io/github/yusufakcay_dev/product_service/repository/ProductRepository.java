@@ -2,11 +2,18 @@ package io.github.yusufakcay_dev.product_service.repository;
 
 import io.github.yusufakcay_dev.product_service.entity.Product;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
     boolean existsBySku(String sku);
 
     Optional<Product> findBySku(String sku);
+
+    @Query("select p.sku from Product p where p.sku in :skus")
+    List<String> findExistingSkus(@Param("skus") Collection<String> skus);
 }
\ No newline at end of file
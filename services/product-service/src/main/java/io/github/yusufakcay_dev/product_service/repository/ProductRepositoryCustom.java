@@ -0,0 +1,28 @@
+package io.github.yusufakcay_dev.product_service.repository;
+
+import io.github.yusufakcay_dev.product_service.entity.Product;
+
+import java.util.List;
+import java.util.Map;
+
+public interface ProductRepositoryCustom {
+
+    /**
+     * Products ordered by (sortKey, id), starting after the given position,
+     * or from the start when afterId is null. No OFFSET and no count.
+     */
+    List<Product> findPageAfter(ProductSortKey sortKey, boolean descending, Object afterValue, Long afterId,
+            int limit);
+
+    /**
+     * Planner estimate of the number of products, or -1 if the table has
+     * never been analyzed.
+     */
+    long estimateCount();
+
+    /**
+     * Sets in_stock for every given SKU with one UPDATE and returns the ids
+     * of the updated products by SKU. SKUs with no product are absent.
+     */
+    Map<String, Long> updateInStockBySku(Map<String, Boolean> inStockBySku);
+}
@@ -0,0 +1,88 @@
+package io.github.yusufakcay_dev.product_service.repository;
+
+import io.github.yusufakcay_dev.product_service.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class ProductRepositoryImpl implements ProductRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Product> findPageAfter(ProductSortKey sortKey, boolean descending, Object afterValue, Long afterId,
+            int limit) {
+        // Both columns sort the same way, so the seek is one row-value comparison
+        String direction = descending ? "desc" : "asc";
+        String comparison = descending ? "<" : ">";
+        boolean byId = sortKey == ProductSortKey.ID;
+
+        StringBuilder jpql = new StringBuilder("select p from Product p");
+        if (afterId != null) {
+            jpql.append(byId
+                    ? " where p.id " + comparison + " :afterId"
+                    : " where (p." + sortKey.property() + ", p.id) " + comparison + " (:afterValue, :afterId)");
+        }
+        jpql.append(" order by p.").append(sortKey.property()).append(' ').append(direction);
+        if (!byId) {
+            jpql.append(", p.id ").append(direction);
+        }
+
+        TypedQuery<Product> query = entityManager.createQuery(jpql.toString(), Product.class)
+                .setMaxResults(limit);
+        if (afterId != null) {
+            query.setParameter("afterId", afterId);
+            if (!byId) {
+                query.setParameter("afterValue", afterValue);
+            }
+        }
+        return query.getResultList();
+    }
+
+    @Override
+    public long estimateCount() {
+        Number estimate = (Number) entityManager
+                .createNativeQuery("SELECT reltuples::bigint FROM pg_class WHERE oid = 'products'::regclass")
+                .getSingleResult();
+        return estimate.longValue();
+    }
+
+    @Override
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public Map<String, Long> updateInStockBySku(Map<String, Boolean> inStockBySku) {
+        if (inStockBySku.isEmpty()) {
+            return Map.of();
+        }
+        StringBuilder sql = new StringBuilder("UPDATE products SET in_stock = CASE sku");
+        for (int i = 0; i < inStockBySku.size(); i++) {
+            sql.append(" WHEN :sku").append(i).append(" THEN :inStock").append(i);
+        }
+        // RETURNING saves a SELECT for the ids to evict and tells which SKUs matched nothing
+        sql.append(" END, updated_at = :now WHERE sku IN (:skus) RETURNING id, sku");
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        int i = 0;
+        for (Map.Entry<String, Boolean> entry : inStockBySku.entrySet()) {
+            query.setParameter("sku" + i, entry.getKey());
+            query.setParameter("inStock" + i, entry.getValue());
+            i++;
+        }
+        query.setParameter("now", LocalDateTime.now());
+        query.setParameter("skus", inStockBySku.keySet());
+
+        Map<String, Long> updated = new HashMap<>();
+        for (Object[] row : (List<Object[]>) query.getResultList()) {
+            updated.put((String) row[1], ((Number) row[0]).longValue());
+        }
+        return updated;
+    }
+}
@@ -0,0 +1,81 @@
+package io.github.yusufakcay_dev.product_service.repository;
+
+import io.github.yusufakcay_dev.product_service.entity.Product;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+/**
+ * Columns product listings can be sorted and seeked on. Each is NOT NULL and
+ * backed by a (column, id) index on products, so a seek is an index range
+ * scan however deep the page.
+ */
+public enum ProductSortKey {
+
+    ID("id") {
+        @Override
+        public Object valueOf(Product product) {
+            return product.getId();
+        }
+
+        @Override
+        public Object parse(String value) {
+            return Long.valueOf(value);
+        }
+    },
+
+    PRICE("price") {
+        @Override
+        public Object valueOf(Product product) {
+            return product.getPrice();
+        }
+
+        @Override
+        public Object parse(String value) {
+            return new BigDecimal(value);
+        }
+    },
+
+    NAME("name") {
+        @Override
+        public Object valueOf(Product product) {
+            return product.getName();
+        }
+
+        @Override
+        public Object parse(String value) {
+            return value;
+        }
+    };
+
+    private final String property;
+
+    ProductSortKey(String property) {
+        this.property = property;
+    }
+
+    public String property() {
+        return property;
+    }
+
+    public abstract Object valueOf(Product product);
+
+    /**
+     * Reads back a value written with String.valueOf(valueOf(product)).
+     */
+    public abstract Object parse(String value);
+
+    public static Optional<ProductSortKey> find(String property) {
+        for (ProductSortKey key : values()) {
+            if (key.property.equalsIgnoreCase(property)) {
+                return Optional.of(key);
+            }
+        }
+        return Optional.empty();
+    }
+
+    public static ProductSortKey from(String property) {
+        return find(property).orElseThrow(() -> new IllegalArgumentException("Unsupported sort field: " + property
+                + ". Supported: id, price, name"));
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.yusufakcay_dev.product_service.scheduler;
+
+import io.github.yusufakcay_dev.product_service.service.ProductEmbeddingIndexer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drains the embedding queue filled by product writes. Each run indexes
+ * batches until the queue is empty or app.ai.indexing.max-batches-per-run is
+ * reached; a failed batch keeps its lease and is retried once it expires.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.ai.indexing.enabled", havingValue = "true")
+public class EmbeddingIndexScheduler {
+
+    private final ProductEmbeddingIndexer indexer;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.ai.indexing.batch-size:256}")
+    private int batchSize;
+
+    @Value("${app.ai.indexing.max-batches-per-run:50}")
+    private int maxBatchesPerRun;
+
+    private Counter failedBatchCounter;
+
+    @PostConstruct
+    void registerMetrics() {
+        failedBatchCounter = Counter.builder("product.embedding.index.failures")
+                .description("Embedding batches that failed and wait for their lease to expire")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.ai.indexing.poll-ms:5000}")
+    public void indexPendingProducts() {
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            int claimed;
+            try {
+                claimed = indexer.indexPending(batchSize);
+            } catch (Exception e) {
+                failedBatchCounter.increment();
+                log.error("Embedding batch failed, will retry after its lease expires", e);
+                break;
+            }
+            if (claimed < batchSize) {
+                break;
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package io.github.yusufakcay_dev.product_service.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Writes documents to the vector store in batches sized for the embedding
+ * model, with a bounded number of batches in flight.
+ *
+ * Each batch is one vectorStore.add call, which embeds the batch and upserts
+ * it into pgvector in one JDBC batch. The in-flight limit is shared by every
+ * caller, so the scheduler and a rebuild running together still stay within
+ * app.ai.embedding.concurrency calls; a caller that would exceed it blocks
+ * until a batch finishes instead of queueing more work.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmbeddingPipeline {
+
+    private final VectorStore vectorStore;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.ai.embedding.batch-size:64}")
+    private int batchSize;
+
+    @Value("${app.ai.embedding.concurrency:4}")
+    private int concurrency;
+
+    private ThreadPoolExecutor executor;
+    private Semaphore permits;
+
+    private Timer batchTimer;
+    private Counter documentCounter;
+    private Counter failedBatchCounter;
+
+    @PostConstruct
+    void start() {
+        // The semaphore bounds submissions, so the queue never holds more than concurrency tasks
+        executor = new ThreadPoolExecutor(concurrency, concurrency, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("embedding-"));
+        executor.allowCoreThreadTimeOut(true);
+        permits = new Semaphore(concurrency);
+        registerMetrics();
+    }
+
+    void registerMetrics() {
+        batchTimer = Timer.builder("product.embedding.batch")
+                .description("Latency of embedding and upserting one batch of documents")
+                .publishPercentiles(0.5, 0.95)
+                .register(meterRegistry);
+        documentCounter = Counter.builder("product.embedding.documents")
+                .description("Documents embedded and written to the vector store")
+                .register(meterRegistry);
+        failedBatchCounter = Counter.builder("product.embedding.batch.failures")
+                .description("Embedding batches that failed")
+                .register(meterRegistry);
+        Gauge.builder("product.embedding.batches.in-flight", this, EmbeddingPipeline::inFlight)
+                .description("Embedding batches currently running")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Embeds and stores the documents, calling onBatchWritten with each batch
+     * once it is in the vector store, on the thread that wrote it. Returns
+     * when every batch has finished.
+     *
+     * @throws RuntimeException the first batch failure, after the remaining
+     *                          batches have finished; batches already passed
+     *                          to onBatchWritten stay written
+     */
+    public void write(List<Document> documents, Consumer<List<Document>> onBatchWritten) {
+        List<CompletableFuture<Void>> batches = new ArrayList<>();
+        try {
+            for (int from = 0; from < documents.size(); from += batchSize) {
+                List<Document> batch = documents.subList(from, Math.min(from + batchSize, documents.size()));
+                permits.acquire();
+                try {
+                    batches.add(CompletableFuture.runAsync(() -> writeBatch(batch, onBatchWritten), executor));
+                } catch (RuntimeException e) {
+                    permits.release();
+                    throw e;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an embedding slot", e);
+        } finally {
+            awaitAll(batches);
+        }
+    }
+
+    private void writeBatch(List<Document> batch, Consumer<List<Document>> onBatchWritten) {
+        long start = System.nanoTime();
+        try {
+            vectorStore.add(batch);
+            batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            documentCounter.increment(batch.size());
+            onBatchWritten.accept(batch);
+        } catch (RuntimeException e) {
+            failedBatchCounter.increment();
+            log.warn("Embedding batch of {} documents failed: {}", batch.size(), e.getMessage());
+            throw e;
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static void awaitAll(List<CompletableFuture<Void>> batches) {
+        RuntimeException failure = null;
+        for (CompletableFuture<Void> batch : batches) {
+            try {
+                batch.join();
+            } catch (CompletionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException cause ? cause : e;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private double inFlight() {
+        return concurrency - permits.availablePermits();
+    }
+}
@@ -0,0 +1,47 @@
+package io.github.yusufakcay_dev.product_service.service;
+
+import io.github.yusufakcay_dev.product_service.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Approximate product count for listings that ask for a total.
+ *
+ * Reads the planner's row estimate instead of COUNT(*), which scans the whole
+ * table, and keeps it for refresh-ms. Falls back to an exact count only when
+ * the table has never been analyzed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductCountEstimator {
+
+    private final ProductRepository repository;
+
+    @Value("${app.products.count-estimate.refresh-ms:60000}")
+    private long refreshMs;
+
+    private volatile long estimate = -1;
+    private volatile long estimatedAtMillis;
+
+    public long estimate() {
+        long now = System.currentTimeMillis();
+        if (estimate >= 0 && now - estimatedAtMillis < refreshMs) {
+            return estimate;
+        }
+        synchronized (this) {
+            if (estimate < 0 || now - estimatedAtMillis >= refreshMs) {
+                long fresh = repository.estimateCount();
+                if (fresh < 0) {
+                    log.info("No planner statistics for products yet, counting rows");
+                    fresh = repository.count();
+                }
+                estimate = fresh;
+                estimatedAtMillis = now;
+            }
+            return estimate;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package io.github.yusufakcay_dev.product_service.service;
+
+import io.github.yusufakcay_dev.product_service.entity.Product;
+import io.github.yusufakcay_dev.product_service.repository.ProductSortKey;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in a keyset listing: the sort it belongs to and the (sort value,
+ * id) of the last product returned. Encoded as opaque URL-safe base64 so
+ * clients cannot come to depend on its layout.
+ */
+public record ProductCursor(ProductSortKey sortKey, boolean descending, Long lastId, String lastValue) {
+
+    private static final String VERSION = "v1";
+
+    public static ProductCursor after(ProductSortKey sortKey, boolean descending, Product last) {
+        return new ProductCursor(sortKey, descending, last.getId(), String.valueOf(sortKey.valueOf(last)));
+    }
+
+    public Object parsedValue() {
+        return sortKey.parse(lastValue);
+    }
+
+    public String encode() {
+        // The value goes last: it is the only part that may contain the separator
+        String raw = String.join("|", VERSION, sortKey.name(), descending ? "desc" : "asc",
+                String.valueOf(lastId), lastValue);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProductCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 5);
+            if (parts.length != 5 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            ProductCursor decoded = new ProductCursor(ProductSortKey.valueOf(parts[1]), "desc".equals(parts[2]),
+                    Long.valueOf(parts[3]), parts[4]);
+            decoded.parsedValue();
+            return decoded;
+        } catch (IllegalArgumentException e) {
+            // Also covers bad base64, unknown sort keys and unparsable numbers
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package io.github.yusufakcay_dev.product_service.service;
+
+import io.github.yusufakcay_dev.product_service.entity.Product;
+import io.github.yusufakcay_dev.product_service.repository.ProductEmbeddingRepository;
+import io.github.yusufakcay_dev.product_service.repository.ProductRepository;
+import io.github.yusufakcay_dev.product_service.repository.ProductSortKey;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the vector store in step with the catalog, embedding only what
+ * changed.
+ *
+ * Product writes enqueue the hash of their document text in the same
+ * transaction (see ProductEmbeddingRepository); the scheduler then embeds
+ * pending products in leased batches. A full rebuild walks the catalog by id
+ * in pages, skips products already indexed at their current hash unless
+ * forced, and stores the last id it finished in Redis, so a failed or
+ * interrupted rebuild resumes where it stopped.
+ *
+ * Rebuilds run in the background and hold a Redis lock (SET NX with a
+ * token), so only one runs across all instances. The lock is extended before
+ * every page; a run that lost it stops without touching the watermark, which
+ * then belongs to the new holder.
+ *
+ * Embedding goes through EmbeddingPipeline, and hashes are recorded batch by
+ * batch as the pipeline finishes them: after a failure only the failed
+ * batches are embedded again.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProductEmbeddingIndexer {
+
+    // Part of every hash: bump when documentText changes to re-embed the catalog
+    static final String DOCUMENT_VERSION = "v1";
+    static final String REBUILD_WATERMARK_KEY = "ai:index:rebuild:watermark";
+    static final String REBUILD_LOCK_KEY = "ai:index:rebuild:lock";
+
+    private static final RedisScript<Long> EXTEND_LOCK = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('pexpire', KEYS[1], ARGV[2]) "
+                    + "else return 0 end",
+            Long.class);
+    private static final RedisScript<Long> RELEASE_LOCK = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final ProductRepository productRepository;
+    private final ProductEmbeddingRepository embeddingRepository;
+    private final VectorStore vectorStore;
+    private final EmbeddingPipeline embeddingPipeline;
+    private final SemanticSearchCache searchCache;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong rebuildPosition = new AtomicLong();
+
+    @Value("${app.ai.indexing.lease-ms:300000}")
+    private long leaseMs;
+
+    @Value("${app.ai.indexing.rebuild-page-size:512}")
+    private int rebuildPageSize;
+
+    @Value("${app.ai.indexing.rebuild-lock-ms:600000}")
+    private long rebuildLockMs;
+
+    private ThreadPoolExecutor rebuildExecutor;
+
+    public record RebuildResult(long resumedAfterId, int indexed, int skipped) {
+    }
+
+    @PostConstruct
+    void start() {
+        // One rebuild per instance at a time; the lock covers the rest of the cluster
+        rebuildExecutor = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                new CustomizableThreadFactory("ai-index-rebuild-"));
+        rebuildExecutor.allowCoreThreadTimeOut(true);
+        registerMetrics();
+    }
+
+    void registerMetrics() {
+        Gauge.builder("product.embedding.rebuild.position", rebuildPosition, AtomicLong::get)
+                .description("Last product id a running index rebuild has finished; 0 when none is running")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        // An interrupted rebuild resumes from its watermark on the next start
+        rebuildExecutor.shutdownNow();
+    }
+
+    /**
+     * Queues products for embedding; a no-op for products whose document
+     * text has not changed. Call inside the transaction that saves them.
+     */
+    public void enqueue(Collection<Product> products) {
+        if (!products.isEmpty()) {
+            embeddingRepository.enqueue(products.stream()
+                    .collect(Collectors.toMap(Product::getId, ProductEmbeddingIndexer::contentHash)));
+        }
+    }
+
+    /**
+     * Embeds up to limit pending products.
+     *
+     * @return how many products were claimed; fewer than limit means the
+     *         queue is drained
+     */
+    public int indexPending(int limit) {
+        List<Long> claimed = embeddingRepository.claimPending(limit, Duration.ofMillis(leaseMs));
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, Product> products = productRepository.findAllById(claimed).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        Set<Long> gone = claimed.stream().filter(id -> !products.containsKey(id)).collect(Collectors.toSet());
+        if (!gone.isEmpty()) {
+            vectorStore.delete(gone.stream().map(ProductEmbeddingIndexer::documentId).toList());
+            embeddingRepository.deleteAll(gone);
+            searchCache.invalidate();
+        }
+        if (!products.isEmpty()) {
+            // The product may have changed since it was queued; what was embedded is what gets recorded.
+            // Failed batches keep their lease and are claimed again once it expires.
+            embed(products.values(), embeddingRepository::markIndexed);
+        }
+        log.info("Indexed {} pending products", products.size());
+        return claimed.size();
+    }
+
+    /**
+     * Starts a rebuild in the background unless one is already running on
+     * any instance.
+     *
+     * @param force re-embed products even if already indexed at their
+     *              current content, e.g. after the vector table was lost
+     * @return false if a rebuild is already running
+     */
+    public boolean startRebuild(boolean force) {
+        String token = UUID.randomUUID().toString();
+        Boolean acquired = redisTemplate.opsForValue()
+                .setIfAbsent(REBUILD_LOCK_KEY, token, Duration.ofMillis(rebuildLockMs));
+        if (!Boolean.TRUE.equals(acquired)) {
+            return false;
+        }
+        try {
+            rebuildExecutor.execute(() -> {
+                try {
+                    rebuild(force, token);
+                } catch (RuntimeException e) {
+                    log.error("AI index rebuild failed, the next run resumes from its last page: {}",
+                            e.getMessage(), e);
+                } finally {
+                    releaseRebuildLock(token);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            releaseRebuildLock(token);
+            return false;
+        }
+    }
+
+    /**
+     * Re-indexes the whole catalog page by page, resuming after the last
+     * page a previous run completed. Stops with an IllegalStateException if
+     * the rebuild lock held under lockToken is lost.
+     */
+    RebuildResult rebuild(boolean force, String lockToken) {
+        String stored = redisTemplate.opsForValue().get(REBUILD_WATERMARK_KEY);
+        long resumedAfter = stored != null ? Long.parseLong(stored) : 0L;
+        if (resumedAfter > 0) {
+            log.info("Resuming AI index rebuild after product {}", resumedAfter);
+        }
+
+        long watermark = resumedAfter;
+        int indexed = 0;
+        int skipped = 0;
+        while (true) {
+            if (!extendRebuildLock(lockToken)) {
+                rebuildPosition.set(0);
+                throw new IllegalStateException("AI index rebuild lock lost after product " + watermark);
+            }
+            List<Product> page = productRepository.findPageAfter(ProductSortKey.ID, false, null,
+                    watermark > 0 ? watermark : null, rebuildPageSize);
+            if (page.isEmpty()) {
+                break;
+            }
+
+            Map<Long, String> indexedHashes = force
+                    ? Map.of()
+                    : embeddingRepository.findIndexedHashes(page.stream().map(Product::getId).toList());
+            List<Product> changed = page.stream()
+                    .filter(product -> !contentHash(product).equals(indexedHashes.get(product.getId())))
+                    .toList();
+            if (!changed.isEmpty()) {
+                // On failure the watermark stays put; batches already recorded are skipped on resume
+                embed(changed, embeddingRepository::upsertIndexed);
+            }
+            indexed += changed.size();
+            skipped += page.size() - changed.size();
+
+            watermark = page.get(page.size() - 1).getId();
+            redisTemplate.opsForValue().set(REBUILD_WATERMARK_KEY, Long.toString(watermark));
+            rebuildPosition.set(watermark);
+            log.debug("AI index rebuild at product {}: {} indexed, {} unchanged", watermark, indexed, skipped);
+        }
+        redisTemplate.delete(REBUILD_WATERMARK_KEY);
+        rebuildPosition.set(0);
+
+        log.info("AI index rebuild finished: {} products indexed, {} unchanged", indexed, skipped);
+        return new RebuildResult(resumedAfter, indexed, skipped);
+    }
+
+    private boolean extendRebuildLock(String token) {
+        Long extended = redisTemplate.execute(EXTEND_LOCK, List.of(REBUILD_LOCK_KEY), token,
+                Long.toString(rebuildLockMs));
+        return Long.valueOf(1L).equals(extended);
+    }
+
+    private void releaseRebuildLock(String token) {
+        try {
+            redisTemplate.execute(RELEASE_LOCK, List.of(REBUILD_LOCK_KEY), token);
+        } catch (Exception e) {
+            // Expires on its own after rebuildLockMs
+            log.warn("Failed to release the AI index rebuild lock: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the products' documents to the vector store (an upsert by
+     * document id), passing the hash of each batch's documents to
+     * recordIndexed as the batch lands.
+     */
+    private void embed(Collection<Product> products, Consumer<Map<Long, String>> recordIndexed) {
+        List<Document> documents = products.stream().map(ProductEmbeddingIndexer::toDocument).toList();
+        embeddingPipeline.write(documents, batch -> {
+            Map<Long, String> hashes = new LinkedHashMap<>();
+            batch.forEach(document -> hashes.put((Long) document.getMetadata().get("productId"),
+                    contentHash(document.getContent())));
+            recordIndexed.accept(hashes);
+            searchCache.invalidate();
+        });
+    }
+
+    static Document toDocument(Product product) {
+        return new Document(documentId(product.getId()), documentText(product),
+                Map.of("productId", product.getId()));
+    }
+
+    static String documentText(Product product) {
+        return "Product: " + product.getName() + ". Description: " + product.getDescription();
+    }
+
+    /**
+     * Deterministic, so re-indexing a product overwrites its document.
+     */
+    static String documentId(Long productId) {
+        return UUID.nameUUIDFromBytes(("product-" + productId).getBytes()).toString();
+    }
+
+    static String contentHash(Product product) {
+        return contentHash(documentText(product));
+    }
+
+    private static String contentHash(String documentText) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((DOCUMENT_VERSION + "\n" + documentText).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
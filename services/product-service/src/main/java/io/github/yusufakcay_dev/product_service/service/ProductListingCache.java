@@ -0,0 +1,182 @@
+package io.github.yusufakcay_dev.product_service.service;
+
+import io.github.yusufakcay_dev.product_service.config.TwoLevelCacheManager;
+import io.github.yusufakcay_dev.product_service.dto.ProductIdPage;
+import io.github.yusufakcay_dev.product_service.dto.ProductResponse;
+import io.github.yusufakcay_dev.product_service.repository.ProductSortKey;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Listing pages cached as ordered id lists, keyed by sort, position and size.
+ *
+ * Every key carries a generation counter kept in Redis per sort key. A change
+ * that can move products within an ordering, or add them to it, bumps that
+ * ordering's counter after commit; pages stored under the old generation are
+ * never read again and expire with the cache TTL, while other orderings keep
+ * theirs. The generation is read before the page is loaded, so a load that
+ * races a change is stored under the old generation and never served.
+ *
+ * Pages hold ids only and resolve products through the "products" cache, so
+ * a change that leaves the order alone (stock status) is handled by evicting
+ * that one product. Without Redis, listings bypass the cache.
+ */
+@Slf4j
+@Component
+public class ProductListingCache {
+
+    public static final String PAGES_CACHE = "productPages";
+    static final String PRODUCTS_CACHE = "products";
+    static final String GENERATION_KEY_PREFIX = "product-pages:generation:";
+
+    private final CacheManager cacheManager;
+    private final Cache pages;
+    private final Cache products;
+    private final StringRedisTemplate redisTemplate;
+    private final Map<ProductSortKey, Counter> generationBumps = new EnumMap<>(ProductSortKey.class);
+
+    public ProductListingCache(CacheManager cacheManager, StringRedisTemplate redisTemplate,
+            MeterRegistry meterRegistry) {
+        this.cacheManager = cacheManager;
+        this.pages = cacheManager.getCache(PAGES_CACHE);
+        this.products = cacheManager.getCache(PRODUCTS_CACHE);
+        this.redisTemplate = redisTemplate;
+        for (ProductSortKey sortKey : ProductSortKey.values()) {
+            generationBumps.put(sortKey, Counter.builder("product.listing.generation.bumps")
+                    .tag("sort", sortKey.property())
+                    .description("Listing cache generations retired by product changes")
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Key of an offset page, or null if the generation cannot be read.
+     */
+    public String offsetKey(ProductSortKey sortKey, boolean descending, int page, int size) {
+        return key(sortKey, descending, "offset:" + page, size);
+    }
+
+    /**
+     * Key of a cursor page (null cursor for the first), or null if the
+     * generation cannot be read.
+     */
+    public String cursorKey(ProductSortKey sortKey, boolean descending, String cursor, int size) {
+        return key(sortKey, descending, "cursor:" + (cursor != null ? cursor : "first"), size);
+    }
+
+    private String key(ProductSortKey sortKey, boolean descending, String position, int size) {
+        Long generation = generation(sortKey);
+        if (generation == null) {
+            return null;
+        }
+        return sortKey.property() + ":" + (descending ? "desc" : "asc") + ":g" + generation + ":" + position
+                + ":" + size;
+    }
+
+    private Long generation(ProductSortKey sortKey) {
+        try {
+            String value = redisTemplate.opsForValue().get(GENERATION_KEY_PREFIX + sortKey.property());
+            return value != null ? Long.valueOf(value) : 0L;
+        } catch (Exception e) {
+            log.warn("Listing generation unavailable for sort '{}', bypassing the cache: {}", sortKey.property(),
+                    e.getMessage());
+            return null;
+        }
+    }
+
+    public ProductIdPage get(String key) {
+        try {
+            return pages.get(key, ProductIdPage.class);
+        } catch (RuntimeException e) {
+            log.error("Listing cache read failed for key '{}': {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    public void put(String key, ProductIdPage page) {
+        try {
+            pages.put(key, page);
+        } catch (RuntimeException e) {
+            log.error("Listing cache write failed for key '{}': {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * Cached products among ids; the map is the caller's to add to. With the
+     * two-level cache the L1 misses come back from Redis in one round trip.
+     */
+    public Map<Long, ProductResponse> getProducts(long[] ids) {
+        Map<Long, ProductResponse> found = new HashMap<>();
+        if (cacheManager instanceof TwoLevelCacheManager twoLevel) {
+            twoLevel.getAll(PRODUCTS_CACHE, Arrays.stream(ids).boxed().toList()).forEach((id, value) -> {
+                if (value instanceof ProductResponse product) {
+                    found.put(id, product);
+                }
+            });
+            return found;
+        }
+        for (long id : ids) {
+            try {
+                ProductResponse product = products.get(id, ProductResponse.class);
+                if (product != null) {
+                    found.put(id, product);
+                }
+            } catch (RuntimeException e) {
+                log.error("Product cache read failed for id {}: {}", id, e.getMessage());
+            }
+        }
+        return found;
+    }
+
+    public void putProduct(ProductResponse product) {
+        try {
+            products.put(product.getId(), product);
+        } catch (RuntimeException e) {
+            log.error("Product cache write failed for id {}: {}", product.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Retires the cached pages of the given orderings. Inside a transaction
+     * this waits for the commit, so no reader can cache the old rows under
+     * the new generation.
+     */
+    public void invalidate(Collection<ProductSortKey> sortKeys) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump(sortKeys);
+                }
+            });
+        } else {
+            bump(sortKeys);
+        }
+    }
+
+    private void bump(Collection<ProductSortKey> sortKeys) {
+        for (ProductSortKey sortKey : sortKeys) {
+            try {
+                redisTemplate.opsForValue().increment(GENERATION_KEY_PREFIX + sortKey.property());
+                generationBumps.get(sortKey).increment();
+            } catch (Exception e) {
+                // Stale pages then live until the cache TTL
+                log.error("Failed to bump listing generation for sort '{}': {}", sortKey.property(),
+                        e.getMessage());
+            }
+        }
+    }
+}
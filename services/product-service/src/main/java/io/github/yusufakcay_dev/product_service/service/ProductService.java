@@ -1,17 +1,25 @@
 package io.github.yusufakcay_dev.product_service.service;
 
+import io.github.yusufakcay_dev.product_service.dto.BulkProductResult;
+import io.github.yusufakcay_dev.product_service.dto.CursorPage;
 import io.github.yusufakcay_dev.product_service.dto.ProductCreatedEvent;
+import io.github.yusufakcay_dev.product_service.dto.ProductIdPage;
 import io.github.yusufakcay_dev.product_service.dto.ProductRequest;
 import io.github.yusufakcay_dev.product_service.dto.ProductResponse;
 import io.github.yusufakcay_dev.product_service.entity.Product;
 import io.github.yusufakcay_dev.product_service.repository.ProductRepository;
+import io.github.yusufakcay_dev.product_service.repository.ProductSortKey;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,7 +27,17 @@ import org.springframework.web.server.ResponseStatusException;
 import org.springframework.http.HttpStatus;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -28,6 +46,10 @@ public class ProductService {
 
     private final ProductRepository repository;
     private final KafkaTemplate<String, ProductCreatedEvent> kafkaTemplate;
+    private final ProductCountEstimator countEstimator;
+    private final ProductListingCache listingCache;
+    private final Validator validator;
+    private final ProductEmbeddingIndexer embeddingIndexer;
 
     @Value("${app.topics.product-created:product-created-topic}")
     private String productCreatedTopic;
@@ -51,6 +73,9 @@ public class ProductService {
                 .build();
 
         repository.save(product);
+        // A new product can land on any page of every ordering
+        listingCache.invalidate(EnumSet.allOf(ProductSortKey.class));
+        embeddingIndexer.enqueue(List.of(product));
 
         ProductCreatedEvent event = new ProductCreatedEvent(
                 UUID.randomUUID().toString(),
@@ -72,7 +97,95 @@ public class ProductService {
         return mapToResponse(product);
     }
 
-    @Cacheable(value = "products", key = "#id", unless = "#result == null")
+    /**
+     * Creates one chunk of a bulk request in one transaction: one query for
+     * the SKUs that already exist, one JDBC-batched insert and one burst of
+     * events the producer batches. Items that are invalid or whose SKU is
+     * taken (in the database or earlier in the chunk) are reported, not
+     * thrown, so the rest of the chunk still goes in.
+     *
+     * @param firstIndex position of the first request in the whole bulk body
+     */
+    @Transactional
+    public List<BulkProductResult> createProducts(List<ProductRequest> requests, int firstIndex) {
+        Set<String> existing = new HashSet<>(repository.findExistingSkus(requests.stream()
+                .map(ProductRequest::getSku)
+                .filter(Objects::nonNull)
+                .toList()));
+
+        List<BulkProductResult> results = new ArrayList<>(requests.size());
+        List<Product> products = new ArrayList<>();
+        List<ProductRequest> accepted = new ArrayList<>();
+        List<BulkProductResult> created = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            ProductRequest request = requests.get(i);
+            BulkProductResult.BulkProductResultBuilder result = BulkProductResult.builder()
+                    .index(firstIndex + i)
+                    .sku(request.getSku());
+
+            Set<ConstraintViolation<ProductRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                results.add(result.status(BulkProductResult.Status.INVALID)
+                        .error(violations.stream().map(ConstraintViolation::getMessage).sorted()
+                                .collect(Collectors.joining("; ")))
+                        .build());
+            } else if (!existing.add(request.getSku())) {
+                results.add(result.status(BulkProductResult.Status.DUPLICATE_SKU)
+                        .error("Product with SKU already exists")
+                        .build());
+            } else {
+                products.add(Product.builder()
+                        .name(request.getName())
+                        .description(request.getDescription())
+                        .sku(request.getSku())
+                        .price(request.getPrice())
+                        .active(true)
+                        .build());
+                accepted.add(request);
+                BulkProductResult pending = result.status(BulkProductResult.Status.CREATED).build();
+                created.add(pending);
+                results.add(pending);
+            }
+        }
+        if (products.isEmpty()) {
+            return results;
+        }
+
+        repository.saveAll(products);
+        listingCache.invalidate(EnumSet.allOf(ProductSortKey.class));
+        embeddingIndexer.enqueue(products);
+        for (int i = 0; i < products.size(); i++) {
+            created.get(i).setId(products.get(i).getId());
+        }
+
+        publishCreated(accepted);
+        return results;
+    }
+
+    private void publishCreated(List<ProductRequest> requests) {
+        // Sent back to back, so the producer packs them into a few batches (linger.ms)
+        List<CompletableFuture<?>> sends = new ArrayList<>(requests.size());
+        long timestamp = Instant.now().toEpochMilli();
+        for (ProductRequest request : requests) {
+            ProductCreatedEvent event = new ProductCreatedEvent(
+                    UUID.randomUUID().toString(),
+                    request.getSku(),
+                    request.getInitialStock(),
+                    timestamp);
+            sends.add(kafkaTemplate.send(productCreatedTopic, request.getSku(), event)
+                    .whenComplete((result, ex) -> {
+                        if (ex != null) {
+                            log.error("Failed to send product event for SKU: {} with eventId: {}",
+                                    request.getSku(), event.getEventId(), ex);
+                        }
+                    }));
+        }
+        CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+                .thenRun(() -> log.info("Product events sent successfully for {} SKUs", requests.size()));
+    }
+
+    // sync: concurrent misses for one id load it once, see TwoLevelCache
+    @Cacheable(value = "products", key = "#id", sync = true)
     public ProductResponse getProductById(Long id) {
         log.info("===== CACHE MISS - Fetching product from database - ID: {} =====", id);
         Product product = repository.findById(id)
@@ -82,7 +195,93 @@ public class ProductService {
     }
 
     public Page<ProductResponse> getAllProducts(Pageable pageable) {
-        return repository.findAll(pageable).map(this::mapToResponse);
+        String key = offsetListingKey(pageable);
+        ProductIdPage cached = key != null ? listingCache.get(key) : null;
+        if (cached != null) {
+            return new PageImpl<>(resolve(cached.getIds()), pageable, cached.getTotalElements());
+        }
+
+        Page<Product> page = repository.findAll(pageable);
+        if (key != null) {
+            listingCache.put(key, new ProductIdPage(ids(page.getContent()), page.getTotalElements(), null, false));
+        }
+        return page.map(this::mapToResponse);
+    }
+
+    /**
+     * Only single-column sorts the listing cache keeps generations for are
+     * cached; any other sort goes straight to the database.
+     */
+    private String offsetListingKey(Pageable pageable) {
+        List<Sort.Order> orders = pageable.getSort().toList();
+        if (orders.size() != 1) {
+            return null;
+        }
+        Sort.Order order = orders.get(0);
+        return ProductSortKey.find(order.getProperty())
+                .map(sortKey -> listingCache.offsetKey(sortKey, order.isDescending(), pageable.getPageNumber(),
+                        pageable.getPageSize()))
+                .orElse(null);
+    }
+
+    /**
+     * Keyset listing. A cursor carries its own sort, so sortKey and
+     * descending only apply to the first page.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ProductResponse> getProductsByCursor(String cursor, int size, ProductSortKey sortKey,
+            boolean descending, boolean includeTotal) {
+        ProductCursor after = cursor != null ? ProductCursor.decode(cursor) : null;
+        if (after != null) {
+            sortKey = after.sortKey();
+            descending = after.descending();
+        }
+
+        String key = listingCache.cursorKey(sortKey, descending, cursor, size);
+        ProductIdPage cached = key != null ? listingCache.get(key) : null;
+        CursorPage.CursorPageBuilder<ProductResponse> result = CursorPage.builder();
+        if (cached != null) {
+            result.content(resolve(cached.getIds()))
+                    .hasNext(cached.isHasNext())
+                    .nextCursor(cached.getNextCursor());
+        } else {
+            // One extra row tells whether there is a next page
+            List<Product> rows = repository.findPageAfter(sortKey, descending,
+                    after != null ? after.parsedValue() : null, after != null ? after.lastId() : null, size + 1);
+            boolean hasNext = rows.size() > size;
+            List<Product> page = hasNext ? rows.subList(0, size) : rows;
+            String nextCursor = hasNext ? ProductCursor.after(sortKey, descending, page.get(size - 1)).encode() : null;
+            if (key != null) {
+                listingCache.put(key, new ProductIdPage(ids(page), null, nextCursor, hasNext));
+            }
+            result.content(page.stream().map(this::mapToResponse).toList())
+                    .hasNext(hasNext)
+                    .nextCursor(nextCursor);
+        }
+
+        return result.totalEstimate(includeTotal ? countEstimator.estimate() : null).build();
+    }
+
+    /**
+     * Products of a cached page or search result in id order: cached ones
+     * from the products cache, the rest in one query (and cached for next
+     * time). Ids of deleted products are dropped.
+     */
+    List<ProductResponse> resolve(long[] ids) {
+        Map<Long, ProductResponse> found = listingCache.getProducts(ids);
+        List<Long> missing = Arrays.stream(ids).filter(id -> !found.containsKey(id)).boxed().toList();
+        if (!missing.isEmpty()) {
+            for (Product product : repository.findAllById(missing)) {
+                ProductResponse response = mapToResponse(product);
+                listingCache.putProduct(response);
+                found.put(response.getId(), response);
+            }
+        }
+        return Arrays.stream(ids).mapToObj(found::get).filter(Objects::nonNull).toList();
+    }
+
+    private static long[] ids(List<Product> products) {
+        return products.stream().mapToLong(Product::getId).toArray();
     }
 
     private ProductResponse mapToResponse(Product product) {
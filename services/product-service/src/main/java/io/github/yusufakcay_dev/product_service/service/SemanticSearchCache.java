@@ -0,0 +1,102 @@
+package io.github.yusufakcay_dev.product_service.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * Semantic search results cached as ordered product id lists, keyed by the
+ * normalized query.
+ *
+ * Keys carry a generation counter kept in Redis, bumped whenever the vector
+ * store changes, so a query is never answered from an index that no longer
+ * exists; entries of retired generations expire with the short
+ * app.ai.search.result-ttl-ms. Ids resolve through the "products" cache like
+ * listing pages. Hit rates are exported by the two-level cache as
+ * cache.level.gets{cache="aiSearchResults"}. Without Redis, searches bypass
+ * the cache.
+ */
+@Slf4j
+@Component
+public class SemanticSearchCache {
+
+    public static final String RESULTS_CACHE = "aiSearchResults";
+    static final String GENERATION_KEY = "ai-search:generation";
+
+    private final Cache results;
+    private final StringRedisTemplate redisTemplate;
+    private final Counter generationBumps;
+
+    public SemanticSearchCache(CacheManager cacheManager, StringRedisTemplate redisTemplate,
+            MeterRegistry meterRegistry) {
+        this.results = cacheManager.getCache(RESULTS_CACHE);
+        this.redisTemplate = redisTemplate;
+        this.generationBumps = Counter.builder("ai.search.generation.bumps")
+                .description("Search result cache generations retired by index changes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Case, width and whitespace variants of a query share one cache entry
+     * and one query embedding.
+     */
+    public static String normalize(String query) {
+        return Normalizer.normalize(query, Normalizer.Form.NFKC)
+                .strip()
+                .replaceAll("\\s+", " ")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Key of a normalized query's results, or null if the generation cannot
+     * be read.
+     */
+    public String key(String normalizedQuery) {
+        try {
+            String value = redisTemplate.opsForValue().get(GENERATION_KEY);
+            return "g" + (value != null ? value : "0") + ":" + normalizedQuery;
+        } catch (Exception e) {
+            log.warn("Search generation unavailable, bypassing the cache: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    public long[] get(String key) {
+        try {
+            return results.get(key, long[].class);
+        } catch (RuntimeException e) {
+            log.error("Search cache read failed for key '{}': {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    public void put(String key, long[] productIds) {
+        try {
+            results.put(key, productIds);
+        } catch (RuntimeException e) {
+            log.error("Search cache write failed for key '{}': {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * Retires all cached results. Called after the vector store changed: a
+     * search that read the generation before the change stores its results
+     * under the old one, which is never read again.
+     */
+    public void invalidate() {
+        try {
+            redisTemplate.opsForValue().increment(GENERATION_KEY);
+            generationBumps.increment();
+        } catch (Exception e) {
+            // Stale results then live until the result TTL
+            log.error("Failed to bump search generation: {}", e.getMessage());
+        }
+    }
+}
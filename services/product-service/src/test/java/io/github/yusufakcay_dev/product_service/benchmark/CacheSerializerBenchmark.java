@@ -0,0 +1,86 @@
+package io.github.yusufakcay_dev.product_service.benchmark;
+
+import io.github.yusufakcay_dev.product_service.config.CacheEntry;
+import io.github.yusufakcay_dev.product_service.config.CacheValueFormat;
+import io.github.yusufakcay_dev.product_service.dto.ProductResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Size and (de)serialization time of a cached product per CacheValueFormat.
+ *
+ * Not part of the test run. Run main() from the IDE, or after
+ * mvn test-compile with the test classpath:
+ * java -cp target/test-classes:target/classes:... \
+ * io.github.yusufakcay_dev.product_service.benchmark.CacheSerializerBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheSerializerBenchmark {
+
+    @Param({ "JSON", "KRYO" })
+    public CacheValueFormat format;
+
+    private RedisSerializer<Object> serializer;
+    private CacheEntry entry;
+    private byte[] bytes;
+
+    @Setup
+    public void setUp() {
+        serializer = format.serializer();
+        entry = new CacheEntry(sampleProduct(), System.currentTimeMillis(), 5);
+        bytes = serializer.serialize(entry);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(entry);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserialize(bytes);
+    }
+
+    static ProductResponse sampleProduct() {
+        return ProductResponse.builder()
+                .id(123456L)
+                .name("Wireless Noise Cancelling Headphones")
+                .description("Over-ear Bluetooth headphones with 30 hours of battery life and a carrying case")
+                .sku("AUDIO-WH-1000-BLK")
+                .price(new BigDecimal("279.99"))
+                .active(true)
+                .inStock(true)
+                .build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (CacheValueFormat format : CacheValueFormat.values()) {
+            CacheEntry entry = new CacheEntry(sampleProduct(), System.currentTimeMillis(), 5);
+            System.out.printf("%s: %d bytes%n", format, format.serializer().serialize(entry).length);
+        }
+        new Runner(new OptionsBuilder()
+                .include(CacheSerializerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
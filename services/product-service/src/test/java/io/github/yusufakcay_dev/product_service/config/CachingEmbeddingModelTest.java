@@ -0,0 +1,61 @@
+package io.github.yusufakcay_dev.product_service.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingEmbeddingModelTest {
+
+    @Mock
+    private EmbeddingModel delegate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CachingEmbeddingModel model;
+
+    @BeforeEach
+    void setUp() {
+        model = new CachingEmbeddingModel(delegate, 100, meterRegistry);
+    }
+
+    @Test
+    void testRepeatedQueryIsEmbeddedOnce() {
+        // Arrange
+        when(delegate.embed("running shoes")).thenReturn(new float[] { 0.1f, 0.2f });
+
+        // Act
+        float[] first = model.embed("running shoes");
+        first[0] = 9f;
+        float[] second = model.embed("running shoes");
+
+        // Assert
+        assertThat(second).containsExactly(0.1f, 0.2f);
+        verify(delegate, times(1)).embed("running shoes");
+        assertThat(meterRegistry.counter("ai.search.embedding.cache.gets", "result", "hit").count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.counter("ai.search.embedding.cache.gets", "result", "miss").count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.counter("ai.search.embedding.saved").count()).isGreaterThanOrEqualTo(0.0);
+    }
+
+    @Test
+    void testDocumentBatchesPassThrough() {
+        // Arrange
+        EmbeddingRequest request = mock(EmbeddingRequest.class);
+
+        // Act
+        model.call(request);
+        model.call(request);
+
+        // Assert
+        verify(delegate, times(2)).call(request);
+    }
+}
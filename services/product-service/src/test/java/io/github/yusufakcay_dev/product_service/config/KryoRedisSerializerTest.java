@@ -0,0 +1,114 @@
+package io.github.yusufakcay_dev.product_service.config;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Output;
+import io.github.yusufakcay_dev.product_service.dto.ProductIdPage;
+import io.github.yusufakcay_dev.product_service.dto.ProductResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KryoRedisSerializerTest {
+
+    private final KryoRedisSerializer serializer = new KryoRedisSerializer();
+
+    private final ProductResponse product = ProductResponse.builder()
+            .id(42L)
+            .name("Test Product")
+            .description("Test Description")
+            .sku("TEST-SKU-001")
+            .price(new BigDecimal("99.99"))
+            .active(true)
+            .inStock(true)
+            .build();
+
+    /**
+     * ProductResponse as an older release might have written it: one field
+     * it no longer has, and two it has since gained missing.
+     */
+    static class OlderProductResponse {
+        Long id;
+        String name;
+        String description;
+        String sku;
+        BigDecimal price;
+        Integer legacyRank;
+    }
+
+    @Test
+    void testRoundTrip_CacheEntryWithProduct() {
+        // Act
+        byte[] bytes = serializer.serialize(new CacheEntry(product, 1000L, 5L));
+        Object result = serializer.deserialize(bytes);
+
+        // Assert
+        assertThat(result).isEqualTo(new CacheEntry(product, 1000L, 5L));
+    }
+
+    @Test
+    void testRoundTrip_ListingPage() {
+        // Act
+        Object result = serializer.deserialize(serializer.serialize(
+                new CacheEntry(new ProductIdPage(new long[] { 3L, 1L, 2L }, null, "cursor", true), 1000L, 5L)));
+
+        // Assert
+        ProductIdPage page = (ProductIdPage) ((CacheEntry) result).value();
+        assertThat(page.getIds()).containsExactly(3L, 1L, 2L);
+        assertThat(page.getTotalElements()).isNull();
+        assertThat(page.getNextCursor()).isEqualTo("cursor");
+        assertThat(page.isHasNext()).isTrue();
+    }
+
+    @Test
+    void testSerialize_SmallerThanJson() {
+        // Act
+        byte[] kryo = serializer.serialize(new CacheEntry(product, 1000L, 5L));
+        byte[] json = new GenericJackson2JsonRedisSerializer().serialize(new CacheEntry(product, 1000L, 5L));
+
+        // Assert
+        assertThat(kryo.length).isLessThan(json.length);
+    }
+
+    @Test
+    void testDeserialize_ToleratesAddedAndRemovedFields() {
+        // Arrange - written with the older class registered under ProductResponse's id
+        Kryo older = KryoRedisSerializer.newKryo();
+        KryoRedisSerializer.registerCompatible(older, OlderProductResponse.class, 21);
+        OlderProductResponse old = new OlderProductResponse();
+        old.id = 42L;
+        old.name = "Test Product";
+        old.sku = "TEST-SKU-001";
+        old.price = new BigDecimal("99.99");
+        old.legacyRank = 3;
+        Output output = new Output(256, -1);
+        older.writeClassAndObject(output, old);
+
+        // Act
+        ProductResponse result = (ProductResponse) serializer.deserialize(output.toBytes());
+
+        // Assert
+        assertThat(result.getId()).isEqualTo(42L);
+        assertThat(result.getSku()).isEqualTo("TEST-SKU-001");
+        assertThat(result.getPrice()).isEqualByComparingTo("99.99");
+        assertThat(result.getInStock()).isNull();
+    }
+
+    @Test
+    void testSerialize_UnregisteredClassRejected() {
+        // Act & Assert
+        assertThatThrownBy(() -> serializer.serialize(new StringBuilder("x")))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    @Test
+    void testDeserialize_EmptyIsNull() {
+        // Act & Assert
+        assertThat(serializer.deserialize(new byte[0])).isNull();
+        assertThat(serializer.serialize(null)).isEmpty();
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.yusufakcay_dev.product_service.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TwoLevelCacheManagerTest {
+
+    @Mock
+    private RedisCacheWriter cacheWriter;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private RedisConnection connection;
+
+    @Mock
+    private RedisStringCommands stringCommands;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final KryoRedisSerializer serializer = new KryoRedisSerializer();
+    private TwoLevelCacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
+                .computePrefixWith(CacheValueFormat.KRYO::keyPrefix)
+                .serializeKeysWith(RedisSerializationContext.SerializationPair
+                        .fromSerializer(new StringRedisSerializer()))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(serializer))
+                .disableCachingNullValues();
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(cacheWriter).cacheDefaults(config).build();
+        redisCacheManager.afterPropertiesSet();
+        cacheManager = new TwoLevelCacheManager(redisCacheManager, redisTemplate, meterRegistry, "cache-invalidation",
+                100, Duration.ofMinutes(1), mock(CacheLoadLock.class),
+                new TwoLevelCache.LoadSettings(Duration.ofMinutes(10), Duration.ofMillis(500), 0));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetAll_FetchesLocalMissesInOneMget() {
+        // Arrange - 1 is in L1, 2 only in Redis, 3 nowhere
+        cacheManager.getCache("products").put(1L, "product-1");
+        when(redisTemplate.execute(any(RedisCallback.class)))
+                .thenAnswer(invocation -> invocation.<RedisCallback<Object>>getArgument(0).doInRedis(connection));
+        when(connection.stringCommands()).thenReturn(stringCommands);
+        when(stringCommands.mGet(any(byte[][].class))).thenReturn(Arrays.asList(
+                serializer.serialize(new CacheEntry("product-2", System.currentTimeMillis(), 5)), null));
+
+        // Act
+        var found = cacheManager.getAll("products", List.of(1L, 2L, 3L));
+
+        // Assert
+        assertThat(found).containsOnlyKeys(1L, 2L).containsEntry(1L, "product-1").containsEntry(2L, "product-2");
+        ArgumentCaptor<byte[][]> keys = ArgumentCaptor.forClass(byte[][].class);
+        verify(stringCommands).mGet(keys.capture());
+        assertThat(Arrays.stream(keys.getValue()).map(key -> new String(key, StandardCharsets.UTF_8)))
+                .containsExactly("products:kryo-v1::2", "products:kryo-v1::3");
+
+        // The Redis hit is now served from L1
+        assertThat(cacheManager.getAll("products", List.of(2L))).containsEntry(2L, "product-2");
+        verify(redisTemplate, times(1)).execute(any(RedisCallback.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetAll_RedisDownCountsAsMiss() {
+        // Arrange
+        when(redisTemplate.execute(any(RedisCallback.class))).thenThrow(new RedisConnectionFailureException("down"));
+
+        // Act & Assert
+        assertThat(cacheManager.getAll("products", List.of(1L, 2L))).isEmpty();
+    }
+}
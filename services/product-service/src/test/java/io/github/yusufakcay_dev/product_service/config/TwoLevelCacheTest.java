@@ -0,0 +1,190 @@
+package io.github.yusufakcay_dev.product_service.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TwoLevelCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> published = new ArrayList<>();
+    private final InMemoryLoadLock loadLock = new InMemoryLoadLock();
+    private final AtomicInteger loads = new AtomicInteger();
+    private ConcurrentMapCache remote;
+    private TwoLevelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        remote = new ConcurrentMapCache("products", false);
+        cache = new TwoLevelCache("products", Caffeine.newBuilder().maximumSize(100).build(), remote,
+                published::add, loadLock,
+                new TwoLevelCache.LoadSettings(Duration.ofMinutes(10), Duration.ofMillis(500), 1.0),
+                meterRegistry);
+    }
+
+    private String loadFromDatabase() {
+        loads.incrementAndGet();
+        return "product-1";
+    }
+
+    private double singleFlight(String role) {
+        return meterRegistry.get("cache.single.flight.loads").tag("role", role).counter().count();
+    }
+
+    /**
+     * Stands in for the Redis lock; held keys map to their token.
+     */
+    private static class InMemoryLoadLock implements CacheLoadLock {
+        private final Map<String, String> held = new ConcurrentHashMap<>();
+
+        @Override
+        public String tryAcquire(String key) {
+            return held.putIfAbsent(key, "token") == null ? "token" : null;
+        }
+
+        @Override
+        public boolean isHeld(String key) {
+            return held.containsKey(key);
+        }
+
+        @Override
+        public void release(String key, String token) {
+            held.remove(key, token);
+        }
+    }
+
+    private double gets(String level, String result) {
+        return meterRegistry.get("cache.level.gets").tag("level", level).tag("result", result).counter().count();
+    }
+
+    @Test
+    void testGet_RemoteHitIsCopiedToLocal() {
+        // Arrange
+        remote.put(1L, "product-1");
+
+        // Act
+        Object first = cache.get(1L).get();
+        remote.evict(1L); // a second read must not need Redis
+        Object second = cache.get(1L).get();
+
+        // Assert
+        assertThat(first).isEqualTo("product-1");
+        assertThat(second).isEqualTo("product-1");
+        assertThat(gets("l1", "miss")).isEqualTo(1.0);
+        assertThat(gets("l2", "hit")).isEqualTo(1.0);
+        assertThat(gets("l1", "hit")).isEqualTo(1.0);
+    }
+
+    @Test
+    void testGet_MissOnBothLevels() {
+        // Act & Assert
+        assertThat(cache.get(1L)).isNull();
+        assertThat(gets("l1", "miss")).isEqualTo(1.0);
+        assertThat(gets("l2", "miss")).isEqualTo(1.0);
+    }
+
+    @Test
+    void testEvict_ClearsBothLevelsAndPublishes() {
+        // Arrange
+        cache.put(1L, "product-1");
+
+        // Act
+        cache.evict(1L);
+
+        // Assert
+        assertThat(remote.get(1L)).isNull();
+        assertThat(cache.get(1L)).isNull();
+        assertThat(published).containsExactly("1");
+    }
+
+    @Test
+    void testEvictLocal_KeepsRemoteEntry() {
+        // Arrange
+        cache.put(1L, "product-1");
+
+        // Act - invalidation received from another instance
+        cache.evictLocal(TwoLevelCache.localKey(1L));
+
+        // Assert
+        assertThat(cache.get(1L).get()).isEqualTo("product-1");
+        assertThat(gets("l2", "hit")).isEqualTo(1.0);
+        assertThat(published).isEmpty();
+    }
+
+    @Test
+    void testGetWithLoader_LeaderLoadsAndStoresEntry() {
+        // Act
+        String value = cache.get(1L, this::loadFromDatabase);
+
+        // Assert
+        assertThat(value).isEqualTo("product-1");
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(remote.get(1L).get()).isInstanceOf(CacheEntry.class);
+        assertThat(singleFlight("leader")).isEqualTo(1.0);
+        assertThat(loadLock.held).isEmpty();
+    }
+
+    @Test
+    void testGetWithLoader_FollowerReadsLeadersResult() throws InterruptedException {
+        // Arrange - another instance holds the lock and stores the entry shortly
+        loadLock.tryAcquire("products::1");
+        Thread otherInstance = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                return;
+            }
+            remote.put(1L, new CacheEntry("product-1", System.currentTimeMillis(), 5));
+            loadLock.release("products::1", "token");
+        });
+        otherInstance.start();
+
+        // Act
+        String value = cache.get(1L, this::loadFromDatabase);
+        otherInstance.join();
+
+        // Assert
+        assertThat(value).isEqualTo("product-1");
+        assertThat(loads.get()).isZero();
+        assertThat(singleFlight("follower")).isEqualTo(1.0);
+    }
+
+    @Test
+    void testGetWithLoader_RefreshesEntryCloseToExpiry() {
+        // Arrange - loaded ten minutes ago, so due for refresh whatever the random draw
+        long loadedAt = System.currentTimeMillis() - Duration.ofMinutes(10).toMillis();
+        remote.put(1L, new CacheEntry("stale", loadedAt, 1000));
+
+        // Act
+        String value = cache.get(1L, this::loadFromDatabase);
+
+        // Assert
+        assertThat(value).isEqualTo("product-1");
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.early.refreshes").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void testGetWithLoader_FreshEntryIsNotRefreshed() {
+        // Arrange
+        remote.put(1L, new CacheEntry("cached", System.currentTimeMillis(), 5));
+
+        // Act
+        String value = cache.get(1L, this::loadFromDatabase);
+
+        // Assert
+        assertThat(value).isEqualTo("cached");
+        assertThat(loads.get()).isZero();
+    }
+}
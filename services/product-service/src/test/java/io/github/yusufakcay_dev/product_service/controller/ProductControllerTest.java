@@ -1,6 +1,9 @@
 package io.github.yusufakcay_dev.product_service.controller;
 
+import io.github.yusufakcay_dev.product_service.dto.BulkProductResult;
+import io.github.yusufakcay_dev.product_service.dto.CursorPage;
 import io.github.yusufakcay_dev.product_service.dto.ProductResponse;
+import io.github.yusufakcay_dev.product_service.repository.ProductSortKey;
 import io.github.yusufakcay_dev.product_service.service.ProductService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,6 +19,8 @@ import org.springframework.http.HttpStatus;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -87,4 +92,74 @@ class ProductControllerTest {
                                 .content("{\"name\":\"\",\"sku\":\"SKU999\",\"price\":-1,\"initialStock\":10}"))
                                 .andExpect(status().isBadRequest());
         }
-}
\ No newline at end of file
+
+        @Test
+        void testCreateProductsBulkNdjson() throws Exception {
+                when(service.createProducts(anyList(), anyInt())).thenAnswer(invocation -> {
+                        List<?> chunk = invocation.getArgument(0);
+                        int firstIndex = invocation.getArgument(1);
+                        return IntStream.range(0, chunk.size())
+                                        .mapToObj(i -> BulkProductResult.builder().index(firstIndex + i)
+                                                        .status(firstIndex + i == 1
+                                                                        ? BulkProductResult.Status.DUPLICATE_SKU
+                                                                        : BulkProductResult.Status.CREATED)
+                                                        .build())
+                                        .toList();
+                });
+
+                mockMvc.perform(post("/products/bulk")
+                                .contentType(MediaType.APPLICATION_NDJSON)
+                                .header("X-User-Name", "admin-user")
+                                .header("X-User-Role", "ADMIN")
+                                .content("{\"name\":\"A\",\"sku\":\"SKU-A\",\"price\":1,\"initialStock\":1}\n"
+                                                + "{\"name\":\"B\",\"sku\":\"SKU-B\",\"price\":2,\"initialStock\":1}\n"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.created").value(1))
+                                .andExpect(jsonPath("$.failed").value(1))
+                                .andExpect(jsonPath("$.results[1].status").value("DUPLICATE_SKU"));
+
+                verify(service).createProducts(argThat(chunk -> chunk.size() == 2), eq(0));
+        }
+
+        @Test
+        void testCreateProductsBulkMalformedArray() throws Exception {
+                mockMvc.perform(post("/products/bulk")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .header("X-User-Name", "admin-user")
+                                .header("X-User-Role", "ADMIN")
+                                .content("[{\"name\":\"A\",\"sku\":\"SKU-A\",\"price\":\"abc\"}]"))
+                                .andExpect(status().isBadRequest());
+                verifyNoInteractions(service);
+        }
+
+        @Test
+        void testCreateProductsBulkForbidden() throws Exception {
+                mockMvc.perform(post("/products/bulk")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .header("X-User-Role", "USER")
+                                .content("[]"))
+                                .andExpect(status().isForbidden());
+                verifyNoInteractions(service);
+        }
+
+        @Test
+        void testGetProductsByCursorSuccess() throws Exception {
+                ProductResponse p1 = ProductResponse.builder()
+                                .id(1L).name("P1").sku("SKU1").price(BigDecimal.TEN).active(true).build();
+                CursorPage<ProductResponse> page = CursorPage.<ProductResponse>builder()
+                                .content(List.of(p1)).hasNext(true).nextCursor("abc").build();
+                when(service.getProductsByCursor(null, 1, ProductSortKey.PRICE, true, false)).thenReturn(page);
+
+                mockMvc.perform(get("/products/cursor?size=1&sort=price,desc"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.content[0].sku").value("SKU1"))
+                                .andExpect(jsonPath("$.nextCursor").value("abc"));
+        }
+
+        @Test
+        void testGetProductsByCursorUnsupportedSort() throws Exception {
+                mockMvc.perform(get("/products/cursor?sort=description,asc"))
+                                .andExpect(status().isBadRequest());
+                verifyNoInteractions(service);
+        }
+}
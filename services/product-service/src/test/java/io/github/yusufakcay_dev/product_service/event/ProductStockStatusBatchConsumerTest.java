@@ -0,0 +1,110 @@
+package io.github.yusufakcay_dev.product_service.event;
+
+import io.github.yusufakcay_dev.product_service.config.TwoLevelCacheManager;
+import io.github.yusufakcay_dev.product_service.dto.ProductStockStatusEvent;
+import io.github.yusufakcay_dev.product_service.repository.ProductRepository;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.support.serializer.DeserializationException;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductStockStatusBatchConsumerTest {
+
+    private static final String TOPIC = "product-stock-status-topic";
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private TwoLevelCacheManager cacheManager;
+
+    @Mock
+    private DeadLetterPublishingRecoverer stockStatusRetryRecoverer;
+
+    @Mock
+    private KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+
+    @InjectMocks
+    private ProductStockStatusBatchConsumer consumer;
+
+    private static ConsumerRecord<String, ProductStockStatusEvent> record(long offset, String sku, boolean inStock) {
+        return new ConsumerRecord<>(TOPIC, 0, offset, sku,
+                ProductStockStatusEvent.builder().sku(sku).inStock(inStock).build());
+    }
+
+    @Test
+    void testHandleStockStatusEvents_KeepsLastStatusPerSku() {
+        // Arrange - SKU-A flaps three times within the poll
+        when(productRepository.updateInStockBySku(anyMap())).thenReturn(Map.of("SKU-A", 1L, "SKU-B", 2L));
+
+        // Act
+        consumer.handleStockStatusEvents(List.of(
+                record(0, "SKU-A", false),
+                record(1, "SKU-B", true),
+                record(2, "SKU-A", true),
+                record(3, "SKU-A", false)));
+
+        // Assert
+        Map<String, Boolean> expected = new LinkedHashMap<>();
+        expected.put("SKU-A", false);
+        expected.put("SKU-B", true);
+        verify(productRepository).updateInStockBySku(expected);
+        verify(cacheManager).evictAll(eq("products"),
+                argThat(ids -> ids.size() == 2 && ids.containsAll(List.of(1L, 2L))));
+        verifyNoInteractions(stockStatusRetryRecoverer);
+    }
+
+    @Test
+    void testHandleStockStatusEvents_UnknownSkuGoesToRetry() {
+        // Arrange
+        ConsumerRecord<String, ProductStockStatusEvent> unknown = record(1, "SKU-X", true);
+        when(productRepository.updateInStockBySku(anyMap())).thenReturn(Map.of("SKU-A", 1L));
+
+        // Act
+        consumer.handleStockStatusEvents(List.of(record(0, "SKU-A", true), unknown));
+
+        // Assert
+        verify(stockStatusRetryRecoverer).accept(eq(unknown), argThat(e -> e.getMessage().contains("SKU-X")));
+        verify(cacheManager).evictAll(eq("products"), argThat(ids -> List.copyOf(ids).equals(List.of(1L))));
+    }
+
+    @Test
+    void testHandleStockStatusEvents_UpdateFailureForwardsWholeBatch() {
+        // Arrange
+        RuntimeException failure = new RuntimeException("Database error");
+        when(productRepository.updateInStockBySku(anyMap())).thenThrow(failure);
+
+        // Act
+        consumer.handleStockStatusEvents(List.of(record(0, "SKU-A", true), record(1, "SKU-B", false)));
+
+        // Assert
+        verify(stockStatusRetryRecoverer, times(2)).accept(any(), same(failure));
+        verifyNoInteractions(cacheManager);
+    }
+
+    @Test
+    void testHandleStockStatusEvents_PoisonRecordGoesToDlt() {
+        // Arrange
+        ConsumerRecord<String, ProductStockStatusEvent> poison = new ConsumerRecord<>(TOPIC, 0, 0, "SKU-A", null);
+
+        // Act
+        consumer.handleStockStatusEvents(List.of(poison));
+
+        // Assert
+        verify(stockStatusRetryRecoverer).accept(eq(poison), any(DeserializationException.class));
+        verifyNoInteractions(productRepository, cacheManager);
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.yusufakcay_dev.product_service.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmbeddingPipelineTest {
+
+    @Mock
+    private VectorStore vectorStore;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private EmbeddingPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        pipeline = new EmbeddingPipeline(vectorStore, meterRegistry);
+        ReflectionTestUtils.setField(pipeline, "batchSize", 3);
+        ReflectionTestUtils.setField(pipeline, "concurrency", 2);
+        pipeline.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.stop();
+    }
+
+    private static List<Document> documents(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new Document("doc-" + i, "text " + i, Map.of("productId", (long) i)))
+                .toList();
+    }
+
+    @Test
+    void testWriteSplitsIntoBatches() {
+        // Arrange
+        List<List<Document>> written = new CopyOnWriteArrayList<>();
+
+        // Act
+        pipeline.write(documents(7), written::add);
+
+        // Assert
+        verify(vectorStore, times(3)).add(anyList());
+        assertThat(written).extracting(List::size).containsExactlyInAnyOrder(3, 3, 1);
+        assertThat(meterRegistry.counter("product.embedding.documents").count()).isEqualTo(7.0);
+        assertThat(meterRegistry.timer("product.embedding.batch").count()).isEqualTo(3);
+    }
+
+    @Test
+    void testWriteKeepsAtMostConcurrencyBatchesInFlight() {
+        // Arrange
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        doAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            running.decrementAndGet();
+            return null;
+        }).when(vectorStore).add(anyList());
+
+        // Act
+        pipeline.write(documents(30), batch -> {
+        });
+
+        // Assert
+        verify(vectorStore, times(10)).add(anyList());
+        assertThat(maxRunning.get()).isEqualTo(2);
+    }
+
+    @Test
+    void testFailedBatchIsReportedAfterTheOthersFinish() {
+        // Arrange
+        List<List<Document>> written = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            List<Document> batch = invocation.getArgument(0);
+            if (batch.get(0).getId().equals("doc-3")) {
+                throw new RuntimeException("model unavailable");
+            }
+            return null;
+        }).when(vectorStore).add(anyList());
+
+        // Act & Assert
+        assertThatThrownBy(() -> pipeline.write(documents(9), written::add)).hasMessage("model unavailable");
+        assertThat(written).hasSize(2);
+        assertThat(meterRegistry.counter("product.embedding.batch.failures").count()).isEqualTo(1.0);
+    }
+}
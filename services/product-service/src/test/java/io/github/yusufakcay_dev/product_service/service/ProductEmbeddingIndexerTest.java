@@ -0,0 +1,231 @@
+package io.github.yusufakcay_dev.product_service.service;
+
+import io.github.yusufakcay_dev.product_service.entity.Product;
+import io.github.yusufakcay_dev.product_service.repository.ProductEmbeddingRepository;
+import io.github.yusufakcay_dev.product_service.repository.ProductRepository;
+import io.github.yusufakcay_dev.product_service.repository.ProductSortKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductEmbeddingIndexerTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductEmbeddingRepository embeddingRepository;
+
+    @Mock
+    private VectorStore vectorStore;
+
+    @Mock
+    private EmbeddingPipeline embeddingPipeline;
+
+    @Mock
+    private SemanticSearchCache searchCache;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @InjectMocks
+    private ProductEmbeddingIndexer indexer;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(indexer, "leaseMs", 300000L);
+        ReflectionTestUtils.setField(indexer, "rebuildPageSize", 2);
+        ReflectionTestUtils.setField(indexer, "rebuildLockMs", 600000L);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void rebuildLockHeld(boolean held) {
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of(ProductEmbeddingIndexer.REBUILD_LOCK_KEY)),
+                any(Object[].class))).thenReturn(held ? 1L : 0L);
+    }
+
+    private static Product product(long id, String name) {
+        return Product.builder().id(id).name(name).description("desc").sku("SKU" + id)
+                .price(new BigDecimal("10")).active(true).build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void pipelineWritesEverything() {
+        doAnswer(invocation -> {
+            invocation.<Consumer<List<Document>>>getArgument(1).accept(invocation.getArgument(0));
+            return null;
+        }).when(embeddingPipeline).write(anyList(), any(Consumer.class));
+    }
+
+    @Test
+    void testRebuildSkipsProductsIndexedAtCurrentContent() {
+        // Arrange
+        Product unchanged = product(1L, "Lamp");
+        Product changed = product(2L, "Chair");
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        rebuildLockHeld(true);
+        when(productRepository.findPageAfter(ProductSortKey.ID, false, null, null, 2))
+                .thenReturn(List.of(unchanged, changed));
+        when(productRepository.findPageAfter(ProductSortKey.ID, false, null, 2L, 2)).thenReturn(List.of());
+        when(embeddingRepository.findIndexedHashes(List.of(1L, 2L)))
+                .thenReturn(Map.of(1L, ProductEmbeddingIndexer.contentHash(unchanged), 2L, "stale"));
+        pipelineWritesEverything();
+
+        // Act
+        ProductEmbeddingIndexer.RebuildResult result = indexer.rebuild(false, "token");
+
+        // Assert
+        assertThat(result.indexed()).isEqualTo(1);
+        assertThat(result.skipped()).isEqualTo(1);
+        verify(embeddingPipeline).write(argThat(documents -> documents.size() == 1
+                && documents.get(0).getId().equals(ProductEmbeddingIndexer.documentId(2L))), any());
+        verify(embeddingRepository).upsertIndexed(Map.of(2L, ProductEmbeddingIndexer.contentHash(changed)));
+        verify(valueOperations).set(ProductEmbeddingIndexer.REBUILD_WATERMARK_KEY, "2");
+        verify(redisTemplate).delete(ProductEmbeddingIndexer.REBUILD_WATERMARK_KEY);
+    }
+
+    @Test
+    void testRebuildResumesAfterWatermark() {
+        // Arrange - a previous run finished the page ending at product 40
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        rebuildLockHeld(true);
+        when(valueOperations.get(ProductEmbeddingIndexer.REBUILD_WATERMARK_KEY)).thenReturn("40");
+        when(productRepository.findPageAfter(ProductSortKey.ID, false, null, 40L, 2)).thenReturn(List.of());
+
+        // Act
+        ProductEmbeddingIndexer.RebuildResult result = indexer.rebuild(true, "token");
+
+        // Assert
+        assertThat(result.resumedAfterId()).isEqualTo(40L);
+        verify(productRepository, never()).findPageAfter(any(), anyBoolean(), any(), isNull(), anyInt());
+        verifyNoInteractions(embeddingPipeline);
+    }
+
+    @Test
+    void testRebuildFailureKeepsWatermark() {
+        // Arrange
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        rebuildLockHeld(true);
+        when(productRepository.findPageAfter(ProductSortKey.ID, false, null, null, 2))
+                .thenReturn(List.of(product(1L, "Lamp"), product(2L, "Chair")));
+        doThrow(new RuntimeException("model unavailable")).when(embeddingPipeline).write(anyList(), any());
+
+        // Act & Assert
+        assertThatThrownBy(() -> indexer.rebuild(true, "token")).hasMessage("model unavailable");
+        verify(valueOperations, never()).set(anyString(), anyString());
+        verify(redisTemplate, never()).delete(anyString());
+    }
+
+    @Test
+    void testRebuildStopsWhenLockIsLost() {
+        // Arrange - the lock expired and another instance took it over
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        rebuildLockHeld(false);
+
+        // Act & Assert
+        assertThatThrownBy(() -> indexer.rebuild(false, "token")).isInstanceOf(IllegalStateException.class);
+        verifyNoInteractions(productRepository, embeddingPipeline);
+        verify(valueOperations, never()).set(anyString(), anyString());
+    }
+
+    @Test
+    void testStartRebuildRejectedWhileAnotherRuns() {
+        // Arrange
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq(ProductEmbeddingIndexer.REBUILD_LOCK_KEY), anyString(), any(Duration.class)))
+                .thenReturn(false);
+
+        // Act & Assert
+        assertThat(indexer.startRebuild(false)).isFalse();
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testStartRebuildRunsInBackgroundAndReleasesLock() {
+        // Arrange
+        ReflectionTestUtils.setField(indexer, "rebuildExecutor", new ThreadPoolExecutor(1, 1, 0L,
+                TimeUnit.MILLISECONDS, new SynchronousQueue<>()));
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq(ProductEmbeddingIndexer.REBUILD_LOCK_KEY), anyString(), any(Duration.class)))
+                .thenReturn(true);
+        rebuildLockHeld(true);
+        when(productRepository.findPageAfter(ProductSortKey.ID, false, null, null, 2)).thenReturn(List.of());
+
+        // Act
+        boolean started = indexer.startRebuild(true);
+
+        // Assert - the lock is released with the token it was taken with
+        assertThat(started).isTrue();
+        ArgumentCaptor<String> token = ArgumentCaptor.forClass(String.class);
+        verify(valueOperations).setIfAbsent(eq(ProductEmbeddingIndexer.REBUILD_LOCK_KEY), token.capture(),
+                eq(Duration.ofMillis(600000)));
+        verify(redisTemplate, timeout(5000)).execute(any(RedisScript.class),
+                eq(List.of(ProductEmbeddingIndexer.REBUILD_LOCK_KEY)), eq(token.getValue()), any());
+        verify(redisTemplate, timeout(5000)).execute(any(RedisScript.class),
+                eq(List.of(ProductEmbeddingIndexer.REBUILD_LOCK_KEY)), eq(token.getValue()));
+        verify(redisTemplate, timeout(5000)).delete(ProductEmbeddingIndexer.REBUILD_WATERMARK_KEY);
+        indexer.stop();
+    }
+
+    @Test
+    void testIndexPendingRemovesDeletedProducts() {
+        // Arrange
+        Product product = product(1L, "Lamp");
+        when(embeddingRepository.claimPending(eq(10), any())).thenReturn(List.of(1L, 9L));
+        when(productRepository.findAllById(List.of(1L, 9L))).thenReturn(List.of(product));
+        pipelineWritesEverything();
+
+        // Act
+        int claimed = indexer.indexPending(10);
+
+        // Assert
+        assertThat(claimed).isEqualTo(2);
+        verify(vectorStore).delete(List.of(ProductEmbeddingIndexer.documentId(9L)));
+        verify(embeddingRepository).deleteAll(argThat(ids -> List.copyOf(ids).equals(List.of(9L))));
+        verify(embeddingRepository).markIndexed(Map.of(1L, ProductEmbeddingIndexer.contentHash(product)));
+        verify(searchCache, times(2)).invalidate();
+    }
+
+    @Test
+    void testContentHashIgnoresFieldsOutsideTheDocument() {
+        // Arrange
+        Product product = product(1L, "Lamp");
+        Product restocked = product(1L, "Lamp");
+        restocked.setInStock(false);
+        restocked.setPrice(new BigDecimal("12"));
+
+        // Act & Assert
+        assertThat(ProductEmbeddingIndexer.contentHash(restocked))
+                .isEqualTo(ProductEmbeddingIndexer.contentHash(product))
+                .isNotEqualTo(ProductEmbeddingIndexer.contentHash(product(1L, "Desk")));
+    }
+}
@@ -0,0 +1,96 @@
+package io.github.yusufakcay_dev.product_service.service;
+
+import io.github.yusufakcay_dev.product_service.repository.ProductSortKey;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductListingCacheTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ProductListingCache listingCache;
+
+    @BeforeEach
+    void setUp() {
+        listingCache = new ProductListingCache(new ConcurrentMapCacheManager(), redisTemplate, meterRegistry);
+    }
+
+    @Test
+    void testKeysCarryTheSortGeneration() {
+        // Arrange
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("product-pages:generation:price")).thenReturn("7");
+        when(valueOperations.get("product-pages:generation:id")).thenReturn(null);
+
+        // Act & Assert
+        assertThat(listingCache.offsetKey(ProductSortKey.PRICE, true, 3, 20)).isEqualTo("price:desc:g7:offset:3:20");
+        assertThat(listingCache.cursorKey(ProductSortKey.ID, false, null, 20)).isEqualTo("id:asc:g0:cursor:first:20");
+    }
+
+    @Test
+    void testKeyIsNullWhenRedisIsDown() {
+        // Arrange
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(anyString())).thenThrow(new RedisConnectionFailureException("down"));
+
+        // Act & Assert
+        assertThat(listingCache.offsetKey(ProductSortKey.ID, false, 0, 10)).isNull();
+    }
+
+    @Test
+    void testInvalidateBumpsOnlyGivenSorts() {
+        // Arrange
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+
+        // Act
+        listingCache.invalidate(EnumSet.of(ProductSortKey.PRICE));
+
+        // Assert
+        verify(valueOperations).increment("product-pages:generation:price");
+        verifyNoMoreInteractions(valueOperations);
+        assertThat(meterRegistry.get("product.listing.generation.bumps").tag("sort", "price").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void testInvalidateWaitsForCommit() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            listingCache.invalidate(EnumSet.allOf(ProductSortKey.class));
+
+            // Assert
+            verifyNoInteractions(redisTemplate);
+            when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager
+                    .getSynchronizations();
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+            verify(valueOperations, times(3)).increment(startsWith("product-pages:generation:"));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
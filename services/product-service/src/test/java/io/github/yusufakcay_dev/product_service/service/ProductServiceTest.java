@@ -1,10 +1,16 @@
 package io.github.yusufakcay_dev.product_service.service;
 
+import io.github.yusufakcay_dev.product_service.dto.BulkProductResult;
+import io.github.yusufakcay_dev.product_service.dto.CursorPage;
 import io.github.yusufakcay_dev.product_service.dto.ProductCreatedEvent;
+import io.github.yusufakcay_dev.product_service.dto.ProductIdPage;
 import io.github.yusufakcay_dev.product_service.dto.ProductRequest;
 import io.github.yusufakcay_dev.product_service.dto.ProductResponse;
 import io.github.yusufakcay_dev.product_service.entity.Product;
 import io.github.yusufakcay_dev.product_service.repository.ProductRepository;
+import io.github.yusufakcay_dev.product_service.repository.ProductSortKey;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,18 +18,23 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
@@ -40,6 +51,18 @@ class ProductServiceTest {
     @Mock
     private KafkaTemplate<String, ProductCreatedEvent> kafkaTemplate;
 
+    @Mock
+    private ProductCountEstimator countEstimator;
+
+    @Mock
+    private ProductListingCache listingCache;
+
+    @Mock
+    private ProductEmbeddingIndexer embeddingIndexer;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
     @InjectMocks
     private ProductService service;
 
@@ -95,6 +118,8 @@ class ProductServiceTest {
         assertEquals("SKU123", capturedEvent.getSku());
         assertEquals(10, capturedEvent.getInitialStock());
         assertNotNull(capturedEvent.getTimestamp());
+        verify(listingCache).invalidate(EnumSet.allOf(ProductSortKey.class));
+        verify(embeddingIndexer).enqueue(argThat(products -> products.size() == 1));
     }
 
     @Test
@@ -111,6 +136,66 @@ class ProductServiceTest {
         verify(kafkaTemplate, never()).send(anyString(), anyString(), any());
     }
 
+    @Test
+    void testCreateProductsReportsEachItem() {
+        // Arrange - SKU-OLD exists, SKU-NEW appears twice, the last item has no price
+        List<ProductRequest> requests = List.of(
+                bulkRequest("SKU-NEW", new BigDecimal("5")),
+                bulkRequest("SKU-OLD", new BigDecimal("5")),
+                bulkRequest("SKU-NEW", new BigDecimal("6")),
+                bulkRequest("SKU-BAD", null));
+        when(repository.findExistingSkus(List.of("SKU-NEW", "SKU-OLD", "SKU-NEW", "SKU-BAD")))
+                .thenReturn(List.of("SKU-OLD"));
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Product> products = invocation.getArgument(0);
+            products.get(0).setId(41L);
+            return products;
+        });
+        @SuppressWarnings("unchecked")
+        SendResult<String, ProductCreatedEvent> mockResult = mock(SendResult.class);
+        when(kafkaTemplate.send(anyString(), anyString(), any(ProductCreatedEvent.class)))
+                .thenReturn(CompletableFuture.completedFuture(mockResult));
+
+        // Act
+        List<BulkProductResult> results = service.createProducts(requests, 500);
+
+        // Assert
+        assertEquals(List.of(500, 501, 502, 503), results.stream().map(BulkProductResult::getIndex).toList());
+        assertEquals(BulkProductResult.Status.CREATED, results.get(0).getStatus());
+        assertEquals(41L, results.get(0).getId());
+        assertEquals(BulkProductResult.Status.DUPLICATE_SKU, results.get(1).getStatus());
+        assertEquals(BulkProductResult.Status.DUPLICATE_SKU, results.get(2).getStatus());
+        assertEquals(BulkProductResult.Status.INVALID, results.get(3).getStatus());
+        assertEquals("Price is required", results.get(3).getError());
+        verify(repository).saveAll(argThat(products -> ((List<?>) products).size() == 1));
+        verify(kafkaTemplate, times(1)).send(eq("product-created-topic"), eq("SKU-NEW"), any());
+        verify(listingCache).invalidate(EnumSet.allOf(ProductSortKey.class));
+        verify(embeddingIndexer).enqueue(argThat(products -> products.size() == 1));
+    }
+
+    @Test
+    void testCreateProductsNothingToInsert() {
+        // Arrange
+        when(repository.findExistingSkus(List.of("SKU-OLD"))).thenReturn(List.of("SKU-OLD"));
+
+        // Act
+        List<BulkProductResult> results = service.createProducts(List.of(bulkRequest("SKU-OLD", BigDecimal.ONE)), 0);
+
+        // Assert
+        assertEquals(BulkProductResult.Status.DUPLICATE_SKU, results.get(0).getStatus());
+        verify(repository, never()).saveAll(any());
+        verifyNoInteractions(kafkaTemplate, listingCache, embeddingIndexer);
+    }
+
+    private static ProductRequest bulkRequest(String sku, BigDecimal price) {
+        ProductRequest request = new ProductRequest();
+        request.setName("Product " + sku);
+        request.setSku(sku);
+        request.setPrice(price);
+        request.setInitialStock(3);
+        return request;
+    }
+
     @Test
     void testGetAllProducts() {
         // Arrange
@@ -131,6 +216,65 @@ class ProductServiceTest {
         verify(repository).findAll(pageable);
     }
 
+    @Test
+    void testGetAllProductsServedFromListingCache() {
+        // Arrange - product 2 is cached, product 1 has been evicted
+        Pageable pageable = PageRequest.of(1, 2, Sort.by(Sort.Order.desc("price")));
+        when(listingCache.offsetKey(ProductSortKey.PRICE, true, 1, 2)).thenReturn("price:desc:g3:offset:1:2");
+        when(listingCache.get("price:desc:g3:offset:1:2"))
+                .thenReturn(new ProductIdPage(new long[] { 2L, 1L }, 40L, null, false));
+        Map<Long, ProductResponse> cached = new HashMap<>();
+        cached.put(2L, ProductResponse.builder().id(2L).name("P2").build());
+        when(listingCache.getProducts(any())).thenReturn(cached);
+        Product product1 = Product.builder().id(1L).name("P1").sku("S1").price(new BigDecimal("10")).active(true)
+                .build();
+        when(repository.findAllById(List.of(1L))).thenReturn(List.of(product1));
+
+        // Act
+        Page<ProductResponse> result = service.getAllProducts(pageable);
+
+        // Assert
+        assertEquals(List.of(2L, 1L), result.getContent().stream().map(ProductResponse::getId).toList());
+        assertEquals(40L, result.getTotalElements());
+        verify(repository, never()).findAll(any(Pageable.class));
+        verify(listingCache).putProduct(argThat(response -> response.getId().equals(1L)));
+    }
+
+    @Test
+    void testGetAllProductsCachesPageIdsOnMiss() {
+        // Arrange
+        Product product1 = Product.builder().id(1L).name("P1").sku("S1").price(new BigDecimal("10")).active(true)
+                .build();
+        Product product2 = Product.builder().id(2L).name("P2").sku("S2").price(new BigDecimal("20")).active(true)
+                .build();
+        Pageable pageable = PageRequest.of(0, 2, Sort.by("id"));
+        when(listingCache.offsetKey(ProductSortKey.ID, false, 0, 2)).thenReturn("id:asc:g0:offset:0:2");
+        when(repository.findAll(pageable)).thenReturn(new PageImpl<>(List.of(product1, product2), pageable, 5));
+
+        // Act
+        service.getAllProducts(pageable);
+
+        // Assert
+        ArgumentCaptor<ProductIdPage> stored = ArgumentCaptor.forClass(ProductIdPage.class);
+        verify(listingCache).put(eq("id:asc:g0:offset:0:2"), stored.capture());
+        assertArrayEquals(new long[] { 1L, 2L }, stored.getValue().getIds());
+        assertEquals(5L, stored.getValue().getTotalElements());
+    }
+
+    @Test
+    void testGetAllProductsUncachedSortGoesToDatabase() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("createdAt"));
+        when(repository.findAll(pageable)).thenReturn(new PageImpl<>(List.of()));
+
+        // Act
+        service.getAllProducts(pageable);
+
+        // Assert
+        verify(listingCache, never()).offsetKey(any(), anyBoolean(), anyInt(), anyInt());
+        verify(listingCache, never()).put(any(), any());
+    }
+
     @Test
     void testGetProductByIdSuccess() {
         // Arrange
@@ -229,4 +373,78 @@ class ProductServiceTest {
         verify(repository).save(any(Product.class));
         verify(kafkaTemplate).send(anyString(), anyString(), any(ProductCreatedEvent.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetProductsByCursorFirstPage() {
+        // Arrange
+        Product product1 = Product.builder().id(7L).name("P1").sku("S1").price(new BigDecimal("10")).active(true)
+                .build();
+        Product product2 = Product.builder().id(3L).name("P2").sku("S2").price(new BigDecimal("20")).active(true)
+                .build();
+        Product product3 = Product.builder().id(5L).name("P3").sku("S3").price(new BigDecimal("20")).active(true)
+                .build();
+        when(repository.findPageAfter(ProductSortKey.PRICE, false, null, null, 3))
+                .thenReturn(List.of(product1, product2, product3));
+
+        // Act
+        CursorPage<ProductResponse> result = service.getProductsByCursor(null, 2, ProductSortKey.PRICE, false,
+                false);
+
+        // Assert
+        assertEquals(2, result.getContent().size());
+        assertTrue(result.isHasNext());
+        assertNull(result.getTotalEstimate());
+        ProductCursor next = ProductCursor.decode(result.getNextCursor());
+        assertEquals(ProductSortKey.PRICE, next.sortKey());
+        assertEquals(3L, next.lastId());
+        assertEquals(new BigDecimal("20"), next.parsedValue());
+        verifyNoInteractions(countEstimator);
+    }
+
+    @Test
+    void testGetProductsByCursorServedFromListingCache() {
+        // Arrange
+        when(listingCache.cursorKey(ProductSortKey.ID, false, null, 2)).thenReturn("id:asc:g0:cursor:first:2");
+        when(listingCache.get("id:asc:g0:cursor:first:2"))
+                .thenReturn(new ProductIdPage(new long[] { 4L }, null, "next-cursor", true));
+        Map<Long, ProductResponse> cached = new HashMap<>();
+        cached.put(4L, ProductResponse.builder().id(4L).name("P4").build());
+        when(listingCache.getProducts(any())).thenReturn(cached);
+
+        // Act
+        CursorPage<ProductResponse> result = service.getProductsByCursor(null, 2, ProductSortKey.ID, false, false);
+
+        // Assert
+        assertEquals(1, result.getContent().size());
+        assertEquals("next-cursor", result.getNextCursor());
+        assertTrue(result.isHasNext());
+        verify(repository, never()).findPageAfter(any(), anyBoolean(), any(), any(), anyInt());
+        verify(repository, never()).findAllById(any());
+    }
+
+    @Test
+    void testGetProductsByCursorUsesCursorSort() {
+        // Arrange - the cursor came from a name-descending listing
+        Product last = Product.builder().id(9L).name("Lamp|XL").sku("S9").price(BigDecimal.ONE).active(true).build();
+        String cursor = ProductCursor.after(ProductSortKey.NAME, true, last).encode();
+        when(repository.findPageAfter(ProductSortKey.NAME, true, "Lamp|XL", 9L, 11)).thenReturn(List.of());
+        when(countEstimator.estimate()).thenReturn(1200L);
+
+        // Act
+        CursorPage<ProductResponse> result = service.getProductsByCursor(cursor, 10, ProductSortKey.ID, false, true);
+
+        // Assert
+        assertTrue(result.getContent().isEmpty());
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
+        assertEquals(1200L, result.getTotalEstimate());
+    }
+
+    @Test
+    void testGetProductsByCursorRejectsTamperedCursor() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getProductsByCursor("bm90LWEtY3Vyc29y", 10, ProductSortKey.ID, false, false));
+        verify(repository, never()).findPageAfter(any(), anyBoolean(), any(), any(), anyInt());
+    }
+}
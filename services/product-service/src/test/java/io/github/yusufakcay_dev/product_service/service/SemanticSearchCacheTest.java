@@ -0,0 +1,72 @@
+package io.github.yusufakcay_dev.product_service.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SemanticSearchCacheTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SemanticSearchCache searchCache;
+
+    @BeforeEach
+    void setUp() {
+        searchCache = new SemanticSearchCache(new ConcurrentMapCacheManager(), redisTemplate, meterRegistry);
+    }
+
+    @Test
+    void testNormalizeFoldsCaseWidthAndWhitespace() {
+        // Act & Assert
+        assertThat(SemanticSearchCache.normalize("  Running\tSHOES \n"))
+                .isEqualTo(SemanticSearchCache.normalize("running shoes"))
+                .isEqualTo("running shoes");
+        assertThat(SemanticSearchCache.normalize("\uFF34\uFF36 stand")).isEqualTo("tv stand");
+    }
+
+    @Test
+    void testInvalidateRetiresCachedResults() {
+        // Arrange
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(SemanticSearchCache.GENERATION_KEY)).thenReturn("4", "5");
+        String before = searchCache.key("running shoes");
+        searchCache.put(before, new long[] { 3L, 1L });
+
+        // Act
+        searchCache.invalidate();
+        String after = searchCache.key("running shoes");
+
+        // Assert
+        assertThat(before).isEqualTo("g4:running shoes");
+        assertThat(searchCache.get(before)).containsExactly(3L, 1L);
+        assertThat(searchCache.get(after)).isNull();
+        verify(valueOperations).increment(SemanticSearchCache.GENERATION_KEY);
+    }
+
+    @Test
+    void testKeyIsNullWhenRedisIsDown() {
+        // Arrange
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(SemanticSearchCache.GENERATION_KEY))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        // Act & Assert
+        assertThat(searchCache.key("running shoes")).isNull();
+    }
+}